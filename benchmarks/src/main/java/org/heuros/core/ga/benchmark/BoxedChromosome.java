@@ -0,0 +1,76 @@
+package org.heuros.core.ga.benchmark;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Chromosome which keeps its genes as Integer objects, used as the baseline of the generic operators.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class BoxedChromosome implements Chromosome<Integer> {
+
+	private Integer[] genes = null;
+	private ISolutionCost fitness = null;
+	private String info = null;
+
+	@Override
+	public void initializeChromosome(int length, Integer setSize) {
+		this.genes = new Integer[length];
+		for (int i = 0; i < length; i++)
+			this.genes[i] = 0;
+	}
+
+	@Override
+	public boolean isEqual(Chromosome<Integer> cand) {
+		if (cand.getChromosomeLength() != genes.length)
+			return false;
+		for (int i = 0; i < genes.length; i++)
+			if (!genes[i].equals(cand.getGeneValue(i)))
+				return false;
+		return true;
+	}
+
+	@Override
+	public void setFitness(ISolutionCost value) {
+		this.fitness = value;
+	}
+
+	@Override
+	public ISolutionCost getFitness() {
+		return fitness;
+	}
+
+	@Override
+	public String getInfo() {
+		return info;
+	}
+
+	@Override
+	public void setInfo(String value) {
+		this.info = value;
+	}
+
+	@Override
+	public int getChromosomeLength() {
+		return genes.length;
+	}
+
+	@Override
+	public Integer getGeneValue(int index) {
+		return genes[index];
+	}
+
+	@Override
+	public void setGeneValue(int index, Integer value) {
+		genes[index] = value;
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		BoxedChromosome res = (BoxedChromosome) super.clone();
+		res.genes = genes.clone();
+		return res;
+	}
+}
@@ -0,0 +1,90 @@
+package org.heuros.core.ga.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.crossover.Crossover;
+import org.heuros.core.ga.crossover.IntOnePointCrossover;
+import org.heuros.core.ga.crossover.IntTwoPointCrossover;
+import org.heuros.core.ga.crossover.IntUniformCrossover;
+import org.heuros.core.ga.crossover.OnePointCrossover;
+import org.heuros.core.ga.crossover.TwoPointCrossover;
+import org.heuros.core.ga.crossover.UniformCrossover;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures crossover operators on boxed chromosomes with the generic operators
+ * and on IntArrayChromosome instances with the int specialized operators.
+ * 
+ * @author bahadrzeren
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrossoverBenchmark {
+
+	@Param({"2000", "20000"})
+	private int chromosomeLength;
+
+	@Param({"boxed", "int"})
+	private String representation;
+
+	private Chromosome<Integer>[] parents = null;
+	private Chromosome<Integer>[] children = null;
+	private ISolutionCost worstFitness = null;
+
+	private Crossover<Integer> onePointCrossover = null;
+	private Crossover<Integer> twoPointCrossover = null;
+	private Crossover<Integer> uniformCrossover = null;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() {
+		boolean boxed = "boxed".equals(representation);
+		parents = SyntheticProblem.createPopulation(2, 2, chromosomeLength, boxed, 17l);
+		children = new Chromosome[2];
+		worstFitness = parents[1].getFitness();
+		if (boxed) {
+			onePointCrossover = new OnePointCrossover<Integer>();
+			twoPointCrossover = new TwoPointCrossover<Integer>();
+			uniformCrossover = new UniformCrossover<Integer>();
+		} else {
+			onePointCrossover = new IntOnePointCrossover();
+			twoPointCrossover = new IntTwoPointCrossover();
+			uniformCrossover = new IntUniformCrossover();
+		}
+	}
+
+	@Benchmark
+	public Chromosome<Integer>[] onePoint() throws CloneNotSupportedException {
+		onePointCrossover.crossover(children, 0, parents[0], parents[1], worstFitness);
+		return children;
+	}
+
+	@Benchmark
+	public Chromosome<Integer>[] twoPoint() throws CloneNotSupportedException {
+		twoPointCrossover.crossover(children, 0, parents[0], parents[1], worstFitness);
+		return children;
+	}
+
+	@Benchmark
+	public Chromosome<Integer>[] uniform() throws CloneNotSupportedException {
+		uniformCrossover.crossover(children, 0, parents[0], parents[1], worstFitness);
+		return children;
+	}
+}
@@ -0,0 +1,109 @@
+package org.heuros.core.ga.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.heuros.core.ga.GeneticIterationListener;
+import org.heuros.core.ga.GeneticOptimizer;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.crossover.IntUniformCrossover;
+import org.heuros.core.ga.mutation.IntGeneMutator;
+import org.heuros.core.ga.selection.BinaryTournamentSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures average time of complete optimizer runs on the synthetic problem.
+ * fullRun evolves NUM_OF_GENERATIONS generations, initialization runs with zero generations and measures
+ * population creation, decoding of the initial population and executor startup only.
+ * Time of a single generation is (fullRun - initialization) / NUM_OF_GENERATIONS.
+ * 
+ * @author bahadrzeren
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+	private static final int NUM_OF_GENERATIONS = 50;
+
+	@Param({"100", "1000"})
+	private int populationSize;
+
+	@Param({"2000", "20000"})
+	private int chromosomeLength;
+
+	@Param({"false", "true"})
+	private boolean runParallel;
+
+	private BenchmarkOptimizer optimizer = null;
+	private BenchmarkOptimizer baselineOptimizer = null;
+
+	@Setup
+	public void setUp() {
+		optimizer = this.createOptimizer(NUM_OF_GENERATIONS);
+		baselineOptimizer = this.createOptimizer(0);
+	}
+
+	private BenchmarkOptimizer createOptimizer(int numOfGenerations) {
+		BenchmarkOptimizer optimizer = new BenchmarkOptimizer();
+		optimizer.setChromosomeFactory(new SyntheticProblem.SyntheticChromosomeFactory(17l, false).setChromosomeLength(chromosomeLength))
+					.setSelector(new BinaryTournamentSelector<Integer>())
+					.setCrossoverOperator(new IntUniformCrossover())
+					.setMutator(new IntGeneMutator().setMaxGeneValueExc(SyntheticProblem.MAX_GENE_VALUE_EXC))
+					.setDecoder(new SyntheticProblem.SyntheticDecoder())
+					.setPopulationSize(populationSize)
+					.setMinNumOfChildren(Math.max(2, populationSize / 5))
+					.setMaxNumOfIterations(numOfGenerations)
+					.setMaxNumOfIterationsWOProgress(NUM_OF_GENERATIONS)
+					.setMaxElapsedTimeInNanoSecs(Long.MAX_VALUE)
+					.setMutationRate(0.01f)
+					.setRunParallel(runParallel)
+					.setRandomSeed(17l)
+					.setGeneticIterationListener(new GeneticIterationListener<Integer>() {
+						@Override
+						public void onProgress(int iteration, double elapsedTime, Chromosome<Integer> best) {
+						}
+
+						@Override
+						public void onIterate(int iteration, double elapsedTime, Chromosome<Integer> best) {
+						}
+
+						@Override
+						public void onException(Exception ex) {
+							throw new IllegalStateException(ex);
+						}
+					});
+		return optimizer;
+	}
+
+	@Benchmark
+	public Chromosome<Integer> fullRun() {
+		optimizer.run();
+		return optimizer.getBest();
+	}
+
+	@Benchmark
+	public Chromosome<Integer> initialization() {
+		baselineOptimizer.run();
+		return baselineOptimizer.getBest();
+	}
+
+	private static class BenchmarkOptimizer extends GeneticOptimizer<Integer, Object> {
+		private void run() {
+			this.doMinimize();
+		}
+	}
+}
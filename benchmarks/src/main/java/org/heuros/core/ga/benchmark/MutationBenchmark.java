@@ -0,0 +1,74 @@
+package org.heuros.core.ga.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.mutation.IntGeneMutator;
+import org.heuros.core.ga.mutation.IntSwapGeneMutator;
+import org.heuros.core.ga.mutation.IntegerGeneMutator;
+import org.heuros.core.ga.mutation.Mutator;
+import org.heuros.core.ga.mutation.SwapGeneMutator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures mutation operators on boxed chromosomes with the generic operators
+ * and on IntArrayChromosome instances with the int specialized operators.
+ * 
+ * @author bahadrzeren
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutationBenchmark {
+
+	@Param({"2000", "20000"})
+	private int chromosomeLength;
+
+	@Param({"boxed", "int"})
+	private String representation;
+
+	@Param({"0.001", "0.01"})
+	private float mutationRate;
+
+	private Chromosome<Integer> chromosome = null;
+
+	private Mutator<Integer> geneMutator = null;
+	private Mutator<Integer> swapGeneMutator = null;
+
+	@Setup
+	public void setUp() {
+		boolean boxed = "boxed".equals(representation);
+		chromosome = SyntheticProblem.createPopulation(1, 1, chromosomeLength, boxed, 17l)[0];
+		if (boxed) {
+			geneMutator = new IntegerGeneMutator().setMaxGeneValueExc(SyntheticProblem.MAX_GENE_VALUE_EXC);
+			swapGeneMutator = new SwapGeneMutator();
+		} else {
+			geneMutator = new IntGeneMutator().setMaxGeneValueExc(SyntheticProblem.MAX_GENE_VALUE_EXC);
+			swapGeneMutator = new IntSwapGeneMutator();
+		}
+	}
+
+	@Benchmark
+	public Chromosome<Integer> geneMutation() throws CloneNotSupportedException {
+		return geneMutator.mutate(chromosome, 1, mutationRate);
+	}
+
+	@Benchmark
+	public Chromosome<Integer> swapGeneMutation() throws CloneNotSupportedException {
+		return swapGeneMutator.mutate(chromosome, 1, mutationRate);
+	}
+}
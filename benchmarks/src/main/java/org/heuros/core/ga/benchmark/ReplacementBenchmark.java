@@ -0,0 +1,84 @@
+package org.heuros.core.ga.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.replacement.SortedMergeReplacer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares ordering of the population and the children with the sorted merge replacer
+ * against the exchange sort used by earlier versions of the optimizer.
+ * 
+ * @author bahadrzeren
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplacementBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	private int populationSize;
+
+	@Param({"40", "400"})
+	private int numOfChildren;
+
+	private int extendedPopSize = 0;
+	private Chromosome<Integer>[] template = null;
+	private Chromosome<Integer>[] population = null;
+
+	private SortedMergeReplacer<Integer> replacer = new SortedMergeReplacer<Integer>();
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() {
+		extendedPopSize = populationSize + numOfChildren;
+		Chromosome<Integer>[] pop = SyntheticProblem.createPopulation(populationSize, populationSize, 200, false, 17l);
+		Chromosome<Integer>[] children = SyntheticProblem.createPopulation(numOfChildren, numOfChildren, 200, false, 19l);
+		template = new Chromosome[extendedPopSize];
+		System.arraycopy(pop, 0, template, 0, populationSize);
+		/*
+		 * Children are in generation order, not sorted.
+		 */
+		for (int i = 0; i < numOfChildren; i++)
+			template[populationSize + i] = children[(i * 7) % numOfChildren];
+		population = new Chromosome[extendedPopSize];
+	}
+
+	@Benchmark
+	public Chromosome<Integer>[] sortedMerge() {
+		System.arraycopy(template, 0, population, 0, extendedPopSize);
+		replacer.merge(population, populationSize, extendedPopSize);
+		return population;
+	}
+
+	@Benchmark
+	public Chromosome<Integer>[] exchangeSort() {
+		System.arraycopy(template, 0, population, 0, extendedPopSize);
+		for (int i = 0; i < extendedPopSize - 1; i++) {
+			for (int j = extendedPopSize - 1; j > i; j--) {
+				Chromosome<Integer> chromosome = population[i];
+				Chromosome<Integer> iChromosome = population[j];
+				if (iChromosome.getFitness().doesPerformBetterThan(chromosome.getFitness())) {
+					population[i] = iChromosome;
+					population[j] = chromosome;
+				}
+			}
+		}
+		return population;
+	}
+}
@@ -0,0 +1,72 @@
+package org.heuros.core.ga.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.selection.BinaryTournamentSelector;
+import org.heuros.core.ga.selection.Selector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the selector used for reproduction and the survival round of a population replacement.
+ * 
+ * @author bahadrzeren
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	private int populationSize;
+
+	@Param({"0.1"})
+	private double childrenRatio;
+
+	private int extendedPopSize = 0;
+	private Chromosome<Integer>[] template = null;
+	private Chromosome<Integer>[] population = null;
+
+	private Selector<Integer> selector = new BinaryTournamentSelector<Integer>();
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() {
+		extendedPopSize = populationSize + Math.max(2, (int) (populationSize * childrenRatio));
+		template = SyntheticProblem.createPopulation(extendedPopSize, extendedPopSize, 200, false, 17l);
+		population = new Chromosome[extendedPopSize];
+	}
+
+	@Benchmark
+	public Chromosome<Integer> selectForReproduction() {
+		return selector.selectChromosomeForReproduction(template, populationSize);
+	}
+
+	/**
+	 * Survival round of the generational replacement, one selection for each population slot.
+	 * Copying the template back is part of the measured work.
+	 * 
+	 * @return population after the replacement.
+	 */
+	@Benchmark
+	public Chromosome<Integer>[] replaceForSurvival() {
+		System.arraycopy(template, 0, population, 0, extendedPopSize);
+		for (int i = 0; i < populationSize; i++)
+			selector.replaceChromosomeForSurvival(population, i, extendedPopSize);
+		return population;
+	}
+}
@@ -0,0 +1,123 @@
+package org.heuros.core.ga.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomeFactory;
+import org.heuros.core.ga.chromosome.IntArrayChromosome;
+import org.heuros.core.ga.decoder.Decoder;
+import org.heuros.core.ga.replacement.FitnessComparator;
+
+import java.util.Arrays;
+
+/**
+ * Synthetic problem used by the benchmarks.
+ * Genes take values in [0, 3) and cost of a chromosome is its distance to the gene pattern 0, 1, 2, 0, 1, 2...
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class SyntheticProblem {
+
+	public static final int MAX_GENE_VALUE_EXC = 3;
+
+	private SyntheticProblem() {
+	}
+
+	public static class Cost implements ISolutionCost {
+
+		private double value = 0.0;
+
+		public Cost(double value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean doesPerformBetterThan(ISolutionCost c) {
+			return this.value < ((Cost) c).value;
+		}
+
+		@Override
+		public double getDistance(ISolutionCost worst) {
+			return ((Cost) worst).value - this.value;
+		}
+
+		public double getValue() {
+			return value;
+		}
+	}
+
+	public static class SyntheticDecoder implements Decoder<Integer, Object> {
+
+		@Override
+		public List<Object> decode(Chromosome<Integer> chromosome) {
+			chromosome.setFitness(new Cost(SyntheticProblem.cost(chromosome)));
+			return null;
+		}
+	}
+
+	public static class SyntheticChromosomeFactory implements ChromosomeFactory<Integer> {
+
+		private SplittableRandom random = null;
+		private int chromosomeLength = 0;
+		private boolean boxed = false;
+
+		public SyntheticChromosomeFactory(long seed, boolean boxed) {
+			this.random = new SplittableRandom(seed);
+			this.boxed = boxed;
+		}
+
+		@Override
+		public ChromosomeFactory<Integer> setChromosomeLength(int value) {
+			this.chromosomeLength = value;
+			return this;
+		}
+
+		@Override
+		public int getChromosomeLength() {
+			return chromosomeLength;
+		}
+
+		@Override
+		public Chromosome<Integer> createChromosome() {
+			Chromosome<Integer> res = (boxed ? new BoxedChromosome() : new IntArrayChromosome());
+			res.initializeChromosome(chromosomeLength, MAX_GENE_VALUE_EXC);
+			for (int i = 0; i < chromosomeLength; i++)
+				res.setGeneValue(i, random.nextInt(MAX_GENE_VALUE_EXC));
+			return res;
+		}
+	}
+
+	public static double cost(Chromosome<Integer> chromosome) {
+		long res = 0l;
+		for (int i = 0; i < chromosome.getChromosomeLength(); i++)
+			res += Math.abs(chromosome.getGeneValue(i) - (i % MAX_GENE_VALUE_EXC));
+		return res;
+	}
+
+	/**
+	 * Creates decoded chromosomes ordered from the best to the worst.
+	 * 
+	 * @param size number of chromosomes.
+	 * @param capacity length of the array, at least size.
+	 * @param chromosomeLength length of each chromosome.
+	 * @param boxed true to create BoxedChromosome instances instead of IntArrayChromosome instances.
+	 * @param seed random seed.
+	 * @return ordered chromosome array.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Chromosome<Integer>[] createPopulation(int size, int capacity, int chromosomeLength, boolean boxed, long seed) {
+		SyntheticChromosomeFactory factory = new SyntheticChromosomeFactory(seed, boxed);
+		factory.setChromosomeLength(chromosomeLength);
+		SyntheticDecoder decoder = new SyntheticDecoder();
+		Chromosome<Integer>[] res = new Chromosome[capacity];
+		for (int i = 0; i < size; i++) {
+			res[i] = factory.createChromosome();
+			decoder.decode(res[i]);
+		}
+		Arrays.sort(res, 0, size, new FitnessComparator<Integer>());
+		return res;
+	}
+}
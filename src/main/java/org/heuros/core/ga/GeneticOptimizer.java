@@ -2,20 +2,75 @@ package org.heuros.core.ga;
 
 import org.heuros.core.ga.chromosome.ChromosomeFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
+import org.heuros.core.ga.checkpoint.CheckpointCodec;
+import org.heuros.core.ga.checkpoint.CheckpointFile;
+import org.heuros.core.ga.checkpoint.PopulationCheckpoint;
 import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.FingerprintIndex;
+import org.heuros.core.ga.chromosome.IntChromosome;
+import org.heuros.core.ga.chromosome.PackedChromosome;
+import org.heuros.core.ga.control.GenerationStatistics;
+import org.heuros.core.ga.control.ParameterController;
+import org.heuros.core.ga.selection.BatchSelector;
 import org.heuros.core.ga.selection.Selector;
 import org.heuros.core.ga.crossover.Crossover;
+import org.heuros.core.ga.crossover.IntOnePointCrossover;
+import org.heuros.core.ga.crossover.IntTwoPointCrossover;
+import org.heuros.core.ga.crossover.IntUniformCrossover;
+import org.heuros.core.ga.crossover.OnePointCrossover;
+import org.heuros.core.ga.crossover.PackedUniformCrossover;
+import org.heuros.core.ga.crossover.TwoPointCrossover;
+import org.heuros.core.ga.crossover.UniformCrossover;
+import org.heuros.core.ga.decoder.AbortedSolutionCost;
+import org.heuros.core.ga.decoder.BoundedDecoder;
+import org.heuros.core.ga.decoder.CachingDecoder;
 import org.heuros.core.ga.decoder.Decoder;
-import org.heuros.core.ga.decoder.DecoderCaller;
+import org.heuros.core.ga.decoder.DecoderBatchCaller;
+import org.heuros.core.ga.decoder.DeltaDecoder;
+import org.heuros.core.ga.decoder.IncrementalDecoder;
+import org.heuros.core.ga.decoder.TimedDecoder;
+import org.heuros.core.ga.diversity.DiversityMonitor;
+import org.heuros.core.ga.listener.AsyncGeneticIterationListener;
+import org.heuros.core.ga.localsearch.LocalSearch;
+import org.heuros.core.ga.localsearch.LocalSearchBudget;
+import org.heuros.core.ga.metrics.GeneticMetrics;
+import org.heuros.core.ga.metrics.GeneticMetricsListener;
+import org.heuros.core.ga.metrics.GeneticPhase;
+import org.heuros.core.ga.mutation.IntGeneMutator;
+import org.heuros.core.ga.mutation.IntSwapGeneMutator;
+import org.heuros.core.ga.mutation.IntegerGeneMutator;
 import org.heuros.core.ga.mutation.Mutator;
+import org.heuros.core.ga.mutation.PackedGeneMutator;
+import org.heuros.core.ga.mutation.SwapGeneMutator;
+import org.heuros.core.ga.remote.RemoteDecoderFarm;
+import org.heuros.core.ga.replacement.NsgaReplacer;
+import org.heuros.core.ga.replacement.SortedMergeReplacer;
+import org.heuros.core.ga.surrogate.RankCorrelation;
+import org.heuros.core.ga.surrogate.SurrogateModel;
 
 /**
  * Main genetic optimizer class.
@@ -36,6 +91,26 @@ public class GeneticOptimizer<T, O> {
     private Mutator<T> mutator = null;
     private Decoder<T, O> decoder = null;
 
+    /*
+     * Decoder which is called during optimization, it is the decoder wrapped by the decorators:
+     * timer in front of the fitness cache in front of the delta decoder in front of an incremental decoder.
+     * Children are decoded with the fitness of the worst chromosome as the bound if the decoder is a BoundedDecoder.
+     */
+    private BoundedDecoder<T, O> activeDecoder = null;
+    /*
+     * Operators which are called during optimization, they are the operators set by the user or their int specialized versions.
+     */
+    private Crossover<T> activeCrossoverOperator = null;
+    private Mutator<T> activeMutator = null;
+    private boolean boundedDecoding = false;
+    /*
+     * Set if the decoder is a farm of worker processes, ranges of chromosomes are sent to it in batches
+     * bypassing the fitness cache and delta decoding.
+     */
+    private RemoteDecoderFarm<T, O> remoteDecoderFarm = null;
+    private CachingDecoder<T, O> fitnessCache = null;
+    private DeltaDecoder<T, O> deltaDecoder = null;
+
     private long maxElapsedTimeInNanoSecs = 60000000000l;
     private int maxNumOfIterations = 500;
     private int maxNumOfIterationsWOProgress = 200;
@@ -43,6 +118,8 @@ public class GeneticOptimizer<T, O> {
     private int minNumOfChildren = 20;
     private int numOfEliteChromosomes = 4;
     private boolean allowDublicateChromosomes = false;
+    private int fitnessCacheSize = 0;
+    private boolean recycleChromosomes = false;
 
     private Chromosome<T> best = null;
 
@@ -52,11 +129,128 @@ public class GeneticOptimizer<T, O> {
     private float mutationRate = 0.01f;
 
     private boolean runParallel = false;
+    private int parallelSortThreshold = 0;
+    private int numOfBreedingThreads = 1;
+    private int numOfThreads = Runtime.getRuntime().availableProcessors();
+    private boolean useVirtualThreads = false;
+    private int decodeChunkSize = 1;
+
+    /*
+     * Steady state mode replaces the generational barrier with continuous breeding and insertion.
+     */
+    private boolean steadyState = false;
+    private int numOfConcurrentEvaluations = 0;
+
+    /*
+     * Executor service provided by the caller, it is shared across runs and not shut down by the optimizer.
+     */
+    private ExecutorService externalExecutorService = null;
 	private ExecutorService executorService = null;
 
+    private List<DecoderBatchCaller<T, O>> decoderCallers = null;
+
+    /*
+     * Local search improves copies of the best chromosomes on its own threads while children are bred and decoded.
+     * Its evaluation budget per generation is shared by the searched chromosomes and its threads are a share of numOfThreads.
+     */
+    private LocalSearch<T> localSearch = null;
+    private float localSearchShare = 0.25f;
+    private int localSearchBudget = 100;
+    private int numOfLocalSearchChromosomes = 1;
+    private boolean localSearching = false;
+    private ExecutorService localSearchExecutor = null;
+    private List<Future<Chromosome<T>>> localSearchFutures = new ArrayList<Future<Chromosome<T>>>();
+
+    /*
+     * Surrogate model screens children before they are decoded, only the best predicted share of them is decoded.
+     * Qualities are distances from the worst fitness of the initial population, model is not used before it is trained with
+     * minNumOfSurrogateSamples decoded chromosomes.
+     */
+    private SurrogateModel<T> surrogateModel = null;
+    private float surrogateScreeningRatio = 0.5f;
+    private int minNumOfSurrogateSamples = 0;
+    private boolean surrogateScreening = false;
+    private ISolutionCost surrogateReference = null;
+    private long numOfSurrogateSamples = 0l;
+    private double[] surrogatePredictions = null;
+    private double[] surrogateQualities = null;
+    private RankCorrelation rankCorrelation = new RankCorrelation();
+
+    /*
+     * Seed of the master random number stream, random operator streams are split from it.
+     * Null seed makes each run different.
+     */
+    private Long randomSeed = null;
+    private SplittableRandom masterRandom = null;
+
+    private List<BreedingTask> breedingTasks = null;
+
     private GeneticIterationListener<T> geneticIterationListener = null;
 
-    private boolean initializePopulation() {
+    private GeneticMetrics metrics = new GeneticMetrics();
+    private GeneticMetricsListener metricsListener = null;
+
+    /*
+     * Diversity monitor tracks the allele counts of the population, optimization stops if its entropy falls below minPopulationEntropy.
+     */
+    private DiversityMonitor diversityMonitor = null;
+    /*
+     * Chromosomes appended to the population during a replacement, only the survivors among them are counted by the diversity monitor.
+     */
+    private Set<Chromosome<T>> appendedChromosomes = Collections.newSetFromMap(new IdentityHashMap<Chromosome<T>, Boolean>());
+    private double minPopulationEntropy = 0.0;
+    private int metricsReportInterval = 1;
+
+    private SortedMergeReplacer<T> replacer = new SortedMergeReplacer<T>();
+
+    /*
+     * Non-dominated sorting replacement which is used instead of the selector based replacement if multiObjective is set.
+     */
+    private boolean multiObjective = false;
+    private int parallelDominanceThreshold = 0;
+    private NsgaReplacer<T> nsgaReplacer = null;
+
+    /*
+     * Parameter controller adapts the mutation rate and the number of children of each generation.
+     * Index of the chromosome each mutant is generated from is kept to measure mutation success, crossover children have -1.
+     */
+    private ParameterController<T> parameterController = null;
+    private GenerationStatistics generationStatistics = new GenerationStatistics();
+    private int numOfChildren = 0;
+    private int[] mutationSources = null;
+    private ParentSampler parentSampler = new ParentSampler();
+
+    /*
+     * Fingerprint index of the chromosomes in population[0, populationSize).
+     * Used for duplicate checks if duplicate chromosomes are not allowed.
+     */
+    private FingerprintIndex<T> populationIndex = null;
+
+    /*
+     * Pool of discarded chromosomes which are reused by the operators if recycleChromosomes is set.
+     */
+    private ChromosomePool<T> chromosomePool = null;
+
+    /*
+     * Population is written to the checkpoint file once every checkpointInterval iterations and at the end of the run
+     * if a checkpoint codec and path are set. Resumed runs continue from the iteration of the checkpoint.
+     */
+    private CheckpointCodec<T> checkpointCodec = null;
+    private Path checkpointPath = null;
+    private int checkpointInterval = 0;
+    private boolean resumeFromCheckpoint = false;
+    private long fitnessVersion = 0l;
+    private int startIteration = 0;
+    private Chromosome<T> restoredBest = null;
+
+    /*
+     * Known good chromosomes and their mutated variants are placed in the initial population before random chromosomes.
+     */
+    private Collection<Chromosome<T>> initialSeeds = null;
+    private int numOfSeedVariants = 0;
+    private float seedMutationRate = 0.0f;
+
+    private boolean initializePopulation() throws CloneNotSupportedException {
 
         if (chromosomeFactory == null)
             return false;
@@ -66,9 +260,30 @@ public class GeneticOptimizer<T, O> {
         Chromosome<T> chromosome = null;
         boolean addable = true;
 
-        List<Future<List<O>>> futures = null;
+        CompletionService<Integer> completionService = null;
         if (runParallel)
-        	futures = new ArrayList<Future<List<O>>>();
+            completionService = new ExecutorCompletionService<Integer>(this.executorService);
+        int numOfDecodingTasks = 0;
+        int ndxDecoding = 0;
+
+        startIteration = 0;
+        restoredBest = null;
+        if (resumeFromCheckpoint) {
+            i = this.restorePopulation();
+            ndxDecoding = i;
+        }
+
+        /*
+         * Decoding of the chromosomes overlaps their generation unless the decoder is a farm
+         * which decodes the whole range in pipelined batches.
+         */
+        boolean decodeInChunks = (remoteDecoderFarm == null);
+
+        i = this.seedPopulation(i);
+        if (decodeInChunks) {
+            numOfDecodingTasks = this.submitDecoding(completionService, population, ndxDecoding, i, numOfDecodingTasks, null);
+            ndxDecoding = i;
+        }
 
         while (i < populationSize) {
             chromosome = chromosomeFactory.createChromosome();
@@ -76,69 +291,282 @@ public class GeneticOptimizer<T, O> {
             addable = true;
 
             if (!allowDublicateChromosomes) {
-                for (int j = i - 1; j >= 0; j--)
-                    if (chromosome.isEqual(population[j]))
-                        addable = false;
+                if (populationIndex.containsEqual(chromosome)) {
+                    addable = false;
+                    metrics.recordDuplicateRejection();
+                }
             }
 
-            if (addable) {
+            if (!addable)
+                this.discard(chromosome);
+            else {
                 population[i] = chromosome;
-                if (runParallel)
-                	futures.add(this.executorService.submit(new DecoderCaller<T, O>(this.decoder, chromosome)));
-                else
-                	this.decoder.decode(chromosome);
+                if (!allowDublicateChromosomes)
+                    populationIndex.add(chromosome);
                 i++;
+                if (decodeInChunks && (i - ndxDecoding >= decodeChunkSize)) {
+                    numOfDecodingTasks = this.submitDecoding(completionService, population, ndxDecoding, i, numOfDecodingTasks, null);
+                    ndxDecoding = i;
+                }
             }
         }
 
-        if (runParallel) {
-        	for (int j = 0; j < futures.size(); j++) {
-        		try {
-					futures.get(j).get();
-				} catch (InterruptedException e) {
-					logger.error(e);
-				} catch (ExecutionException e) {
-					logger.error(e);
-				}
-        	}
+        numOfDecodingTasks = this.submitDecoding(completionService, population, ndxDecoding, i, numOfDecodingTasks, null);
+        this.awaitDecoding(completionService, numOfDecodingTasks);
+
+        return true;
+    }
+
+    /**
+     * Places copies of the initial seeds and their mutated variants into the population.
+     * Copies are decoded again since seeds may be evaluated on a different problem instance.
+     * 
+     * @param numOfChromosomes number of chromosomes already in the population.
+     * @return number of chromosomes in the population after seeding.
+     */
+    private int seedPopulation(int numOfChromosomes) throws CloneNotSupportedException {
+        if (initialSeeds == null)
+            return numOfChromosomes;
+
+        int i = numOfChromosomes;
+        int numOfSeeds = 0;
+
+        for (Chromosome<T> seed : initialSeeds) {
+            if (i >= populationSize)
+                break;
+            Chromosome<T> chromosome = ChromosomePool.copyOf(seed);
+            chromosome.setFitness(null);
+            if (this.addInitialChromosome(chromosome, i)) {
+                i++;
+                numOfSeeds++;
+            }
+        }
+
+        float rate = (seedMutationRate > 0.0f ? seedMutationRate : mutationRate);
+
+        if ((numOfSeeds > 0) && (rate > 0.0f)) {
+            /*
+             * Variants are generated from the seeds in the population, mutators may return null if no gene is changed.
+             * 
+             */
+            int ndxFirstSeed = i - numOfSeeds;
+            int maxNumOfAttempts = 4 * numOfSeedVariants * numOfSeeds;
+            int numOfVariants = 0;
+            for (int attempt = 0; (attempt < maxNumOfAttempts) && (numOfVariants < numOfSeedVariants * numOfSeeds) && (i < populationSize); attempt++) {
+                Chromosome<T> variant = mutator.mutate(population[ndxFirstSeed + attempt % numOfSeeds], 0, rate);
+                if ((variant != null) && this.addInitialChromosome(variant, i)) {
+                    i++;
+                    numOfVariants++;
+                }
+            }
         }
 
+        return i;
+    }
+
+    /**
+     * Places a chromosome of the initial population unless it is a duplicate which is not allowed.
+     * 
+     * @param chromosome new chromosome.
+     * @param index index of the chromosome in the population.
+     * @return true if chromosome is added.
+     */
+    private boolean addInitialChromosome(Chromosome<T> chromosome, int index) {
+        if (!allowDublicateChromosomes) {
+            if (populationIndex.containsEqual(chromosome)) {
+                metrics.recordDuplicateRejection();
+                this.discard(chromosome);
+                return false;
+            }
+            populationIndex.add(chromosome);
+        }
+        population[index] = chromosome;
         return true;
     }
 
-    private void orderPopulation() {
-        Chromosome<T> chromosome = null;
-        Chromosome<T> iChromosome = null;
+    /**
+     * Loads the population of the checkpoint file into the beginning of the population array.
+     * Stored fitness values are used if the checkpoint is taken with the current fitness version,
+     * otherwise restored chromosomes are decoded again.
+     * A missing or unreadable checkpoint is ignored and the population is generated by the chromosome factory.
+     * 
+     * @return number of chromosomes restored.
+     */
+    private int restorePopulation() throws CloneNotSupportedException {
+        if ((checkpointCodec == null) || (checkpointPath == null) || !Files.exists(checkpointPath))
+            return 0;
 
-        for (int i = 0; i < populationSize - 1; i++) {
-            for (int j = populationSize - 1; j > i; j--) {
-                chromosome = population[i];
-                iChromosome = population[j];
+        PopulationCheckpoint<T> checkpoint = null;
+        try {
+            checkpoint = new CheckpointFile<T>(checkpointCodec).read(checkpointPath, chromosomeFactory.createChromosome());
+        } catch (IOException ex) {
+            logger.error(ex);
+            return 0;
+        }
+
+        boolean fitnessValid = (checkpoint.getFitnessVersion() == fitnessVersion);
 
-                if (iChromosome.getFitness().doesPerformBetterThan(chromosome.getFitness())) {
-                    population[i] = iChromosome;
-                    population[j] = chromosome;
+        /*
+         * Chromosomes which have valid fitness values are placed first, the rest are decoded as a single range.
+         * 
+         */
+        Chromosome<T>[] chromosomes = checkpoint.getPopulation();
+        int numOfRestored = 0;
+        int numOfValid = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int j = 0; (j < checkpoint.getPopulationSize()) && (numOfRestored < populationSize); j++) {
+                Chromosome<T> chromosome = chromosomes[j];
+                boolean valid = fitnessValid && (chromosome.getFitness() != null);
+                if (valid != (pass == 0))
+                    continue;
+                if (!allowDublicateChromosomes) {
+                    if (populationIndex.containsEqual(chromosome)) {
+                        metrics.recordDuplicateRejection();
+                        continue;
+                    }
+                    populationIndex.add(chromosome);
                 }
+                population[numOfRestored] = chromosome;
+                numOfRestored++;
+            }
+            if (pass == 0)
+                numOfValid = numOfRestored;
+        }
+
+        CompletionService<Integer> completionService = null;
+        if (runParallel)
+            completionService = new ExecutorCompletionService<Integer>(this.executorService);
+        int numOfDecodingTasks = this.submitDecoding(completionService, population, numOfValid, numOfRestored, 0, null);
+        this.awaitDecoding(completionService, numOfDecodingTasks);
+
+        if (checkpoint.getBest() != null) {
+            restoredBest = checkpoint.getBest();
+            if (!fitnessValid || (restoredBest.getFitness() == null))
+                this.activeDecoder.decode(restoredBest);
+        }
+        startIteration = checkpoint.getIteration();
+
+        logger.info(numOfRestored + " chromosomes are restored from iteration " + startIteration + ", " + (numOfRestored - numOfValid) + " of them are decoded again.");
+
+        return numOfRestored;
+    }
+
+    /**
+     * Decodes a range of chromosomes.
+     * If runParallel is set, range is split into chunks of decodeChunkSize chromosomes which are submitted to the executor,
+     * otherwise chromosomes are decoded on the caller thread.
+     * 
+     * @param completionService completion service of the executor or null if decoding is not parallel.
+     * @param chromosomes chromosome array.
+     * @param from inclusive start index of the range.
+     * @param to exclusive end index of the range.
+     * @param numOfTasks number of tasks that are already submitted to the completion service.
+     * @param bound bound of a bounded decoder or null.
+     * @return number of tasks submitted to the completion service so far.
+     */
+    private int submitDecoding(CompletionService<Integer> completionService,
+                                Chromosome<T>[] chromosomes,
+                                int from,
+                                int to,
+                                int numOfTasks,
+                                ISolutionCost bound) {
+        if (remoteDecoderFarm != null) {
+            remoteDecoderFarm.decode(chromosomes, from, to, bound);
+            return numOfTasks;
+        }
+        if (completionService == null) {
+            for (int i = from; i < to; i++)
+                this.activeDecoder.decode(chromosomes[i], bound);
+            return numOfTasks;
+        }
+
+        for (int start = from; start < to; start += decodeChunkSize) {
+            if (numOfTasks == decoderCallers.size())
+                decoderCallers.add(new DecoderBatchCaller<T, O>(this.activeDecoder));
+            completionService.submit(decoderCallers.get(numOfTasks).setRange(chromosomes, start, Math.min(start + decodeChunkSize, to)).setBound(bound));
+            numOfTasks++;
+        }
+        metrics.sampleExecutorQueueDepth();
+        return numOfTasks;
+    }
+
+    /**
+     * Waits for decoding tasks in completion order, so a slow task does not delay collecting the others.
+     * 
+     * @param completionService completion service of the executor or null if decoding is not parallel.
+     * @param numOfTasks number of submitted tasks.
+     */
+    private void awaitDecoding(CompletionService<Integer> completionService, int numOfTasks) {
+        for (int j = 0; j < numOfTasks; j++) {
+            try {
+                completionService.take().get();
+            } catch (InterruptedException e) {
+                logger.error(e);
+            } catch (ExecutionException e) {
+                logger.error(e);
             }
         }
     }
 
+    /**
+     * Replaces stock crossover and mutation operators with their int specialized versions
+     * if chromosomes generated by the factory are backed by primitive int arrays.
+     * Uniform crossover and gene mutator are replaced with their word level versions for packed chromosomes.
+     * Subclasses of the stock operators are not replaced, operators set by the user are kept as they are.
+     * 
+     * @param sample a chromosome generated by the chromosome factory.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void specializeOperators(Chromosome<T> sample) {
+        activeCrossoverOperator = crossoverOperator;
+        activeMutator = mutator;
+
+        if (!(sample instanceof IntChromosome))
+            return;
+
+        boolean packed = (sample instanceof PackedChromosome);
+
+        if (crossoverOperator.getClass() == OnePointCrossover.class)
+            activeCrossoverOperator = (Crossover) new IntOnePointCrossover();
+        else
+            if (crossoverOperator.getClass() == TwoPointCrossover.class)
+                activeCrossoverOperator = (Crossover) new IntTwoPointCrossover();
+            else
+                if (crossoverOperator.getClass() == UniformCrossover.class)
+                    activeCrossoverOperator = (Crossover) (packed ? new PackedUniformCrossover() : new IntUniformCrossover());
+
+        if (mutator.getClass() == IntegerGeneMutator.class)
+            activeMutator = (Mutator) (packed ? new PackedGeneMutator() : new IntGeneMutator()).setMaxGeneValueExc(((IntegerGeneMutator) mutator).getMaxGeneValueExc());
+        else
+            if (mutator.getClass() == SwapGeneMutator.class)
+                activeMutator = (Mutator) new IntSwapGeneMutator();
+    }
+
+    private void orderPopulation() {
+        if (nsgaReplacer != null)
+            nsgaReplacer.replace(population, populationSize, populationSize);
+        else
+            replacer.sort(population, 0, populationSize);
+    }
+
     private void generateChildren(int iteration, int numOfIterationsWOProgress) throws CloneNotSupportedException,
                                                                                     InterruptedException {
 
         Chromosome<T> mother = null;
         Chromosome<T> father = null;
 
-        while (numOfChildrenGeneratedInLastRound < minNumOfChildren) {
+        parentSampler.reset(numOfChildren);
 
-            mother = selector.selectChromosomeForReproduction(population, populationSize);
-            father = selector.selectChromosomeForReproduction(population, populationSize);
+        while (numOfChildrenGeneratedInLastRound < numOfChildren) {
+
+            mother = parentSampler.next();
+            father = parentSampler.next();
 
             while (mother == father) {
                 father = selector.selectChromosomeForReproduction(population, populationSize);
             }
 
-            numOfChildrenGeneratedInLastRound = crossoverOperator.crossover(children,
+            numOfChildrenGeneratedInLastRound = activeCrossoverOperator.crossover(children,
                                                                             numOfChildrenGeneratedInLastRound,
                                                                             mother,
                                                                             father,
@@ -158,55 +586,222 @@ public class GeneticOptimizer<T, O> {
          * 
          */
         int numOfMutations = 0;
+        int numOfCrossoverChildren = numOfChildrenGeneratedInLastRound;
+
+        for (int i = 0; i < numOfCrossoverChildren; i++)
+            mutationSources[i] = -1;
 
-        while (numOfMutations < minNumOfChildren) {
+        while (numOfMutations < numOfChildren) {
 
             int ndxChild = 0;
-            int lastNdxChild = numOfChildrenGeneratedInLastRound;
+            int numOfMutationsBeforePass = numOfMutations;
 
-            while (ndxChild < lastNdxChild) {
+            while ((ndxChild < numOfCrossoverChildren) && (numOfMutations < numOfChildren)) {
 
                 child = children[ndxChild];
 
-                mutatedChild = null;
+                mutatedChild = this.mutate(child, iteration);
+                if (mutatedChild != null) {
+                    children[numOfCrossoverChildren + numOfMutations] = mutatedChild;
+                    mutationSources[numOfCrossoverChildren + numOfMutations] = ndxChild;
+                    numOfMutations++;
+                    numOfChildrenGeneratedInLastRound++;
+                }
+
+                ndxChild++;
+            }
+
+            /*
+             * Mutator returns null if no gene is changed, a pass without any mutant means the mutation rate is too low to fill the share.
+             * 
+             */
+            if (numOfMutations == numOfMutationsBeforePass)
+                break;
+        }
+    }
+
+    /**
+     * Mutates a chromosome with the rate given by the parameter controller or with the mutation rate of the optimizer.
+     * 
+     * @param chromosome chromosome to be mutated.
+     * @param iteration current iteration.
+     * @return mutant or null if no gene is changed.
+     */
+    private Chromosome<T> mutate(Chromosome<T> chromosome, int iteration) throws CloneNotSupportedException {
+        float rate = (parameterController != null ? parameterController.getMutationRate(chromosome) : mutationRate);
+        if (rate <= 0.0f)
+            return null;
+        Chromosome<T> mutant = activeMutator.mutate(chromosome, iteration, rate);
+        if ((mutant != null) && (parameterController != null))
+            parameterController.onMutation(mutant, rate);
+        return mutant;
+    }
+
+    /**
+     * Gives parents for reproduction, parents of a generation are drawn in batches if the selector is a BatchSelector.
+     * Each breeding thread has its own sampler.
+     */
+    private class ParentSampler {
+
+        private int[] parentIndexes = new int[2];
+        private int numOfParents = 0;
+        private int ndxParent = 0;
+
+        /**
+         * Discards the parents left from the previous generation.
+         * 
+         * @param numOfChildren number of children to be bred, a batch has two parents per child.
+         */
+        private void reset(int numOfChildren) {
+            if (parentIndexes.length < 2 * numOfChildren)
+                parentIndexes = new int[2 * numOfChildren];
+            numOfParents = 0;
+            ndxParent = 0;
+        }
+
+        private Chromosome<T> next() {
+            if (!(selector instanceof BatchSelector))
+                return selector.selectChromosomeForReproduction(population, populationSize);
+            if (ndxParent == numOfParents) {
+                numOfParents = parentIndexes.length;
+                ((BatchSelector<T>) selector).selectN(population, populationSize, parentIndexes, numOfParents);
+                ndxParent = 0;
+            }
+            return population[parentIndexes[ndxParent++]];
+        }
+    }
+
+    /**
+     * Breeding task of a single worker thread.
+     * Generates its share of crossover and mutation children into its own slot range of the children array
+     * using its own random number stream.
+     */
+    private class BreedingTask implements Callable<Integer> {
+
+        private int iteration = 0;
+        private int startingChildIndex = 0;
+        private int numOfChildren = 0;
+        private SplittableRandom random = null;
+        private ParentSampler parentSampler = new ParentSampler();
+
+        @Override
+        public Integer call() throws Exception {
+            SplittableRandom callerRandom = GeneticRandom.set(random);
+            ChromosomePool<?> callerPool = ChromosomePool.setCurrent(chromosomePool);
+            try {
+                int lastNdxChild = startingChildIndex;
+
+                parentSampler.reset(numOfChildren);
 
-                if (mutationRate > 0.0) {
-                    mutatedChild = mutator.mutate(child, iteration, mutationRate);
+                while (lastNdxChild - startingChildIndex < numOfChildren) {
+                    Chromosome<T> mother = parentSampler.next();
+                    Chromosome<T> father = parentSampler.next();
+
+                    while (mother == father) {
+                        father = selector.selectChromosomeForReproduction(population, populationSize);
+                    }
+
+                    lastNdxChild = activeCrossoverOperator.crossover(children,
+                                                                lastNdxChild,
+                                                                mother,
+                                                                father,
+                                                                population[populationSize - 1].getFitness());
+                }
+
+                int numOfMutations = 0;
+                int ndxChild = startingChildIndex;
+                int lastNdxCrossoverChild = lastNdxChild;
+                int numOfMutationsBeforePass = 0;
+
+                for (int i = startingChildIndex; i < lastNdxCrossoverChild; i++)
+                    mutationSources[i] = -1;
+
+                while (numOfMutations < numOfChildren) {
+                    Chromosome<T> mutatedChild = mutate(children[ndxChild], iteration);
                     if (mutatedChild != null) {
-                        children[lastNdxChild + numOfMutations] = mutatedChild;
+                        children[lastNdxChild] = mutatedChild;
+                        mutationSources[lastNdxChild] = ndxChild;
+                        lastNdxChild++;
                         numOfMutations++;
-                        numOfChildrenGeneratedInLastRound++;
+                    }
+                    ndxChild++;
+                    if (ndxChild == lastNdxCrossoverChild) {
+                        ndxChild = startingChildIndex;
+                        if (numOfMutations == numOfMutationsBeforePass)
+                            break;
+                        numOfMutationsBeforePass = numOfMutations;
                     }
                 }
 
-                ndxChild++;
+                return lastNdxChild - startingChildIndex;
+            } finally {
+                GeneticRandom.set(callerRandom);
+                ChromosomePool.setCurrent(callerPool);
             }
         }
     }
 
+    /**
+     * Generates crossover and mutation children on worker threads.
+     * Each worker gets an equal share of numOfChildren, a slot range of the children array
+     * and a random number stream split from the master stream.
+     * Slot ranges are compacted to the beginning of the children array afterwards.
+     */
+    private void breedChildren(int iteration) throws InterruptedException, ExecutionException {
+
+        int startingChildIndex = 0;
+
+        for (int w = 0; w < breedingTasks.size(); w++) {
+            BreedingTask task = breedingTasks.get(w);
+            task.iteration = iteration;
+            task.startingChildIndex = startingChildIndex;
+            task.numOfChildren = numOfChildren / breedingTasks.size() + (w < numOfChildren % breedingTasks.size() ? 1 : 0);
+            task.random = masterRandom.split();
+            /*
+             * Crossover may exceed its share by one child since it generates children in pairs.
+             */
+            startingChildIndex += 2 * task.numOfChildren + 1;
+        }
+
+        List<Future<Integer>> futures = executorService.invokeAll(breedingTasks);
+
+        numOfChildrenGeneratedInLastRound = 0;
+
+        for (int w = 0; w < futures.size(); w++) {
+            int numOfTaskChildren = futures.get(w).get();
+            int shift = breedingTasks.get(w).startingChildIndex - numOfChildrenGeneratedInLastRound;
+            System.arraycopy(children,
+                                breedingTasks.get(w).startingChildIndex,
+                                children,
+                                numOfChildrenGeneratedInLastRound,
+                                numOfTaskChildren);
+            for (int i = 0; i < numOfTaskChildren; i++) {
+                int source = mutationSources[numOfChildrenGeneratedInLastRound + shift + i];
+                mutationSources[numOfChildrenGeneratedInLastRound + i] = (source >= 0 ? source - shift : -1);
+            }
+            numOfChildrenGeneratedInLastRound += numOfTaskChildren;
+        }
+
+        for (int i = numOfChildrenGeneratedInLastRound; i < children.length; i++)
+            children[i] = null;
+    }
+
     private void decode() {
-        List<Future<List<O>>> futures = null;
+        CompletionService<Integer> completionService = null;
         if (runParallel)
-        	futures = new ArrayList<Future<List<O>>>();
+            completionService = new ExecutorCompletionService<Integer>(this.executorService);
 
-        for (int i = 0; i < numOfChildrenGeneratedInLastRound; i++) {
-            if (runParallel)
-            	futures.add(this.executorService.submit(new DecoderCaller<T, O>(this.decoder, children[i])));
-            else
-        		this.decoder.decode(children[i]);
-    	}
+        int numOfDecodingTasks = this.submitDecoding(completionService, children, 0, numOfChildrenGeneratedInLastRound, 0, this.getDecodingBound());
+        this.awaitDecoding(completionService, numOfDecodingTasks);
+    }
 
-        if (runParallel) {
-        	for (int j = 0; j < futures.size(); j++) {
-        		try {
-					futures.get(j).get();
-				} catch (InterruptedException e) {
-					logger.error(e);
-				} catch (ExecutionException e) {
-					logger.error(e);
-				}
-        	}
-        }
+    /**
+     * Gives the bound of a bounded decoder, a child which does not perform better than the worst chromosome can not survive.
+     * 
+     * @return fitness of the worst chromosome or null if decoding is not bounded.
+     */
+    private ISolutionCost getDecodingBound() {
+        return (boundedDecoding ? population[populationSize - 1].getFitness() : null);
     }
 
     private void replacePopulation() {
@@ -216,170 +811,987 @@ public class GeneticOptimizer<T, O> {
         Chromosome<T> child = null;
         boolean canBeAdded = true;
 
+        ISolutionCost worstFitness = population[populationSize - 1].getFitness();
+
         for (int i = 0; i < numOfChildrenGeneratedInLastRound; i++) {
             child = children[i];
 
+            /*
+             * Aborted children can not survive and their sentinel fitness must not be compared, so they are not indexed as well.
+             * 
+             */
+            if (AbortedSolutionCost.isAborted(child)) {
+                if (parameterController != null)
+                    generationStatistics.recordChild(false);
+                this.discard(child);
+                continue;
+            }
+
             canBeAdded = true;
 
             if (!allowDublicateChromosomes) {
-                for (int j = 0; j < extendedPopSize; j++) {
-                    if (child.isEqual(population[j])) {
-                        canBeAdded = false;
-                        break;
-                    }
+                if (populationIndex.containsEqual(child)) {
+                    canBeAdded = false;
+                    metrics.recordDuplicateRejection();
                 }
             }
 
             if (canBeAdded) {
                 population[extendedPopSize] = child;
                 extendedPopSize++;
+                if (!allowDublicateChromosomes)
+                    populationIndex.add(child);
+                if (diversityMonitor != null)
+                    appendedChromosomes.add(child);
+                if (parameterController != null)
+                    generationStatistics.recordChild(child.getFitness().doesPerformBetterThan(worstFitness));
+            } else
+                this.discard(child);
+        }
+
+        if (nsgaReplacer != null) {
+            /*
+             * Survivors are chosen by front and crowding distance and they are placed in crowded comparison order.
+             * 
+             */
+            nsgaReplacer.replace(population, populationSize, extendedPopSize);
+        } else {
+            /*
+             * Population is already ordered, so only children are ordered and merged into the population.
+             * 
+             */
+            replacer.merge(population, populationSize, extendedPopSize);
+
+            /*
+             * Replace.
+             * 
+             */
+            for (int i = numOfEliteChromosomes; i < populationSize; i++) {
+                selector.replaceChromosomeForSurvival(population, i, extendedPopSize);
             }
         }
 
         /*
-         * Order population and children chromosome objects list ol.
+         * Chromosomes which are left beyond populationSize are eliminated.
          * 
          */
+        if (diversityMonitor != null)
+            this.trackReplacement(extendedPopSize);
+        for (int i = populationSize; i < extendedPopSize; i++) {
+            if (!allowDublicateChromosomes)
+                populationIndex.remove(population[i]);
+            this.discard(population[i]);
+            population[i] = null;
+        }
 
-        Chromosome<T> chromosome = null;
-        Chromosome<T> iChromosome = null;
+        /*
+         * Survivors are placed in selection order, restore the ordering of the population.
+         * Elites are not touched by the selector and are already better than the survivors.
+         * 
+         */
+        if (nsgaReplacer == null)
+            replacer.sort(population, numOfEliteChromosomes, populationSize);
+    }
+
+    /**
+     * Updates the diversity monitor once survivors are placed in [0, populationSize).
+     * Only appended chromosomes which survive and members of the population which are eliminated are counted,
+     * so the cost is proportional to the number of chromosomes that actually enter or leave the population.
+     * 
+     * @param extendedPopSize exclusive end index of the eliminated chromosomes.
+     */
+    private void trackReplacement(int extendedPopSize) {
+        for (int i = populationSize; i < extendedPopSize; i++)
+            if (!appendedChromosomes.remove(population[i]))
+                diversityMonitor.remove(population[i]);
+        for (Chromosome<T> chromosome : appendedChromosomes)
+            diversityMonitor.add(chromosome);
+        appendedChromosomes.clear();
+    }
+
+    /**
+     * Called on the optimizer thread after the population replacement of each iteration.
+     * Subclasses may override it to exchange chromosomes with other optimizers.
+     * 
+     * @param iteration iteration number.
+     */
+    protected void afterReplacement(int iteration) {
+    }
+
+    /**
+     * Injects decoded chromosomes into the population by replacing the worst non-elite chromosomes.
+     * Duplicate chromosomes are skipped if they are not allowed, population order is kept.
+     * If multiObjective is set, chromosomes are appended to the population and survivors are chosen by the non-dominated sorting replacement.
+     * Must be called on the optimizer thread, e.g. from afterReplacement.
+     * 
+     * @param chromosomes decoded chromosomes to be injected, they must not be shared with other optimizers.
+     * @param numOfChromosomes number of chromosomes in the array.
+     * @return number of chromosomes injected.
+     */
+    protected int injectChromosomes(Chromosome<T>[] chromosomes, int numOfChromosomes) {
+        if (nsgaReplacer != null)
+            return this.injectNonDominatedChromosomes(chromosomes, numOfChromosomes);
 
-        for (int i = 0; i < extendedPopSize - 1; i++) {
-            for (int j = extendedPopSize - 1; j > i; j--) {
-                chromosome = population[i];
-                iChromosome = population[j];
+        int maxNumOfInjections = Math.min(populationSize - numOfEliteChromosomes, population.length - populationSize);
+        int extendedPopSize = populationSize;
 
-                if (iChromosome.getFitness().doesPerformBetterThan(chromosome.getFitness())) {
-                    population[i] = iChromosome;
-                    population[j] = chromosome;
+        for (int i = 0; (i < numOfChromosomes) && (extendedPopSize - populationSize < maxNumOfInjections); i++) {
+            if (!allowDublicateChromosomes) {
+                if (populationIndex.containsEqual(chromosomes[i])) {
+                    metrics.recordDuplicateRejection();
+                    this.discard(chromosomes[i]);
+                    continue;
                 }
+                populationIndex.add(chromosomes[i]);
             }
+            population[extendedPopSize] = chromosomes[i];
+            extendedPopSize++;
+            if (diversityMonitor != null)
+                diversityMonitor.add(chromosomes[i]);
+        }
+
+        int numOfInjections = extendedPopSize - populationSize;
+        int ndxFirstReplaced = populationSize - numOfInjections;
+
+        for (int i = 0; i < numOfInjections; i++) {
+            if (!allowDublicateChromosomes)
+                populationIndex.remove(population[ndxFirstReplaced + i]);
+            if (diversityMonitor != null)
+                diversityMonitor.remove(population[ndxFirstReplaced + i]);
+            this.discard(population[ndxFirstReplaced + i]);
+            population[ndxFirstReplaced + i] = population[populationSize + i];
+            population[populationSize + i] = null;
+        }
+
+        replacer.merge(population, ndxFirstReplaced, populationSize);
+
+        return numOfInjections;
+    }
+
+    /**
+     * Appends the chromosomes to the population and keeps the survivors of the non-dominated sorting replacement,
+     * so the population stays in crowded comparison order and the first front is up to date.
+     */
+    private int injectNonDominatedChromosomes(Chromosome<T>[] chromosomes, int numOfChromosomes) {
+        int extendedPopSize = populationSize;
+
+        for (int i = 0; (i < numOfChromosomes) && (extendedPopSize < population.length); i++) {
+            if (!allowDublicateChromosomes) {
+                if (populationIndex.containsEqual(chromosomes[i])) {
+                    metrics.recordDuplicateRejection();
+                    this.discard(chromosomes[i]);
+                    continue;
+                }
+                populationIndex.add(chromosomes[i]);
+            }
+            population[extendedPopSize] = chromosomes[i];
+            extendedPopSize++;
+            if (diversityMonitor != null)
+                appendedChromosomes.add(chromosomes[i]);
+        }
+
+        int numOfInjections = extendedPopSize - populationSize;
+        if (numOfInjections == 0)
+            return 0;
+
+        nsgaReplacer.replace(population, populationSize, extendedPopSize);
+
+        if (diversityMonitor != null)
+            this.trackReplacement(extendedPopSize);
+
+        for (int i = populationSize; i < extendedPopSize; i++) {
+            for (int j = 0; j < numOfChromosomes; j++)
+                if (population[i] == chromosomes[j]) {
+                    numOfInjections--;
+                    break;
+                }
+            if (!allowDublicateChromosomes)
+                populationIndex.remove(population[i]);
+            this.discard(population[i]);
+            population[i] = null;
         }
 
+        return numOfInjections;
+    }
+
+    /**
+     * Returns an eliminated chromosome to the pool if chromosome recycling is enabled.
+     * Chromosome must not be referenced by the population, children or any other structure that outlives the call.
+     * 
+     * @param chromosome eliminated chromosome.
+     */
+    private void discard(Chromosome<T> chromosome) {
+        if (chromosomePool != null)
+            chromosomePool.release(chromosome);
+    }
+
+    /**
+     * Gives the chromosome at the given rank of the ordered population.
+     * 
+     * @param rank rank of the chromosome, zero is the fittest one.
+     * @return chromosome at the rank.
+     */
+    protected Chromosome<T> getRankedChromosome(int rank) {
+        return population[rank];
+    }
+
+    /**
+     * Gives the best individual in the current population.
+     * Population is in crowded comparison order if multiObjective is set, so the first front is scanned for the best chromosome.
+     * 
+     * @return IChromosome the fittest individual in the current population.
+     */
+    private Chromosome<T> getFittestIndividual() {
+        Chromosome<T> res = population[0];
+        if (nsgaReplacer != null)
+            for (int i = 1; i < nsgaReplacer.getFirstFrontSize(); i++)
+                if (population[i].getFitness().doesPerformBetterThan(res.getFitness()))
+                    res = population[i];
+        return res;
+    }
+
+    /**
+     * Gives the best individual of the genetic optimization process.
+     * 
+     * @return IChromosome the fittest individual of the genetic optimization 
+     * process.
+     */
+    public Chromosome<T> getBest() {
+        return best;
+    }
+
+    /**
+     * Gives the non-dominated chromosomes of the current population if multiObjective is set.
+     * Returned chromosomes belong to the population, they must not be modified.
+     * 
+     * @return chromosomes of the first front or an empty list.
+     */
+    public List<Chromosome<T>> getParetoFront() {
+        List<Chromosome<T>> res = new ArrayList<Chromosome<T>>();
+        if ((nsgaReplacer != null) && (population != null))
+            for (int i = 0; i < nsgaReplacer.getFirstFrontSize(); i++)
+                res.add(population[i]);
+        return res;
+    }
+
+    private int numOfChildrenGeneratedInLastRound = 0;
+
+    /**
+     * Creates a virtual thread per task executor on JVMs which support virtual threads.
+     * 
+     * @return executor service or null if virtual threads are not supported.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            logger.warn("Virtual threads are not supported, a fixed thread pool is used instead.");
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a single child on an executor thread and gives it back on completion.
+     */
+    private class SteadyStateEvaluation implements Callable<Chromosome<T>> {
+
+        private Chromosome<T> child = null;
+        private ISolutionCost bound = null;
+
         /*
-         * Replace.
+         * Bound is taken at submission, fitness of the worst chromosome only improves until the child is inserted.
+         */
+        private SteadyStateEvaluation(Chromosome<T> child, ISolutionCost bound) {
+            this.child = child;
+            this.bound = bound;
+        }
+
+        @Override
+        public Chromosome<T> call() throws Exception {
+            activeDecoder.decode(child, bound);
+            return child;
+        }
+    }
+
+    /**
+     * Generates a pair of crossover children and their mutants for steady state evolution.
+     * 
+     * @param evaluation number of evaluations completed so far.
+     * @param pendingChildren queue to which new children are added.
+     */
+    private void breedPendingChildren(int evaluation, ArrayDeque<Chromosome<T>> pendingChildren) throws CloneNotSupportedException {
+        long phaseStartTime = System.nanoTime();
+
+        Chromosome<T> mother = selector.selectChromosomeForReproduction(population, populationSize);
+        Chromosome<T> father = selector.selectChromosomeForReproduction(population, populationSize);
+
+        while (mother == father) {
+            father = selector.selectChromosomeForReproduction(population, populationSize);
+        }
+
+        int numOfCrossoverChildren = activeCrossoverOperator.crossover(children,
+                                                        0,
+                                                        mother,
+                                                        father,
+                                                        population[populationSize - 1].getFitness());
+
+        long phaseEndTime = System.nanoTime();
+        metrics.recordPhase(GeneticPhase.BREED, phaseEndTime - phaseStartTime);
+
+        for (int i = 0; i < numOfCrossoverChildren; i++) {
+            pendingChildren.add(children[i]);
+            Chromosome<T> mutatedChild = this.mutate(children[i], evaluation);
+            if (mutatedChild != null)
+                pendingChildren.add(mutatedChild);
+            children[i] = null;
+        }
+
+        metrics.recordPhase(GeneticPhase.MUTATE, System.nanoTime() - phaseEndTime);
+    }
+
+    /**
+     * Inserts a decoded child into the population.
+     * Child competes with the worst chromosome of the population for survival through the selector
+     * and the survivor is moved to its place in the ordered population.
+     * 
+     * @param child decoded child.
+     */
+    private void insertChild(Chromosome<T> child) {
+        if ((populationSize <= numOfEliteChromosomes) || AbortedSolutionCost.isAborted(child)) {
+            this.discard(child);
+            return;
+        }
+
+        if (!allowDublicateChromosomes) {
+            if (populationIndex.containsEqual(child)) {
+                metrics.recordDuplicateRejection();
+                this.discard(child);
+                return;
+            }
+            populationIndex.add(child);
+        }
+
+        population[populationSize] = child;
+
+        selector.replaceChromosomeForSurvival(population, populationSize - 1, populationSize + 1);
+
+        if (!allowDublicateChromosomes)
+            populationIndex.remove(population[populationSize]);
+        if ((diversityMonitor != null) && (population[populationSize] != child)) {
+            diversityMonitor.remove(population[populationSize]);
+            diversityMonitor.add(child);
+        }
+        this.discard(population[populationSize]);
+        population[populationSize] = null;
+
+        replacer.merge(population, populationSize - 1, populationSize);
+    }
+
+    /**
+     * Steady state evolution.
+     * Keeps numOfConcurrentEvaluations decodes in flight, each decoded child is inserted into the population
+     * as soon as its decode completes and a new child is submitted in its place.
+     * Iterations are counted in evaluations, so maxNumOfIterations and maxNumOfIterationsWOProgress limit the number of decodes.
+     * Phase latencies are recorded per child and decode phase is not recorded, decode latencies are the chromosome decode latencies.
+     * 
+     * @return number of completed evaluations.
+     */
+    @SuppressWarnings("unchecked")
+    private int evolveSteadyState(long optStartTime) throws CloneNotSupportedException,
+                                                            InterruptedException {
+
+        CompletionService<Chromosome<T>> completionService = new ExecutorCompletionService<Chromosome<T>>(this.executorService);
+        ArrayDeque<Chromosome<T>> pendingChildren = new ArrayDeque<Chromosome<T>>();
+
+        int maxNumOfInFlight = (numOfConcurrentEvaluations > 0 ? numOfConcurrentEvaluations : numOfThreads);
+
+        int numOfSubmissions = startIteration;
+        int numOfInFlight = 0;
+        int numOfEvaluations = startIteration;
+        int numOfEvaluationsWOProgress = 0;
+        boolean stop = false;
+
+        while ((numOfInFlight < maxNumOfInFlight) && (numOfSubmissions < maxNumOfIterations)) {
+            if (pendingChildren.isEmpty())
+                this.breedPendingChildren(numOfEvaluations, pendingChildren);
+            completionService.submit(new SteadyStateEvaluation(pendingChildren.poll(), this.getDecodingBound()));
+            numOfSubmissions++;
+            numOfInFlight++;
+        }
+        metrics.sampleExecutorQueueDepth();
+
+        while (numOfInFlight > 0) {
+            Chromosome<T> child = null;
+            try {
+                child = completionService.take().get();
+            } catch (ExecutionException e) {
+                logger.error(e);
+            }
+            numOfInFlight--;
+            numOfEvaluations++;
+
+            if (child != null) {
+                long phaseStartTime = System.nanoTime();
+                this.insertChild(child);
+                metrics.recordPhase(GeneticPhase.REPLACE, System.nanoTime() - phaseStartTime);
+
+                this.afterReplacement(numOfEvaluations);
+
+                Chromosome<T> ch = getFittestIndividual();
+
+                if (ch.getFitness().doesPerformBetterThan(this.best.getFitness())) {
+                    this.best = (Chromosome<T>) ch.clone();
+                    this.geneticIterationListener.onProgress(numOfEvaluations, (System.nanoTime() - optStartTime) / 1000000000.0, this.best);
+                    numOfEvaluationsWOProgress = 0;
+                } else
+                    numOfEvaluationsWOProgress++;
+
+                this.geneticIterationListener.onIterate(numOfEvaluations, (System.nanoTime() - optStartTime) / 1000000000.0, this.best);
+
+                this.trackDiversity();
+                this.reportMetrics(numOfEvaluations);
+
+                if ((checkpointInterval > 0) && (numOfEvaluations % checkpointInterval == 0))
+                    this.writeCheckpoint(numOfEvaluations);
+            }
+
+            if ((numOfEvaluationsWOProgress >= this.maxNumOfIterationsWOProgress)
+                    || ((System.nanoTime() - optStartTime) >= this.maxElapsedTimeInNanoSecs)
+                    || this.hasConverged())
+                stop = true;
+
+            if (!stop && (numOfSubmissions < maxNumOfIterations)) {
+                if (pendingChildren.isEmpty())
+                    this.breedPendingChildren(numOfEvaluations, pendingChildren);
+                completionService.submit(new SteadyStateEvaluation(pendingChildren.poll(), this.getDecodingBound()));
+                numOfSubmissions++;
+                numOfInFlight++;
+                metrics.sampleExecutorQueueDepth();
+            }
+        }
+
+        return numOfEvaluations;
+    }
+
+    /**
+     * Generational evolution.
+     * 
+     * @return number of completed iterations.
+     */
+    @SuppressWarnings("unchecked")
+    private int evolveGenerations(long optStartTime) throws CloneNotSupportedException,
+                                                            InterruptedException,
+                                                            ExecutionException {
+
+        int numOfIterationsWOProgress = 0;
+
+        Chromosome<T> ch = null;
+
+        long phaseStartTime = 0l;
+        long phaseEndTime = 0l;
+
+        int lastIteration = startIteration;
+
+        if (surrogateScreening) {
+            surrogateReference = population[populationSize - 1].getFitness();
+            numOfSurrogateSamples = 0l;
+            this.trainSurrogate(population, populationSize);
+        }
+
+        for (int i = startIteration + 1; i <= this.maxNumOfIterations; i++) {
+
+        	this.numOfChildrenGeneratedInLastRound = 0;
+        	generationStatistics.reset(i);
+
+        	if (localSearching)
+        		this.submitLocalSearch();
+
+        	phaseStartTime = System.nanoTime();
+
+			if (numOfBreedingThreads > 1)
+				this.breedChildren(i);
+			else
+				this.generateChildren(i, numOfIterationsWOProgress);
+
+			/*
+			 * Parallel breeding tasks mutate their own children, so their mutation time is a part of the breeding phase.
+			 */
+			phaseEndTime = System.nanoTime();
+			metrics.recordPhase(GeneticPhase.BREED, phaseEndTime - phaseStartTime);
+
+			if (numOfBreedingThreads <= 1) {
+				phaseStartTime = phaseEndTime;
+				this.mutateChildren(i, numOfIterationsWOProgress);
+				phaseEndTime = System.nanoTime();
+				metrics.recordPhase(GeneticPhase.MUTATE, phaseEndTime - phaseStartTime);
+			}
+
+			/*
+			 * Screening time is a part of the decode phase.
+			 */
+			phaseStartTime = phaseEndTime;
+			if (surrogateScreening)
+				this.screenChildren();
+			this.decode();
+			if (surrogateScreening)
+				this.trainSurrogate();
+			phaseEndTime = System.nanoTime();
+			metrics.recordPhase(GeneticPhase.DECODE, phaseEndTime - phaseStartTime);
+
+			if (parameterController != null)
+				this.recordMutationSuccesses();
+
+			phaseStartTime = phaseEndTime;
+			this.replacePopulation();
+			metrics.recordPhase(GeneticPhase.REPLACE, System.nanoTime() - phaseStartTime);
+
+			if (localSearching)
+				this.injectLocalSearchResults();
+
+			this.afterReplacement(i);
+
+			ch = getFittestIndividual();
+
+            if (ch.getFitness().doesPerformBetterThan(this.best.getFitness())) {
+            	this.best = (Chromosome<T>) ch.clone();
+            	this.geneticIterationListener.onProgress(i, (System.nanoTime() - optStartTime) / 1000000000.0, this.best);
+            	numOfIterationsWOProgress = 0;
+            } else
+            	numOfIterationsWOProgress++;
+
+            this.geneticIterationListener.onIterate(i, (System.nanoTime() - optStartTime) / 1000000000.0, this.best);
+
+            if (parameterController != null)
+                this.adaptParameters(numOfIterationsWOProgress);
+
+            this.trackDiversity();
+            this.reportMetrics(i);
+
+            if ((checkpointInterval > 0) && (i % checkpointInterval == 0))
+                this.writeCheckpoint(i);
+
+            lastIteration = i;
+
+            if ((numOfIterationsWOProgress >= this.maxNumOfIterationsWOProgress)
+                    || ((System.nanoTime() - optStartTime) >= this.maxElapsedTimeInNanoSecs)
+                    || this.hasConverged())
+                break;
+        }
+
+        return lastIteration;
+    }
+
+    /**
+     * Writes the population and the best chromosome to the checkpoint file if checkpointing is configured.
+     * Failures are logged and do not stop the optimization.
+     * 
+     * @param iteration number of completed iterations.
+     */
+    private void writeCheckpoint(int iteration) {
+        if ((checkpointCodec == null) || (checkpointPath == null))
+            return;
+        try {
+            new CheckpointFile<T>(checkpointCodec).write(checkpointPath,
+                                                            new PopulationCheckpoint<T>(iteration, fitnessVersion, best, population, populationSize));
+        } catch (IOException ex) {
+            logger.error(ex);
+        }
+    }
+
+    /**
+     * Predicts qualities of the children and keeps the best predicted surrogateScreeningRatio of them once the model is trained.
+     * Kept children are compacted to the beginning of the children array in their original order, the others are discarded.
+     */
+    private void screenChildren() {
+        int numOfGenerated = numOfChildrenGeneratedInLastRound;
+        for (int i = 0; i < numOfGenerated; i++)
+            surrogatePredictions[i] = surrogateModel.predict(children[i]);
+
+        int numOfKept = Math.max(1, (int) Math.ceil(surrogateScreeningRatio * numOfGenerated));
+        if ((numOfSurrogateSamples < minNumOfSurrogateSamples) || (numOfKept >= numOfGenerated))
+            return;
+
+        /*
+         * Children predicted better than the threshold are kept, ties at the threshold are kept in order until numOfKept is reached.
          * 
          */
-        for (int i = numOfEliteChromosomes; i < populationSize; i++) {
-            selector.replaceChromosomeForSurvival(population, i, extendedPopSize);
+        System.arraycopy(surrogatePredictions, 0, surrogateQualities, 0, numOfGenerated);
+        Arrays.sort(surrogateQualities, 0, numOfGenerated);
+        double threshold = surrogateQualities[numOfGenerated - numOfKept];
+        int numOfAboveThreshold = 0;
+        for (int i = 0; i < numOfGenerated; i++)
+            if (surrogatePredictions[i] > threshold)
+                numOfAboveThreshold++;
+        int numOfTiesKept = numOfKept - numOfAboveThreshold;
+
+        /*
+         * Mutation sources are remapped to the new indices of the kept children, surrogateQualities holds the new indices.
+         * 
+         */
+        int ndxKept = 0;
+        for (int i = 0; i < numOfGenerated; i++) {
+            boolean keep = (surrogatePredictions[i] > threshold);
+            if (!keep && (surrogatePredictions[i] == threshold) && (numOfTiesKept > 0)) {
+                keep = true;
+                numOfTiesKept--;
+            }
+            if (keep) {
+                int source = mutationSources[i];
+                mutationSources[ndxKept] = ((source >= 0) && (surrogateQualities[source] >= 0.0) ? (int) surrogateQualities[source] : -1);
+                surrogateQualities[i] = ndxKept;
+                children[ndxKept] = children[i];
+                surrogatePredictions[ndxKept] = surrogatePredictions[i];
+                ndxKept++;
+            } else {
+                surrogateQualities[i] = -1.0;
+                this.discard(children[i]);
+            }
         }
+        for (int i = ndxKept; i < numOfGenerated; i++)
+            children[i] = null;
+
+        numOfChildrenGeneratedInLastRound = ndxKept;
+        metrics.recordScreening(numOfGenerated - ndxKept);
     }
 
     /**
-     * Gives the best individual in the current population.
-     * 
-     * @return IChromosome the fittest individual in the current population.
+     * Trains the surrogate model with the decoded children and reports rank correlation of their predicted and actual qualities.
+     * Aborted children are skipped since their fitness is not known.
      */
-    private Chromosome<T> getFittestIndividual() {
-        return population[0];
+    private void trainSurrogate() {
+        int numOfSamples = 0;
+        for (int i = 0; i < numOfChildrenGeneratedInLastRound; i++) {
+            if (AbortedSolutionCost.isAborted(children[i]))
+                continue;
+            surrogatePredictions[numOfSamples] = surrogatePredictions[i];
+            surrogateQualities[numOfSamples] = children[i].getFitness().getDistance(surrogateReference);
+            numOfSamples++;
+        }
+        metrics.setSurrogateRankCorrelation(rankCorrelation.calculate(surrogatePredictions, surrogateQualities, numOfSamples));
+        this.trainSurrogate(children, numOfChildrenGeneratedInLastRound);
     }
 
     /**
-     * Gives the best individual of the genetic optimization process.
+     * Trains the surrogate model with qualities relative to the mean quality of the batch.
+     * Mean quality improves as the population converges, so it would otherwise be learned as the weight of the common genes
+     * and children similar to the population would be preferred. Screening only depends on the order of the predictions.
      * 
-     * @return IChromosome the fittest individual of the genetic optimization 
-     * process.
+     * @param chromosomes decoded chromosomes.
+     * @param numOfChromosomes number of chromosomes at the beginning of the array.
      */
-    public Chromosome<T> getBest() {
-        return best;
+    private void trainSurrogate(Chromosome<T>[] chromosomes, int numOfChromosomes) {
+        double sum = 0.0;
+        int numOfSamples = 0;
+        for (int i = 0; i < numOfChromosomes; i++)
+            if (!AbortedSolutionCost.isAborted(chromosomes[i])) {
+                sum += chromosomes[i].getFitness().getDistance(surrogateReference);
+                numOfSamples++;
+            }
+        if (numOfSamples == 0)
+            return;
+        double mean = sum / numOfSamples;
+        for (int i = 0; i < numOfChromosomes; i++)
+            if (!AbortedSolutionCost.isAborted(chromosomes[i]))
+                surrogateModel.train(chromosomes[i], chromosomes[i].getFitness().getDistance(surrogateReference) - mean);
+        numOfSurrogateSamples += numOfSamples;
     }
 
-    private int numOfChildrenGeneratedInLastRound = 0;
+    /**
+     * Submits local searches on copies of the best chromosomes, they run until the next replacement.
+     * Searches run on the optimizer thread before breeding if decoding is not parallel, so the decoder is never called concurrently.
+     */
+    private void submitLocalSearch() throws CloneNotSupportedException {
+        int numOfSearches = Math.min(numOfLocalSearchChromosomes, populationSize);
+        for (int i = 0; i < numOfSearches; i++) {
+            int budget = localSearchBudget / numOfSearches + (i < localSearchBudget % numOfSearches ? 1 : 0);
+            if (budget > 0) {
+                LocalSearchTask task = new LocalSearchTask(ChromosomePool.copyOf(population[i]),
+                                                            new LocalSearchBudget<T>(activeDecoder, boundedDecoding, chromosomePool, budget),
+                                                            masterRandom.split());
+                if (localSearchExecutor != null)
+                    localSearchFutures.add(localSearchExecutor.submit(task));
+                else {
+                    FutureTask<Chromosome<T>> future = new FutureTask<Chromosome<T>>(task);
+                    future.run();
+                    localSearchFutures.add(future);
+                }
+            }
+        }
+    }
 
+    /**
+     * Waits for the local searches of the generation and injects the improved chromosomes into the population.
+     */
     @SuppressWarnings("unchecked")
-	protected void doMinimize() {
+    private void injectLocalSearchResults() throws InterruptedException {
+        Chromosome<T>[] improved = new Chromosome[localSearchFutures.size()];
+        int numOfImproved = 0;
+        for (Future<Chromosome<T>> future : localSearchFutures) {
+            try {
+                Chromosome<T> chromosome = future.get();
+                if (chromosome != null) {
+                    improved[numOfImproved] = chromosome;
+                    numOfImproved++;
+                }
+            } catch (ExecutionException e) {
+                logger.error(e);
+            }
+        }
+        localSearchFutures.clear();
 
-        population = new Chromosome[populationSize + 2 * minNumOfChildren];
-        children = new Chromosome[2 * minNumOfChildren];
+        if (numOfImproved > 0)
+            this.injectChromosomes(improved, numOfImproved);
+    }
 
-        executorService = Executors.newFixedThreadPool(minNumOfChildren * 2);
+    /**
+     * Runs the local search on a copy of a chromosome with its own random stream.
+     */
+    private class LocalSearchTask implements Callable<Chromosome<T>> {
 
-        int numOfIterationsWOProgress = 0;
+        private Chromosome<T> chromosome = null;
+        private LocalSearchBudget<T> budget = null;
+        private SplittableRandom random = null;
 
-        long optStartTime = System.nanoTime();
+        private LocalSearchTask(Chromosome<T> chromosome, LocalSearchBudget<T> budget, SplittableRandom random) {
+            this.chromosome = chromosome;
+            this.budget = budget;
+            this.random = random;
+        }
 
-        try {
-            if (initializePopulation()) {
+        @Override
+        public Chromosome<T> call() throws Exception {
+            SplittableRandom callerRandom = GeneticRandom.set(random);
+            ChromosomePool<?> callerPool = ChromosomePool.setCurrent(chromosomePool);
+            try {
+                Chromosome<T> res = localSearch.search(chromosome, budget);
+                if (res == null)
+                    discard(chromosome);
+                return res;
+            } finally {
+                GeneticRandom.set(callerRandom);
+                ChromosomePool.setCurrent(callerPool);
+            }
+        }
+    }
 
-                this.orderPopulation();
+    /**
+     * Compares decoded mutants with the chromosomes they are generated from.
+     */
+    private void recordMutationSuccesses() {
+        for (int i = 0; i < numOfChildrenGeneratedInLastRound; i++) {
+            int source = mutationSources[i];
+            if (source >= 0) {
+                if (AbortedSolutionCost.isAborted(children[i]))
+                    generationStatistics.recordMutation(false);
+                else
+                    generationStatistics.recordMutation(AbortedSolutionCost.isAborted(children[source])
+                                                        || children[i].getFitness().doesPerformBetterThan(children[source].getFitness()));
+            }
+        }
+    }
 
-                best = this.getFittestIndividual();
+    /**
+     * Passes the outcome of the generation to the parameter controller and takes the number of children of the next generation.
+     * 
+     * @param numOfIterationsWOProgress number of iterations without improvement of the best chromosome.
+     */
+    private void adaptParameters(int numOfIterationsWOProgress) {
+        generationStatistics.recordProgress(numOfIterationsWOProgress == 0, numOfIterationsWOProgress);
+        parameterController.update(generationStatistics);
+        /*
+         * Children array is sized for the maximum number of children of the controller.
+         */
+        numOfChildren = Math.max(1, Math.min(parameterController.getNumOfChildren(), parameterController.getMaxNumOfChildren()));
+    }
 
-                this.geneticIterationListener.onIterate(0, (System.nanoTime() - optStartTime) / 1000000000.0, best);
+    /**
+     * Publishes diversity of the population to the metrics, Hamming distances are measured to the current best chromosome.
+     */
+    private void trackDiversity() {
+        if (diversityMonitor == null)
+            return;
+        if (diversityMonitor.getBest() != best)
+            diversityMonitor.setBest(best);
+        metrics.setPopulationEntropy(diversityMonitor.getEntropy());
+        metrics.setMeanHammingDistanceToBest(diversityMonitor.getMeanHammingDistanceToBest());
+    }
 
-                Chromosome<T> ch = null;
+    /**
+     * @return true if the population entropy falls below minPopulationEntropy.
+     */
+    private boolean hasConverged() {
+        return (diversityMonitor != null) && (diversityMonitor.getEntropy() < minPopulationEntropy);
+    }
 
-long nano1 = 0l;
-long nano2 = 0l;
-long nanoGenTot = 0l;
-long nanoMutTot = 0l;
-long nanoFitTot = 0l;
-long nanoRepTot = 0l;
+    /**
+     * Updates iteration of the metrics and notifies the metrics listener once every metricsReportInterval iterations.
+     * 
+     * @param iteration number of completed iterations.
+     */
+    private void reportMetrics(int iteration) {
+        metrics.setIteration(iteration);
+        if ((metricsListener != null) && (metricsReportInterval > 0) && (iteration % metricsReportInterval == 0))
+            metricsListener.onMetrics(iteration, metrics);
+    }
 
-                for (int i = 1; i <= this.maxNumOfIterations; i++) {
+    @SuppressWarnings("unchecked")
+	protected void doMinimize() {
 
-                	this.numOfChildrenGeneratedInLastRound = 0;
+        numOfChildren = minNumOfChildren;
+        int maxNumOfChildren = minNumOfChildren;
+        if (parameterController != null) {
+            parameterController.start(mutationRate, minNumOfChildren);
+            maxNumOfChildren = Math.max(minNumOfChildren, parameterController.getMaxNumOfChildren());
+        }
 
-nano1 = System.nanoTime();
+        population = new Chromosome[populationSize + 2 * maxNumOfChildren + numOfBreedingThreads];
+        children = new Chromosome[2 * maxNumOfChildren + numOfBreedingThreads];
+        mutationSources = new int[children.length];
+        surrogatePredictions = new double[children.length];
+        surrogateQualities = new double[children.length];
+
+        if (!allowDublicateChromosomes)
+            populationIndex = new FingerprintIndex<T>(population.length);
+
+        boolean ownsExecutorService = (externalExecutorService == null);
+        if (externalExecutorService != null)
+            executorService = externalExecutorService;
+        else {
+            executorService = null;
+            if (useVirtualThreads)
+                executorService = newVirtualThreadExecutor();
+            if (executorService == null)
+                executorService = Executors.newFixedThreadPool(numOfThreads);
+        }
 
-					this.generateChildren(i, numOfIterationsWOProgress);
+        replacer.setParallelSortThreshold(parallelSortThreshold);
 
-//System.out.println("Crossover phase is completed!");
+        if (multiObjective) {
+            nsgaReplacer = new NsgaReplacer<T>();
+            nsgaReplacer.getSorter().setParallelThreshold(parallelDominanceThreshold);
+        } else
+            nsgaReplacer = null;
 
-nano2 = System.nanoTime();
-nanoGenTot += nano2 - nano1;
-nano1 = System.nanoTime();
+        /*
+         * Injection keeps the single objective order of the population, so local search is not used in multi-objective mode.
+         * 
+         */
+        surrogateScreening = false;
+        if (surrogateModel != null) {
+            if (multiObjective || steadyState)
+                logger.warn("Surrogate screening is only used in single objective generational evolution.");
+            else
+                surrogateScreening = true;
+        }
 
-					this.mutateChildren(i, numOfIterationsWOProgress);
+        localSearching = false;
+        localSearchExecutor = null;
+        if (localSearch != null) {
+            if (multiObjective || steadyState)
+                logger.warn("Local search is only used in single objective generational evolution.");
+            else {
+                localSearching = true;
+                if (runParallel)
+                    localSearchExecutor = Executors.newFixedThreadPool(Math.max(1, Math.round(localSearchShare * numOfThreads)));
+            }
+        }
 
-//System.out.println("Mutation phase is completed!");
+        if (randomSeed != null)
+            masterRandom = new SplittableRandom(randomSeed);
+        else
+            masterRandom = new SplittableRandom();
+
+        SplittableRandom callerRandom = GeneticRandom.set(masterRandom.split());
+
+        if (recycleChromosomes)
+            chromosomePool = new ChromosomePool<T>(population.length);
+        else
+            chromosomePool = null;
+        ChromosomePool<?> callerPool = ChromosomePool.setCurrent(chromosomePool);
+
+        breedingTasks = new ArrayList<BreedingTask>();
+        if (numOfBreedingThreads > 1)
+            for (int w = 0; w < numOfBreedingThreads; w++)
+                breedingTasks.add(new BreedingTask());
+
+        Decoder<T, O> fullDecoder = decoder;
+        if (decoder instanceof IncrementalDecoder) {
+            deltaDecoder = new DeltaDecoder<T, O>((IncrementalDecoder<T, O>) decoder);
+            fullDecoder = deltaDecoder;
+        } else
+            deltaDecoder = null;
+
+        if (fitnessCacheSize > 0) {
+            fitnessCache = new CachingDecoder<T, O>(fullDecoder, fitnessCacheSize);
+            activeDecoder = new TimedDecoder<T, O>(fitnessCache, metrics);
+        } else {
+            fitnessCache = null;
+            activeDecoder = new TimedDecoder<T, O>(fullDecoder, metrics);
+        }
+        boundedDecoding = (decoder instanceof BoundedDecoder) && !multiObjective;
 
-nano2 = System.nanoTime();
-nanoMutTot += nano2 - nano1;
-nano1 = System.nanoTime();
+        if (decoder instanceof RemoteDecoderFarm) {
+            remoteDecoderFarm = (RemoteDecoderFarm<T, O>) decoder;
+            remoteDecoderFarm.setMetrics(metrics);
+        } else
+            remoteDecoderFarm = null;
 
-					this.decode();
+        decoderCallers = new ArrayList<DecoderBatchCaller<T, O>>();
 
-//System.out.println("Decoding phase is completed!");
+        metrics.start(executorService);
 
-nano2 = System.nanoTime();
-nanoFitTot += nano2 - nano1;
-nano1 = System.nanoTime();
+        long optStartTime = System.nanoTime();
 
-					this.replacePopulation();
+        try {
+            if (initializePopulation()) {
 
-//System.out.println("Population replace is completed!");
+                this.specializeOperators(population[0]);
 
-nano2 = System.nanoTime();
-nanoRepTot += nano2 - nano1;
+                this.orderPopulation();
 
-					ch = getFittestIndividual();
+                best = (Chromosome<T>) this.getFittestIndividual().clone();
+                if ((restoredBest != null) && restoredBest.getFitness().doesPerformBetterThan(best.getFitness()))
+                    best = restoredBest;
+                restoredBest = null;
 
-                    if (ch.getFitness().doesPerformBetterThan(this.best.getFitness())) {
-                    	this.best = (Chromosome<T>) ch.clone();
-                    	this.geneticIterationListener.onProgress(i, (System.nanoTime() - optStartTime) / 1000000000.0, this.best);
-                    	numOfIterationsWOProgress = 0;
-                    } else
-                    	numOfIterationsWOProgress++;
+                if (diversityMonitor != null)
+                    diversityMonitor.reset(population, populationSize);
+                this.trackDiversity();
 
-                    this.geneticIterationListener.onIterate(i, (System.nanoTime() - optStartTime) / 1000000000.0, this.best);
+                this.geneticIterationListener.onIterate(startIteration, (System.nanoTime() - optStartTime) / 1000000000.0, best);
 
-                    if ((numOfIterationsWOProgress >= this.maxNumOfIterationsWOProgress)
-                            || ((System.nanoTime() - optStartTime) >= this.maxElapsedTimeInNanoSecs))
-                        break;
-                }
+                int lastIteration = 0;
+                if (steadyState)
+                    lastIteration = this.evolveSteadyState(optStartTime);
+                else
+                    lastIteration = this.evolveGenerations(optStartTime);
 
-System.out.println("gen-" + nanoGenTot / this.maxNumOfIterations +
-					", mut-" + nanoMutTot / this.maxNumOfIterations +
-					", fit-" + nanoFitTot / this.maxNumOfIterations +
-                    ", rep-" + nanoRepTot / this.maxNumOfIterations);
+                this.writeCheckpoint(lastIteration);
 
 				this.geneticIterationListener.onIterate(this.maxNumOfIterations, (System.nanoTime() - optStartTime) / 1000000000.0, this.best);
             }
         } catch (Exception ex) {
             geneticIterationListener.onException(ex);
         }
-        executorService.shutdown();
+        if (geneticIterationListener instanceof AsyncGeneticIterationListener) {
+            try {
+                ((AsyncGeneticIterationListener<T>) geneticIterationListener).flush(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                logger.error(e);
+            }
+        }
+        metrics.stop();
+        if (logger.isDebugEnabled())
+            logger.debug(metrics);
+        if (ownsExecutorService)
+            executorService.shutdown();
+        if (localSearchExecutor != null) {
+            localSearchExecutor.shutdown();
+            localSearchExecutor = null;
+        }
+        localSearchFutures.clear();
+        GeneticRandom.set(callerRandom);
+        ChromosomePool.setCurrent(callerPool);
     }
 
 	public ChromosomeFactory<T> getChromosomeFactory() {
@@ -427,6 +1839,65 @@ System.out.println("gen-" + nanoGenTot / this.maxNumOfIterations +
 		return this;
 	}
 
+	public int getFitnessCacheSize() {
+		return fitnessCacheSize;
+	}
+
+	/**
+	 * Sets maximum number of fitness values to be memoized, zero disables fitness caching.
+	 * 
+	 * @param fitnessCacheSize maximum number of cached fitness values.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setFitnessCacheSize(int fitnessCacheSize) {
+		this.fitnessCacheSize = fitnessCacheSize;
+		return this;
+	}
+
+	/**
+	 * Gives the fitness cache of the last run to access its hit, miss and eviction counters.
+	 * 
+	 * @return fitness cache or null if fitness caching is disabled.
+	 */
+	public CachingDecoder<T, O> getFitnessCache() {
+		return fitnessCache;
+	}
+
+	/**
+	 * Gives the delta decoder of the last run to access its incremental and full decode counters.
+	 * 
+	 * @return delta decoder or null if the decoder is not an IncrementalDecoder.
+	 */
+	public DeltaDecoder<T, O> getDeltaDecoder() {
+		return deltaDecoder;
+	}
+
+	public boolean isRecycleChromosomes() {
+		return recycleChromosomes;
+	}
+
+	/**
+	 * Enables pooling of eliminated chromosomes, operators reuse them instead of cloning their parents.
+	 * Only RecyclableChromosome instances are pooled.
+	 * Population chromosomes accessed by subclasses must be copied if they are kept since they may be recycled.
+	 * 
+	 * @param recycleChromosomes true to recycle eliminated chromosomes.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setRecycleChromosomes(boolean recycleChromosomes) {
+		this.recycleChromosomes = recycleChromosomes;
+		return this;
+	}
+
+	/**
+	 * Gives the chromosome pool of the last run to access its reuse counters.
+	 * 
+	 * @return chromosome pool or null if chromosome recycling is disabled.
+	 */
+	public ChromosomePool<T> getChromosomePool() {
+		return chromosomePool;
+	}
+
 	public long getMaxElapsedTimeInNanoSecs() {
 		return maxElapsedTimeInNanoSecs;
 	}
@@ -508,6 +1979,310 @@ System.out.println("gen-" + nanoGenTot / this.maxNumOfIterations +
 		return this;
 	}
 
+	public int getParallelSortThreshold() {
+		return parallelSortThreshold;
+	}
+
+	/**
+	 * Sets minimum number of chromosomes to order population using Arrays.parallelSort.
+	 * 
+	 * @param parallelSortThreshold minimum range size for parallel sorting, zero disables it.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setParallelSortThreshold(int parallelSortThreshold) {
+		this.parallelSortThreshold = parallelSortThreshold;
+		return this;
+	}
+
+	public ParameterController<T> getParameterController() {
+		return parameterController;
+	}
+
+	/**
+	 * Sets the controller which adapts mutation rate and number of children after each generation.
+	 * Without a controller mutationRate and minNumOfChildren are used for the whole run.
+	 * In steady state mode only the mutation rates of the controller are used.
+	 * 
+	 * @param parameterController parameter controller or null.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setParameterController(ParameterController<T> parameterController) {
+		this.parameterController = parameterController;
+		return this;
+	}
+
+	public LocalSearch<T> getLocalSearch() {
+		return localSearch;
+	}
+
+	/**
+	 * Sets the local search which improves copies of the best chromosomes concurrently with breeding.
+	 * Improved chromosomes replace the worst non-elite chromosomes after the next replacement.
+	 * Local search is only used in single objective generational evolution.
+	 * If decoding is parallel, searches call the decoder on their own threads while children are decoded,
+	 * so the decoder must be thread safe, otherwise searches run on the optimizer thread before breeding.
+	 * 
+	 * @param localSearch local search or null to disable it.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setLocalSearch(LocalSearch<T> localSearch) {
+		this.localSearch = localSearch;
+		return this;
+	}
+
+	public float getLocalSearchShare() {
+		return localSearchShare;
+	}
+
+	/**
+	 * Sets the share of numOfThreads which is given to the local search, at least one thread is used.
+	 * Local search threads are not taken from the decoding executor, so the share is the CPU share they compete for.
+	 * 
+	 * @param localSearchShare share in (0, 1].
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setLocalSearchShare(float localSearchShare) {
+		this.localSearchShare = localSearchShare;
+		return this;
+	}
+
+	public int getLocalSearchBudget() {
+		return localSearchBudget;
+	}
+
+	/**
+	 * Sets number of evaluations the local search may use in each generation.
+	 * 
+	 * @param localSearchBudget number of evaluations shared by the searched chromosomes.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setLocalSearchBudget(int localSearchBudget) {
+		this.localSearchBudget = localSearchBudget;
+		return this;
+	}
+
+	public int getNumOfLocalSearchChromosomes() {
+		return numOfLocalSearchChromosomes;
+	}
+
+	/**
+	 * Sets number of best chromosomes whose copies are searched in each generation.
+	 * 
+	 * @param numOfLocalSearchChromosomes number of chromosomes, each one gets an equal share of the budget.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setNumOfLocalSearchChromosomes(int numOfLocalSearchChromosomes) {
+		this.numOfLocalSearchChromosomes = numOfLocalSearchChromosomes;
+		return this;
+	}
+
+	public SurrogateModel<T> getSurrogateModel() {
+		return surrogateModel;
+	}
+
+	/**
+	 * Sets the surrogate model which screens children before they are decoded.
+	 * Quality of a chromosome is the distance of its fitness from the worst fitness of the initial population,
+	 * so getDistance of the solution cost must be larger for better costs.
+	 * Surrogate screening is only used in single objective generational evolution.
+	 * 
+	 * @param surrogateModel surrogate model or null to decode all children.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setSurrogateModel(SurrogateModel<T> surrogateModel) {
+		this.surrogateModel = surrogateModel;
+		return this;
+	}
+
+	public float getSurrogateScreeningRatio() {
+		return surrogateScreeningRatio;
+	}
+
+	/**
+	 * Sets the share of the children which are decoded once the surrogate model is trained.
+	 * Rank correlation reported by the metrics can be used to tune it.
+	 * 
+	 * @param surrogateScreeningRatio share in (0, 1], best predicted children are decoded.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setSurrogateScreeningRatio(float surrogateScreeningRatio) {
+		this.surrogateScreeningRatio = surrogateScreeningRatio;
+		return this;
+	}
+
+	public int getMinNumOfSurrogateSamples() {
+		return minNumOfSurrogateSamples;
+	}
+
+	/**
+	 * Sets number of decoded chromosomes the surrogate model must be trained with before it screens children.
+	 * Initial population is a part of the training samples.
+	 * 
+	 * @param minNumOfSurrogateSamples number of training samples.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setMinNumOfSurrogateSamples(int minNumOfSurrogateSamples) {
+		this.minNumOfSurrogateSamples = minNumOfSurrogateSamples;
+		return this;
+	}
+
+	public boolean isMultiObjective() {
+		return multiObjective;
+	}
+
+	/**
+	 * Enables NSGA-II replacement for fitness values implementing MultiObjectiveCost.
+	 * Population is kept in crowded comparison order, CrowdedTournamentSelector is the matching selector.
+	 * Elite chromosomes are not used since the replacement keeps the non-dominated chromosomes.
+	 * Steady state mode and injected chromosomes use the scalar ordering of doesPerformBetterThan.
+	 * 
+	 * @param multiObjective true to use non-dominated sorting.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setMultiObjective(boolean multiObjective) {
+		this.multiObjective = multiObjective;
+		return this;
+	}
+
+	public int getParallelDominanceThreshold() {
+		return parallelDominanceThreshold;
+	}
+
+	/**
+	 * Sets minimum front size to check dominance of a chromosome against the front in parallel.
+	 * 
+	 * @param parallelDominanceThreshold minimum front size, zero disables parallel dominance checks.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setParallelDominanceThreshold(int parallelDominanceThreshold) {
+		this.parallelDominanceThreshold = parallelDominanceThreshold;
+		return this;
+	}
+
+	public int getNumOfBreedingThreads() {
+		return numOfBreedingThreads;
+	}
+
+	/**
+	 * Sets number of worker threads which generate crossover and mutation children in parallel.
+	 * One generates children on the optimizer thread.
+	 * 
+	 * @param numOfBreedingThreads number of breeding worker threads.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setNumOfBreedingThreads(int numOfBreedingThreads) {
+		this.numOfBreedingThreads = numOfBreedingThreads;
+		return this;
+	}
+
+	public int getNumOfThreads() {
+		return numOfThreads;
+	}
+
+	/**
+	 * Sets size of the thread pool which is created by the optimizer if no executor service is provided.
+	 * 
+	 * @param numOfThreads number of threads, defaults to the number of available processors.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setNumOfThreads(int numOfThreads) {
+		this.numOfThreads = numOfThreads;
+		return this;
+	}
+
+	public boolean isUseVirtualThreads() {
+		return useVirtualThreads;
+	}
+
+	/**
+	 * Makes the optimizer run each task on a new virtual thread if no executor service is provided.
+	 * Falls back to a fixed thread pool on JVMs without virtual threads.
+	 * 
+	 * @param useVirtualThreads true to use virtual threads.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setUseVirtualThreads(boolean useVirtualThreads) {
+		this.useVirtualThreads = useVirtualThreads;
+		return this;
+	}
+
+	public int getDecodeChunkSize() {
+		return decodeChunkSize;
+	}
+
+	/**
+	 * Sets number of chromosomes that are decoded in a single executor task.
+	 * 
+	 * @param decodeChunkSize number of chromosomes per task.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setDecodeChunkSize(int decodeChunkSize) {
+		this.decodeChunkSize = decodeChunkSize;
+		return this;
+	}
+
+	public boolean isSteadyState() {
+		return steadyState;
+	}
+
+	/**
+	 * Enables asynchronous steady state evolution without a generational barrier.
+	 * Decoding always runs on the executor and iterations are counted in evaluations in this mode.
+	 * 
+	 * @param steadyState true to enable steady state evolution.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setSteadyState(boolean steadyState) {
+		this.steadyState = steadyState;
+		return this;
+	}
+
+	public int getNumOfConcurrentEvaluations() {
+		return numOfConcurrentEvaluations;
+	}
+
+	/**
+	 * Sets number of decodes kept in flight in steady state mode.
+	 * 
+	 * @param numOfConcurrentEvaluations number of concurrent decodes, zero uses numOfThreads.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setNumOfConcurrentEvaluations(int numOfConcurrentEvaluations) {
+		this.numOfConcurrentEvaluations = numOfConcurrentEvaluations;
+		return this;
+	}
+
+	public ExecutorService getExecutorService() {
+		return externalExecutorService;
+	}
+
+	/**
+	 * Sets executor service which is used for decoding and breeding tasks.
+	 * Provided executor service can be shared across runs and optimizers, it is not shut down by the optimizer.
+	 * 
+	 * @param executorService executor service or null to let the optimizer create its own thread pool at each run.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setExecutorService(ExecutorService executorService) {
+		this.externalExecutorService = executorService;
+		return this;
+	}
+
+	public Long getRandomSeed() {
+		return randomSeed;
+	}
+
+	/**
+	 * Sets seed of the master random number stream which operator streams are derived from.
+	 * 
+	 * @param randomSeed master seed or null for a different stream at each run.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setRandomSeed(Long randomSeed) {
+		this.randomSeed = randomSeed;
+		return this;
+	}
+
 	public GeneticIterationListener<T> getGeneticIterationListener() {
 		return geneticIterationListener;
 	}
@@ -516,4 +2291,187 @@ System.out.println("gen-" + nanoGenTot / this.maxNumOfIterations +
 		this.geneticIterationListener = geneticIterationListener;
 		return this;
 	}
+
+	public Collection<Chromosome<T>> getInitialSeeds() {
+		return initialSeeds;
+	}
+
+	/**
+	 * Sets known good chromosomes which are placed in the initial population, the rest of the population is generated by the chromosome factory.
+	 * Seeds are copied and decoded again, so they are not modified and they may be taken from the runs of a different problem instance.
+	 * 
+	 * @param initialSeeds seed chromosomes or null.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setInitialSeeds(Collection<Chromosome<T>> initialSeeds) {
+		this.initialSeeds = initialSeeds;
+		return this;
+	}
+
+	public int getNumOfSeedVariants() {
+		return numOfSeedVariants;
+	}
+
+	/**
+	 * Sets number of mutated variants of each seed which are placed in the initial population.
+	 * 
+	 * @param numOfSeedVariants number of variants per seed.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setNumOfSeedVariants(int numOfSeedVariants) {
+		this.numOfSeedVariants = numOfSeedVariants;
+		return this;
+	}
+
+	public float getSeedMutationRate() {
+		return seedMutationRate;
+	}
+
+	/**
+	 * Sets mutation rate used to generate seed variants.
+	 * 
+	 * @param seedMutationRate mutation rate, zero uses the mutation rate of the optimizer.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setSeedMutationRate(float seedMutationRate) {
+		this.seedMutationRate = seedMutationRate;
+		return this;
+	}
+
+	public CheckpointCodec<T> getCheckpointCodec() {
+		return checkpointCodec;
+	}
+
+	/**
+	 * Sets the codec which encodes genes and fitness values in checkpoint files, checkpointing is disabled if it is null.
+	 * 
+	 * @param checkpointCodec codec of the chromosomes.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setCheckpointCodec(CheckpointCodec<T> checkpointCodec) {
+		this.checkpointCodec = checkpointCodec;
+		return this;
+	}
+
+	public Path getCheckpointPath() {
+		return checkpointPath;
+	}
+
+	public GeneticOptimizer<T, O> setCheckpointPath(Path checkpointPath) {
+		this.checkpointPath = checkpointPath;
+		return this;
+	}
+
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	/**
+	 * Sets number of iterations between two checkpoints, checkpoint is also written at the end of the run.
+	 * Iterations are evaluations in steady state mode.
+	 * 
+	 * @param checkpointInterval number of iterations, zero writes the checkpoint only at the end of the run.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setCheckpointInterval(int checkpointInterval) {
+		this.checkpointInterval = checkpointInterval;
+		return this;
+	}
+
+	public boolean isResumeFromCheckpoint() {
+		return resumeFromCheckpoint;
+	}
+
+	/**
+	 * Makes the optimizer start from the population of the checkpoint file if it exists.
+	 * Run continues from the iteration of the checkpoint up to maxNumOfIterations.
+	 * 
+	 * @param resumeFromCheckpoint true to resume.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setResumeFromCheckpoint(boolean resumeFromCheckpoint) {
+		this.resumeFromCheckpoint = resumeFromCheckpoint;
+		return this;
+	}
+
+	public long getFitnessVersion() {
+		return fitnessVersion;
+	}
+
+	/**
+	 * Sets version of the fitness function which is stored in checkpoints.
+	 * It must be changed whenever the decoder or the problem data changes, so stored fitness values are not reused on resume.
+	 * 
+	 * @param fitnessVersion version of the fitness function.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setFitnessVersion(long fitnessVersion) {
+		this.fitnessVersion = fitnessVersion;
+		return this;
+	}
+
+	/**
+	 * Gives metrics of the current or the last run, it can be registered to the platform MBean server by registerMBean.
+	 * 
+	 * @return metrics instance of the optimizer.
+	 */
+	public GeneticMetrics getMetrics() {
+		return metrics;
+	}
+
+	public GeneticMetricsListener getMetricsListener() {
+		return metricsListener;
+	}
+
+	public GeneticOptimizer<T, O> setMetricsListener(GeneticMetricsListener metricsListener) {
+		this.metricsListener = metricsListener;
+		return this;
+	}
+
+	public DiversityMonitor getDiversityMonitor() {
+		return diversityMonitor;
+	}
+
+	/**
+	 * Sets the monitor which tracks the allele counts of the population,
+	 * its entropy and mean Hamming distance to the best chromosome are published to the metrics each iteration.
+	 * 
+	 * @param diversityMonitor monitor or null to disable diversity tracking.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setDiversityMonitor(DiversityMonitor diversityMonitor) {
+		this.diversityMonitor = diversityMonitor;
+		return this;
+	}
+
+	public double getMinPopulationEntropy() {
+		return minPopulationEntropy;
+	}
+
+	/**
+	 * Sets the entropy below which the population is considered converged and the optimization stops, it requires a diversity monitor.
+	 * 
+	 * @param minPopulationEntropy normalized entropy in [0, 1], zero disables the criterion.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setMinPopulationEntropy(double minPopulationEntropy) {
+		this.minPopulationEntropy = minPopulationEntropy;
+		return this;
+	}
+
+	public int getMetricsReportInterval() {
+		return metricsReportInterval;
+	}
+
+	/**
+	 * Sets number of iterations between two calls of the metrics listener.
+	 * Iterations are evaluations in steady state mode.
+	 * 
+	 * @param metricsReportInterval number of iterations, zero disables the listener.
+	 * @return this optimizer.
+	 */
+	public GeneticOptimizer<T, O> setMetricsReportInterval(int metricsReportInterval) {
+		this.metricsReportInterval = metricsReportInterval;
+		return this;
+	}
 }
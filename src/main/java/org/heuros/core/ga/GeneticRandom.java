@@ -0,0 +1,45 @@
+package org.heuros.core.ga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Per thread random number streams used by the genetic operators.
+ * Each thread has its own SplittableRandom instance, so operators running on different threads do not contend on a shared seed.
+ * Genetic optimizer assigns streams derived from its master seed to the threads that run the operators.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class GeneticRandom {
+
+	private static ThreadLocal<SplittableRandom> streams = new ThreadLocal<SplittableRandom>() {
+		@Override
+		protected SplittableRandom initialValue() {
+			return new SplittableRandom();
+		}
+	};
+
+	private GeneticRandom() {
+	}
+
+	/**
+	 * Gives the random number stream of the current thread.
+	 * 
+	 * @return SplittableRandom instance of the current thread.
+	 */
+	public static SplittableRandom current() {
+		return streams.get();
+	}
+
+	/**
+	 * Sets the random number stream of the current thread.
+	 * 
+	 * @param stream new stream of the current thread.
+	 * @return previous stream of the current thread.
+	 */
+	public static SplittableRandom set(SplittableRandom stream) {
+		SplittableRandom res = streams.get();
+		streams.set(stream);
+		return res;
+	}
+}
@@ -0,0 +1,34 @@
+package org.heuros.core.ga;
+
+/**
+ * Solution cost which consists of multiple objectives, all objectives are minimized.
+ * Used by the non-dominated sorting replacement, doesPerformBetterThan is still used to track the best solution of a run.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public interface MultiObjectiveCost extends ISolutionCost {
+
+	public int getNumOfObjectives();
+
+	public double getObjective(int index);
+
+	/**
+	 * Checks Pareto dominance.
+	 * 
+	 * @param c other cost.
+	 * @return true if this cost is not worse in any objective and is better in at least one objective.
+	 */
+	public default boolean dominates(MultiObjectiveCost c) {
+		boolean better = false;
+		for (int i = 0; i < getNumOfObjectives(); i++) {
+			double o1 = getObjective(i);
+			double o2 = c.getObjective(i);
+			if (o1 > o2)
+				return false;
+			if (o1 < o2)
+				better = true;
+		}
+		return better;
+	}
+}
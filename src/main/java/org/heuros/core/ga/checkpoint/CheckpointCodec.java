@@ -0,0 +1,34 @@
+package org.heuros.core.ga.checkpoint;
+
+import java.nio.ByteBuffer;
+
+import org.heuros.core.ga.ISolutionCost;
+
+/**
+ * Binary encoding of genes and fitness values in checkpoint files.
+ * Genes and fitness values have fixed sizes, so records of a checkpoint can be laid out before they are written.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public interface CheckpointCodec<T> {
+
+	/**
+	 * @return number of bytes written for a single gene.
+	 */
+	public int getGeneSize();
+
+	public void writeGene(ByteBuffer buffer, T gene);
+
+	public T readGene(ByteBuffer buffer);
+
+	/**
+	 * @return number of bytes written for a fitness value.
+	 */
+	public int getFitnessSize();
+
+	public void writeFitness(ByteBuffer buffer, ISolutionCost fitness);
+
+	public ISolutionCost readFitness(ByteBuffer buffer);
+}
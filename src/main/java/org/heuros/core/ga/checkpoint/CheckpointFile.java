@@ -0,0 +1,190 @@
+package org.heuros.core.ga.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.IntChromosome;
+
+/**
+ * Reads and writes population checkpoints through memory mapped files.
+ * 
+ * File starts with a fixed size header which is followed by the record of the best chromosome and the records of the population.
+ * Each record has the chromosome length, a fitness flag, the fitness value and the genes.
+ * Checkpoint is written to a temporary file which replaces the previous checkpoint once it is complete,
+ * so a run killed while writing leaves the previous checkpoint intact.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class CheckpointFile<T> {
+
+	private static final int MAGIC = 0x48474143;
+	private static final int FORMAT_VERSION = 1;
+
+	/*
+	 * magic, format version, iteration, fitness version, number of records, gene size, fitness size, checksum.
+	 */
+	private static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 4 + 4 + 4 + 8;
+	private static final int CHECKSUM_OFFSET = HEADER_SIZE - 8;
+
+	private CheckpointCodec<T> codec = null;
+
+	public CheckpointFile(CheckpointCodec<T> codec) {
+		this.codec = codec;
+	}
+
+	private long recordSize(Chromosome<T> chromosome) {
+		return 4l + 1l + codec.getFitnessSize() + (long) chromosome.getChromosomeLength() * codec.getGeneSize();
+	}
+
+	/**
+	 * Writes the checkpoint, previous checkpoint at the path is replaced.
+	 * 
+	 * @param path checkpoint file.
+	 * @param checkpoint population state, best chromosome must not be null.
+	 * @throws IOException if the file can not be written.
+	 */
+	public void write(Path path, PopulationCheckpoint<T> checkpoint) throws IOException {
+		Chromosome<T>[] population = checkpoint.getPopulation();
+
+		long size = HEADER_SIZE + this.recordSize(checkpoint.getBest());
+		for (int i = 0; i < checkpoint.getPopulationSize(); i++)
+			size += this.recordSize(population[i]);
+		if (size > Integer.MAX_VALUE)
+			throw new IOException("Checkpoint of " + size + " bytes exceeds the maximum mapped file size.");
+
+		Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+		try (FileChannel channel = FileChannel.open(tempPath,
+													StandardOpenOption.CREATE,
+													StandardOpenOption.TRUNCATE_EXISTING,
+													StandardOpenOption.READ,
+													StandardOpenOption.WRITE)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+			buffer.position(HEADER_SIZE);
+			this.writeRecord(buffer, checkpoint.getBest());
+			for (int i = 0; i < checkpoint.getPopulationSize(); i++)
+				this.writeRecord(buffer, population[i]);
+
+			buffer.position(0);
+			buffer.putInt(MAGIC);
+			buffer.putInt(FORMAT_VERSION);
+			buffer.putInt(checkpoint.getIteration());
+			buffer.putLong(checkpoint.getFitnessVersion());
+			buffer.putInt(checkpoint.getPopulationSize());
+			buffer.putInt(codec.getGeneSize());
+			buffer.putInt(codec.getFitnessSize());
+			buffer.putLong(checksum(buffer, (int) size));
+
+			buffer.force();
+		}
+
+		Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void writeRecord(ByteBuffer buffer, Chromosome<T> chromosome) {
+		int length = chromosome.getChromosomeLength();
+		buffer.putInt(length);
+
+		int fitnessEnd = buffer.position() + 1 + codec.getFitnessSize();
+		if (chromosome.getFitness() != null) {
+			buffer.put((byte) 1);
+			codec.writeFitness(buffer, chromosome.getFitness());
+		} else
+			buffer.put((byte) 0);
+		buffer.position(fitnessEnd);
+
+		if ((chromosome instanceof IntChromosome) && (codec instanceof IntCheckpointCodec)) {
+			IntChromosome c = (IntChromosome) chromosome;
+			for (int i = 0; i < length; i++)
+				buffer.putInt(c.getInt(i));
+		} else {
+			for (int i = 0; i < length; i++)
+				codec.writeGene(buffer, chromosome.getGeneValue(i));
+		}
+	}
+
+	/**
+	 * Reads a checkpoint, chromosomes are created as clones of the prototype and their genes are overwritten.
+	 * 
+	 * @param path checkpoint file.
+	 * @param prototype chromosome of the same type and length with the stored chromosomes.
+	 * @return population state, population array has exactly the stored chromosomes.
+	 * @throws IOException if the file can not be read, it is corrupt or it does not match the codec or the prototype.
+	 * @throws CloneNotSupportedException if the prototype can not be cloned.
+	 */
+	@SuppressWarnings("unchecked")
+	public PopulationCheckpoint<T> read(Path path, Chromosome<T> prototype) throws IOException, CloneNotSupportedException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if ((size < HEADER_SIZE) || (size > Integer.MAX_VALUE))
+				throw new IOException("Invalid checkpoint file size " + size + ": " + path);
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+			if ((buffer.getInt() != MAGIC) || (buffer.getInt() != FORMAT_VERSION))
+				throw new IOException("Not a checkpoint file: " + path);
+			int iteration = buffer.getInt();
+			long fitnessVersion = buffer.getLong();
+			int populationSize = buffer.getInt();
+			if ((buffer.getInt() != codec.getGeneSize()) || (buffer.getInt() != codec.getFitnessSize()))
+				throw new IOException("Checkpoint does not match the codec: " + path);
+			if (buffer.getLong() != checksum(buffer, (int) size))
+				throw new IOException("Checkpoint checksum mismatch: " + path);
+
+			buffer.position(HEADER_SIZE);
+			Chromosome<T> best = this.readRecord(buffer, prototype);
+			Chromosome<T>[] population = new Chromosome[populationSize];
+			for (int i = 0; i < populationSize; i++)
+				population[i] = this.readRecord(buffer, prototype);
+
+			return new PopulationCheckpoint<T>(iteration, fitnessVersion, best, population, populationSize);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Chromosome<T> readRecord(ByteBuffer buffer, Chromosome<T> prototype) throws IOException, CloneNotSupportedException {
+		int length = buffer.getInt();
+		if (length != prototype.getChromosomeLength())
+			throw new IOException("Stored chromosome length " + length + " does not match " + prototype.getChromosomeLength());
+
+		Chromosome<T> chromosome = (Chromosome<T>) prototype.clone();
+
+		boolean hasFitness = (buffer.get() != 0);
+		int fitnessEnd = buffer.position() + codec.getFitnessSize();
+		ISolutionCost fitness = (hasFitness ? codec.readFitness(buffer) : null);
+		buffer.position(fitnessEnd);
+
+		if ((chromosome instanceof IntChromosome) && (codec instanceof IntCheckpointCodec)) {
+			IntChromosome c = (IntChromosome) chromosome;
+			for (int i = 0; i < length; i++)
+				c.setInt(i, buffer.getInt());
+		} else {
+			for (int i = 0; i < length; i++)
+				chromosome.setGeneValue(i, codec.readGene(buffer));
+		}
+		chromosome.setFitness(fitness);
+		chromosome.setInfo(null);
+		return chromosome;
+	}
+
+	private static long checksum(ByteBuffer buffer, int size) {
+		ByteBuffer body = buffer.duplicate();
+		body.limit(size);
+		body.position(HEADER_SIZE);
+		CRC32 crc = new CRC32();
+		crc.update(body);
+		return crc.getValue();
+	}
+}
@@ -0,0 +1,28 @@
+package org.heuros.core.ga.checkpoint;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Checkpoint codec of int genes, genes of IntChromosome instances are written without boxing.
+ * Subclasses encode the fitness values of the problem.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public abstract class IntCheckpointCodec implements CheckpointCodec<Integer> {
+
+	@Override
+	public int getGeneSize() {
+		return 4;
+	}
+
+	@Override
+	public void writeGene(ByteBuffer buffer, Integer gene) {
+		buffer.putInt(gene);
+	}
+
+	@Override
+	public Integer readGene(ByteBuffer buffer) {
+		return buffer.getInt();
+	}
+}
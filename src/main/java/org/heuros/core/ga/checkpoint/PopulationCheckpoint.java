@@ -0,0 +1,53 @@
+package org.heuros.core.ga.checkpoint;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Population state stored in a checkpoint file.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class PopulationCheckpoint<T> {
+
+	private int iteration = 0;
+	private long fitnessVersion = 0l;
+	private Chromosome<T> best = null;
+	private Chromosome<T>[] population = null;
+	private int populationSize = 0;
+
+	public PopulationCheckpoint(int iteration, long fitnessVersion, Chromosome<T> best, Chromosome<T>[] population, int populationSize) {
+		this.iteration = iteration;
+		this.fitnessVersion = fitnessVersion;
+		this.best = best;
+		this.population = population;
+		this.populationSize = populationSize;
+	}
+
+	/**
+	 * @return number of completed iterations when the checkpoint is taken.
+	 */
+	public int getIteration() {
+		return iteration;
+	}
+
+	/**
+	 * @return version of the fitness function the stored fitness values are calculated with.
+	 */
+	public long getFitnessVersion() {
+		return fitnessVersion;
+	}
+
+	public Chromosome<T> getBest() {
+		return best;
+	}
+
+	public Chromosome<T>[] getPopulation() {
+		return population;
+	}
+
+	public int getPopulationSize() {
+		return populationSize;
+	}
+}
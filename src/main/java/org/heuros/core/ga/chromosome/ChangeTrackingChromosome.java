@@ -0,0 +1,19 @@
+package org.heuros.core.ga.chromosome;
+
+/**
+ * Chromosome which records the genes changed after it is cloned from a parent.
+ * Clones of a decoded chromosome start a new change log relative to it,
+ * clones of a chromosome that is not decoded yet inherit its change log.
+ * Change log is dropped once the fitness of the chromosome is set.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public interface ChangeTrackingChromosome<T> extends Chromosome<T> {
+
+	/**
+	 * @return change log relative to the decoded ancestor or null if changes are not tracked.
+	 */
+	public GeneChangeLog getGeneChangeLog();
+}
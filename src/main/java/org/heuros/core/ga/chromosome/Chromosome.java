@@ -35,5 +35,18 @@ public interface Chromosome<T> extends Cloneable {
     public T getGeneValue(int index);
     public void setGeneValue(int index, T value);
 
+    /**
+     * 64 bit fingerprint of the gene values which is used for duplicate checks.
+     * Chromosomes with equal genes must have equal fingerprints.
+     * Implementations are supposed to update it incrementally in setGeneValue and keep it through clone,
+     * IntArrayChromosome and PackedChromosome do so and other implementations can extend FingerprintedChromosome.
+     * Default implementation calculates it from scratch on each call, in O(length).
+     * 
+     * @return fingerprint of the genes.
+     */
+    public default long getFingerprint() {
+        return GeneFingerprint.of(this);
+    }
+
     public Object clone() throws CloneNotSupportedException;
 }
@@ -0,0 +1,114 @@
+package org.heuros.core.ga.chromosome;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of discarded chromosomes which are reused instead of allocating new ones by clone.
+ * Only RecyclableChromosome instances are pooled.
+ *
+ * Genetic operators get copies of their parents through copyOf which uses the pool of the current thread if there is any.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class ChromosomePool<T> {
+
+	private static ThreadLocal<ChromosomePool<?>> currentPool = new ThreadLocal<ChromosomePool<?>>();
+
+	private Chromosome<T>[] chromosomes = null;
+	private int size = 0;
+
+	private LongAdder numOfReuses = new LongAdder();
+	private LongAdder numOfClones = new LongAdder();
+
+	@SuppressWarnings("unchecked")
+	public ChromosomePool(int capacity) {
+		this.chromosomes = new Chromosome[capacity];
+	}
+
+	/**
+	 * Returns a discarded chromosome to the pool. Chromosome must not be referenced by the caller anymore.
+	 *
+	 * @param chromosome discarded chromosome.
+	 */
+	public void release(Chromosome<T> chromosome) {
+		if (!(chromosome instanceof RecyclableChromosome))
+			return;
+		synchronized (this) {
+			if (size < chromosomes.length) {
+				chromosomes[size] = chromosome;
+				size++;
+			}
+		}
+	}
+
+	private synchronized Chromosome<T> poll() {
+		if (size == 0)
+			return null;
+		size--;
+		Chromosome<T> res = chromosomes[size];
+		chromosomes[size] = null;
+		return res;
+	}
+
+	/**
+	 * Gives a copy of the source chromosome, recycles a pooled chromosome if possible.
+	 *
+	 * @param source chromosome to be copied.
+	 * @return copy of the source.
+	 * @throws CloneNotSupportedException if a new copy is needed and source does not support clone.
+	 */
+	@SuppressWarnings("unchecked")
+	public Chromosome<T> obtainCopy(Chromosome<T> source) throws CloneNotSupportedException {
+		if (source instanceof RecyclableChromosome) {
+			Chromosome<T> res = this.poll();
+			if (res != null) {
+				((RecyclableChromosome<T>) res).copyFrom(source);
+				numOfReuses.increment();
+				return res;
+			}
+		}
+		numOfClones.increment();
+		return (Chromosome<T>) source.clone();
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public long getNumOfReuses() {
+		return numOfReuses.sum();
+	}
+
+	public long getNumOfClones() {
+		return numOfClones.sum();
+	}
+
+	/**
+	 * Sets the pool used by copyOf calls of the current thread.
+	 *
+	 * @param pool pool of the current thread or null to clone chromosomes.
+	 * @return previous pool of the current thread.
+	 */
+	public static ChromosomePool<?> setCurrent(ChromosomePool<?> pool) {
+		ChromosomePool<?> res = currentPool.get();
+		currentPool.set(pool);
+		return res;
+	}
+
+	/**
+	 * Gives a copy of the source chromosome using the pool of the current thread, clones it if there is no pool.
+	 *
+	 * @param source chromosome to be copied.
+	 * @return copy of the source.
+	 * @throws CloneNotSupportedException if a new copy is needed and source does not support clone.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Chromosome<T> copyOf(Chromosome<T> source) throws CloneNotSupportedException {
+		ChromosomePool<?> pool = currentPool.get();
+		if (pool != null)
+			return ((ChromosomePool<T>) pool).obtainCopy(source);
+		return (Chromosome<T>) source.clone();
+	}
+}
@@ -0,0 +1,130 @@
+package org.heuros.core.ga.chromosome;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash index of chromosomes keyed by their fingerprints.
+ * Used for duplicate checks, isEqual is only called for chromosomes with equal fingerprints.
+ *
+ * Fingerprint of a chromosome must not change while it is in the index.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class FingerprintIndex<T> {
+
+	private long[] keys = null;
+	private Chromosome<T>[] values = null;
+	private int mask = 0;
+	private int size = 0;
+
+	public FingerprintIndex(int expectedSize) {
+		this.allocate(expectedSize);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void allocate(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+		this.keys = new long[capacity];
+		this.values = new Chromosome[capacity];
+		this.mask = capacity - 1;
+		this.size = 0;
+	}
+
+	private int slot(long fingerprint) {
+		return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+	}
+
+	/**
+	 * Checks if there is a chromosome in the index which has the same genes with the candidate.
+	 *
+	 * @param cand candidate chromosome.
+	 * @return true if an equal chromosome exists.
+	 */
+	public boolean containsEqual(Chromosome<T> cand) {
+		long fingerprint = cand.getFingerprint();
+		int i = slot(fingerprint);
+		while (values[i] != null) {
+			if ((keys[i] == fingerprint)
+					&& ((values[i] == cand) || values[i].isEqual(cand)))
+				return true;
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	public void add(Chromosome<T> chromosome) {
+		if ((size + 1) * 2 > values.length)
+			this.grow();
+		long fingerprint = chromosome.getFingerprint();
+		int i = slot(fingerprint);
+		while (values[i] != null)
+			i = (i + 1) & mask;
+		keys[i] = fingerprint;
+		values[i] = chromosome;
+		size++;
+	}
+
+	/**
+	 * Removes the chromosome instance from the index.
+	 *
+	 * @param chromosome chromosome instance to be removed.
+	 * @return true if the instance was in the index.
+	 */
+	public boolean remove(Chromosome<T> chromosome) {
+		long fingerprint = chromosome.getFingerprint();
+		int i = slot(fingerprint);
+		while (values[i] != chromosome) {
+			if (values[i] == null)
+				return false;
+			i = (i + 1) & mask;
+		}
+
+		/*
+		 * Backward shift deletion keeps probe sequences intact without tombstones.
+		 *
+		 */
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (values[j] == null)
+				break;
+			int k = slot(keys[j]);
+			if ((j > i) ? ((k <= i) || (k > j)) : ((k <= i) && (k > j))) {
+				keys[i] = keys[j];
+				values[i] = values[j];
+				i = j;
+			}
+		}
+		keys[i] = 0l;
+		values[i] = null;
+		size--;
+		return true;
+	}
+
+	public void clear() {
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		Chromosome<T>[] oldValues = values;
+		this.allocate(oldValues.length);
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				int j = slot(oldKeys[i]);
+				while (values[j] != null)
+					j = (j + 1) & mask;
+				keys[j] = oldKeys[i];
+				values[j] = oldValues[i];
+				size++;
+			}
+		}
+	}
+}
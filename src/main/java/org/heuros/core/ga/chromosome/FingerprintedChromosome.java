@@ -0,0 +1,44 @@
+package org.heuros.core.ga.chromosome;
+
+/**
+ * Base class of chromosomes which keep their fingerprint incrementally instead of calculating it on each getFingerprint call.
+ * Implementations call geneChanged from setGeneValue and resetFingerprint after their genes are replaced in bulk,
+ * the fingerprint is kept through clone since it is copied by Object.clone.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public abstract class FingerprintedChromosome<T> implements Chromosome<T> {
+
+	private long fingerprint = 0l;
+
+	/**
+	 * Reflects change of a single gene to the fingerprint, calling it with equal values leaves the fingerprint unchanged.
+	 *
+	 * @param index index of the gene.
+	 * @param oldValue value of the gene before the change.
+	 * @param newValue value of the gene after the change.
+	 */
+	protected void geneChanged(int index, T oldValue, T newValue) {
+		this.fingerprint ^= GeneFingerprint.of(index, oldValue == null ? 0 : oldValue.hashCode())
+							^ GeneFingerprint.of(index, newValue == null ? 0 : newValue.hashCode());
+	}
+
+	/**
+	 * Calculates the fingerprint from scratch, it is called after initializeChromosome or any bulk change of the genes.
+	 */
+	protected void resetFingerprint() {
+		this.fingerprint = GeneFingerprint.of(this);
+	}
+
+	@Override
+	public long getFingerprint() {
+		return this.fingerprint;
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		return super.clone();
+	}
+}
@@ -0,0 +1,95 @@
+package org.heuros.core.ga.chromosome;
+
+import java.util.Arrays;
+
+import org.heuros.core.ga.ISolutionCost;
+
+/**
+ * Indices and previous values of the genes which are changed relative to a decoded parent chromosome.
+ * Recording stops once the number of changes exceeds the limit, then the log is marked as overflown
+ * and the chromosome has to be decoded from scratch.
+ *
+ * Same index may be recorded more than once, its first record holds the gene value of the parent.
+ *
+ * @author bahadrzeren
+ *
+ */
+public class GeneChangeLog {
+
+	private ISolutionCost parentFitness = null;
+	private int maxNumOfChanges = 0;
+	private int[] changedIndices = null;
+	private int[] previousValues = null;
+	private int numOfChanges = 0;
+	private boolean overflown = false;
+
+	public GeneChangeLog(ISolutionCost parentFitness, int maxNumOfChanges) {
+		this.parentFitness = parentFitness;
+		this.maxNumOfChanges = maxNumOfChanges;
+	}
+
+	/**
+	 * Records a gene change.
+	 *
+	 * @param index index of the changed gene.
+	 * @param previousValue int value of the gene before the change.
+	 */
+	public void record(int index, int previousValue) {
+		if (overflown)
+			return;
+		if (numOfChanges >= maxNumOfChanges) {
+			overflown = true;
+			changedIndices = null;
+			previousValues = null;
+			return;
+		}
+		if (changedIndices == null) {
+			changedIndices = new int[Math.min(8, maxNumOfChanges)];
+			previousValues = new int[changedIndices.length];
+		} else
+			if (numOfChanges == changedIndices.length) {
+				changedIndices = Arrays.copyOf(changedIndices, Math.min(2 * numOfChanges, maxNumOfChanges));
+				previousValues = Arrays.copyOf(previousValues, changedIndices.length);
+			}
+		changedIndices[numOfChanges] = index;
+		previousValues[numOfChanges] = previousValue;
+		numOfChanges++;
+	}
+
+	public GeneChangeLog copy() {
+		GeneChangeLog res = new GeneChangeLog(parentFitness, maxNumOfChanges);
+		res.numOfChanges = numOfChanges;
+		res.overflown = overflown;
+		if (changedIndices != null) {
+			res.changedIndices = changedIndices.clone();
+			res.previousValues = previousValues.clone();
+		}
+		return res;
+	}
+
+	public ISolutionCost getParentFitness() {
+		return parentFitness;
+	}
+
+	/**
+	 * @return changed gene indices, only the first getNumOfChanges() elements are valid.
+	 */
+	public int[] getChangedIndices() {
+		return changedIndices;
+	}
+
+	/**
+	 * @return gene values before the changes, only the first getNumOfChanges() elements are valid.
+	 */
+	public int[] getPreviousValues() {
+		return previousValues;
+	}
+
+	public int getNumOfChanges() {
+		return numOfChanges;
+	}
+
+	public boolean isOverflown() {
+		return overflown;
+	}
+}
@@ -0,0 +1,58 @@
+package org.heuros.core.ga.chromosome;
+
+/**
+ * Calculates 64 bit chromosome fingerprints.
+ * Fingerprint of a chromosome is the XOR of hashes of its (index, gene) pairs,
+ * so changing a single gene can be reflected by XORing out the old pair and XORing in the new one.
+ *
+ * @author bahadrzeren
+ *
+ */
+public class GeneFingerprint {
+
+	private GeneFingerprint() {
+	}
+
+	/**
+	 * Hash of a single (index, gene) pair.
+	 *
+	 * @param index index of the gene.
+	 * @param geneHash hash code of the gene value.
+	 * @return 64 bit hash of the pair.
+	 */
+	public static long of(int index, int geneHash) {
+		long z = (((long) index) << 32) ^ (geneHash & 0xffffffffL);
+		z += 0x9e3779b97f4a7c15L;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Calculates fingerprint of the chromosome from scratch.
+	 *
+	 * @param chromosome chromosome to be fingerprinted.
+	 * @return fingerprint of the genes.
+	 */
+	public static <T> long of(Chromosome<T> chromosome) {
+		long res = 0l;
+		for (int i = 0; i < chromosome.getChromosomeLength(); i++) {
+			T value = chromosome.getGeneValue(i);
+			res ^= of(i, value == null ? 0 : value.hashCode());
+		}
+		return res;
+	}
+
+	/**
+	 * Calculates fingerprint of an int gene array from scratch.
+	 *
+	 * @param genes gene array.
+	 * @return fingerprint of the genes.
+	 */
+	public static long of(int[] genes) {
+		long res = 0l;
+		for (int i = 0; i < genes.length; i++)
+			res ^= of(i, genes[i]);
+		return res;
+	}
+}
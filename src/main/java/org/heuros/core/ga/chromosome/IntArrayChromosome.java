@@ -0,0 +1,190 @@
+package org.heuros.core.ga.chromosome;
+
+import java.util.Arrays;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.control.SelfAdaptiveChromosome;
+
+/**
+ * IntChromosome implementation which keeps its genes in an int array.
+ * Tracks changed genes of its clones if maxNumOfTrackedChanges is set.
+ * Carries its own mutation rate for self-adaptive mutation.
+ *
+ * @author bahadrzeren
+ *
+ */
+public class IntArrayChromosome implements IntChromosome, ChangeTrackingChromosome<Integer>, RecyclableChromosome<Integer>, SelfAdaptiveChromosome<Integer> {
+
+	private int[] genes = null;
+	private long fingerprint = 0l;
+	private ISolutionCost fitness = null;
+	private String info = null;
+	private float mutationRate = 0.0f;
+
+	private int maxNumOfTrackedChanges = 0;
+	private GeneChangeLog changeLog = null;
+
+	@Override
+	public void initializeChromosome(int length, Integer setSize) {
+		this.genes = new int[length];
+		this.fingerprint = GeneFingerprint.of(this.genes);
+	}
+
+	@Override
+	public boolean isEqual(Chromosome<Integer> cand) {
+		if (cand instanceof IntArrayChromosome)
+			return (this.fingerprint == ((IntArrayChromosome) cand).fingerprint)
+					&& Arrays.equals(this.genes, ((IntArrayChromosome) cand).genes);
+		if (cand.getChromosomeLength() != this.genes.length)
+			return false;
+		if (cand instanceof IntChromosome) {
+			IntChromosome c = (IntChromosome) cand;
+			for (int i = 0; i < this.genes.length; i++)
+				if (this.genes[i] != c.getInt(i))
+					return false;
+		} else {
+			for (int i = 0; i < this.genes.length; i++)
+				if (this.genes[i] != cand.getGeneValue(i).intValue())
+					return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void setFitness(ISolutionCost value) {
+		this.fitness = value;
+		this.changeLog = null;
+	}
+
+	@Override
+	public ISolutionCost getFitness() {
+		return this.fitness;
+	}
+
+	@Override
+	public String getInfo() {
+		return this.info;
+	}
+
+	@Override
+	public void setInfo(String value) {
+		this.info = value;
+	}
+
+	@Override
+	public int getChromosomeLength() {
+		return this.genes.length;
+	}
+
+	@Override
+	public Integer getGeneValue(int index) {
+		return this.genes[index];
+	}
+
+	@Override
+	public void setGeneValue(int index, Integer value) {
+		this.setInt(index, value);
+	}
+
+	@Override
+	public int getInt(int index) {
+		return this.genes[index];
+	}
+
+	@Override
+	public void setInt(int index, int value) {
+		int oldValue = this.genes[index];
+		if (oldValue != value) {
+			this.fingerprint ^= GeneFingerprint.of(index, oldValue) ^ GeneFingerprint.of(index, value);
+			this.genes[index] = value;
+			if (this.changeLog != null)
+				this.changeLog.record(index, oldValue);
+		}
+	}
+
+	@Override
+	public void copyRange(IntChromosome source, int from, int to) {
+		for (int i = from; i < to; i++)
+			this.setInt(i, source.getInt(i));
+	}
+
+	@Override
+	public long getFingerprint() {
+		return this.fingerprint;
+	}
+
+	@Override
+	public GeneChangeLog getGeneChangeLog() {
+		return this.changeLog;
+	}
+
+	public int getMaxNumOfTrackedChanges() {
+		return maxNumOfTrackedChanges;
+	}
+
+	/**
+	 * Sets maximum number of gene changes recorded for clones of this chromosome, it is inherited by the clones.
+	 *
+	 * @param maxNumOfTrackedChanges maximum number of changes, zero disables change tracking.
+	 * @return this chromosome.
+	 */
+	public IntArrayChromosome setMaxNumOfTrackedChanges(int maxNumOfTrackedChanges) {
+		this.maxNumOfTrackedChanges = maxNumOfTrackedChanges;
+		return this;
+	}
+
+	@Override
+	public float getMutationRate() {
+		return this.mutationRate;
+	}
+
+	@Override
+	public void setMutationRate(float mutationRate) {
+		this.mutationRate = mutationRate;
+	}
+
+	@Override
+	public void copyFrom(Chromosome<Integer> source) {
+		if (source instanceof IntArrayChromosome) {
+			IntArrayChromosome s = (IntArrayChromosome) source;
+			if ((this.genes == null) || (this.genes.length != s.genes.length))
+				this.genes = new int[s.genes.length];
+			System.arraycopy(s.genes, 0, this.genes, 0, s.genes.length);
+			this.fingerprint = s.fingerprint;
+			this.maxNumOfTrackedChanges = s.maxNumOfTrackedChanges;
+			this.changeLog = null;
+			if (s.maxNumOfTrackedChanges > 0) {
+				if (s.changeLog != null)
+					this.changeLog = s.changeLog.copy();
+				else
+					if (s.fitness != null)
+						this.changeLog = new GeneChangeLog(s.fitness, s.maxNumOfTrackedChanges);
+			}
+		} else {
+			if ((this.genes == null) || (this.genes.length != source.getChromosomeLength()))
+				this.genes = new int[source.getChromosomeLength()];
+			for (int i = 0; i < this.genes.length; i++)
+				this.genes[i] = source.getGeneValue(i);
+			this.fingerprint = GeneFingerprint.of(this.genes);
+			this.changeLog = null;
+		}
+		this.fitness = source.getFitness();
+		this.info = source.getInfo();
+		this.mutationRate = (source instanceof SelfAdaptiveChromosome ? ((SelfAdaptiveChromosome<Integer>) source).getMutationRate() : 0.0f);
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		IntArrayChromosome res = (IntArrayChromosome) super.clone();
+		res.genes = this.genes.clone();
+		res.changeLog = null;
+		if (this.maxNumOfTrackedChanges > 0) {
+			if (this.changeLog != null)
+				res.changeLog = this.changeLog.copy();
+			else
+				if (this.fitness != null)
+					res.changeLog = new GeneChangeLog(this.fitness, this.maxNumOfTrackedChanges);
+		}
+		return res;
+	}
+}
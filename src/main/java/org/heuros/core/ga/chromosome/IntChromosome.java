@@ -0,0 +1,23 @@
+package org.heuros.core.ga.chromosome;
+
+/**
+ * Chromosome interface for integer genes which are kept in a primitive int array.
+ * Operators use getInt/setInt/copyRange methods to avoid boxing of the generic gene accessors.
+ *
+ * @author bahadrzeren
+ *
+ */
+public interface IntChromosome extends Chromosome<Integer> {
+
+    public int getInt(int index);
+    public void setInt(int index, int value);
+
+    /**
+     * Copies genes of the source chromosome to the same positions of this chromosome.
+     *
+     * @param source Chromosome whose genes are copied.
+     * @param from inclusive start index of the range.
+     * @param to exclusive end index of the range.
+     */
+    public void copyRange(IntChromosome source, int from, int to);
+}
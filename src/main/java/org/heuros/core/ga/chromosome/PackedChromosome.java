@@ -0,0 +1,262 @@
+package org.heuros.core.ga.chromosome;
+
+import java.util.Arrays;
+
+import org.heuros.core.ga.ISolutionCost;
+
+/**
+ * IntChromosome implementation which packs its genes into a long array with 1, 2, 4 or 8 bits per gene.
+ * Gene i is kept in the bits [(i % genesPerWord) * bitsPerGene, (i % genesPerWord + 1) * bitsPerGene) of word i / genesPerWord,
+ * unused bits of the last word are always zero.
+ *
+ * Fingerprints are calculated per (index, gene) pair as in IntArrayChromosome, word level updates XOR only the changed genes.
+ *
+ * @author bahadrzeren
+ *
+ */
+public class PackedChromosome implements IntChromosome, RecyclableChromosome<Integer> {
+
+	private int bitsPerGene = 0;
+	private int genesPerWordShift = 0;
+	private long geneMask = 0l;
+
+	private int length = 0;
+	private long[] words = null;
+	private long fingerprint = 0l;
+	private ISolutionCost fitness = null;
+	private String info = null;
+
+	/**
+	 * Creates a chromosome whose bits per gene is derived from the set size given to initializeChromosome.
+	 */
+	public PackedChromosome() {
+	}
+
+	/**
+	 * Creates a chromosome with a fixed number of bits per gene.
+	 *
+	 * @param bitsPerGene 1, 2, 4 or 8.
+	 */
+	public PackedChromosome(int bitsPerGene) {
+		this.setBitsPerGene(bitsPerGene);
+	}
+
+	private void setBitsPerGene(int bitsPerGene) {
+		if ((bitsPerGene != 1) && (bitsPerGene != 2) && (bitsPerGene != 4) && (bitsPerGene != 8))
+			throw new IllegalArgumentException("Bits per gene must be 1, 2, 4 or 8, it is " + bitsPerGene + ".");
+		this.bitsPerGene = bitsPerGene;
+		this.genesPerWordShift = Integer.numberOfTrailingZeros(64 / bitsPerGene);
+		this.geneMask = (1l << bitsPerGene) - 1l;
+	}
+
+	/**
+	 * Gives the minimum number of bits per gene which can represent gene values [0, setSize).
+	 *
+	 * @param setSize number of distinct gene values.
+	 * @return 1, 2, 4 or 8.
+	 */
+	public static int bitsPerGeneOf(int setSize) {
+		if (setSize <= 2)
+			return 1;
+		if (setSize <= 4)
+			return 2;
+		if (setSize <= 16)
+			return 4;
+		if (setSize <= 256)
+			return 8;
+		throw new IllegalArgumentException("Set size " + setSize + " can not be packed into 8 bits.");
+	}
+
+	@Override
+	public void initializeChromosome(int length, Integer setSize) {
+		if (this.bitsPerGene == 0)
+			this.setBitsPerGene(bitsPerGeneOf(setSize));
+		this.length = length;
+		this.words = new long[((length - 1) >>> genesPerWordShift) + 1];
+		this.fingerprint = GeneFingerprint.of(new int[length]);
+	}
+
+	public int getBitsPerGene() {
+		return bitsPerGene;
+	}
+
+	public int getNumOfWords() {
+		return words.length;
+	}
+
+	/**
+	 * Gives a packed word of genes.
+	 *
+	 * @param wordIndex index of the word.
+	 * @return genes [wordIndex * genesPerWord, (wordIndex + 1) * genesPerWord) packed from the least significant bits.
+	 */
+	public long getWord(int wordIndex) {
+		return words[wordIndex];
+	}
+
+	/**
+	 * Sets a packed word of genes and updates the fingerprint for the changed genes.
+	 * Bits beyond the chromosome length must be zero.
+	 *
+	 * @param wordIndex index of the word.
+	 * @param value packed genes.
+	 */
+	public void setWord(int wordIndex, long value) {
+		long diff = words[wordIndex] ^ value;
+		if (diff != 0l) {
+			this.updateFingerprint(wordIndex, words[wordIndex], value, diff);
+			words[wordIndex] = value;
+		}
+	}
+
+	/**
+	 * XORs the old and new (index, gene) hashes of the genes which differ in the word into the fingerprint.
+	 */
+	private void updateFingerprint(int wordIndex, long oldWord, long newWord, long diff) {
+		int firstGene = wordIndex << genesPerWordShift;
+		while (diff != 0l) {
+			int shift = (Long.numberOfTrailingZeros(diff) / bitsPerGene) * bitsPerGene;
+			int index = firstGene + shift / bitsPerGene;
+			this.fingerprint ^= GeneFingerprint.of(index, (int) ((oldWord >>> shift) & geneMask))
+								^ GeneFingerprint.of(index, (int) ((newWord >>> shift) & geneMask));
+			diff &= ~(geneMask << shift);
+		}
+	}
+
+	@Override
+	public boolean isEqual(Chromosome<Integer> cand) {
+		if ((cand instanceof PackedChromosome) && (((PackedChromosome) cand).bitsPerGene == this.bitsPerGene))
+			return (this.fingerprint == ((PackedChromosome) cand).fingerprint)
+					&& (this.length == ((PackedChromosome) cand).length)
+					&& Arrays.equals(this.words, ((PackedChromosome) cand).words);
+		if (cand.getChromosomeLength() != this.length)
+			return false;
+		if (cand instanceof IntChromosome) {
+			IntChromosome c = (IntChromosome) cand;
+			for (int i = 0; i < this.length; i++)
+				if (this.getInt(i) != c.getInt(i))
+					return false;
+		} else {
+			for (int i = 0; i < this.length; i++)
+				if (this.getInt(i) != cand.getGeneValue(i).intValue())
+					return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void setFitness(ISolutionCost value) {
+		this.fitness = value;
+	}
+
+	@Override
+	public ISolutionCost getFitness() {
+		return this.fitness;
+	}
+
+	@Override
+	public String getInfo() {
+		return this.info;
+	}
+
+	@Override
+	public void setInfo(String value) {
+		this.info = value;
+	}
+
+	@Override
+	public int getChromosomeLength() {
+		return this.length;
+	}
+
+	@Override
+	public Integer getGeneValue(int index) {
+		return this.getInt(index);
+	}
+
+	@Override
+	public void setGeneValue(int index, Integer value) {
+		this.setInt(index, value);
+	}
+
+	@Override
+	public int getInt(int index) {
+		int shift = (index & ((1 << genesPerWordShift) - 1)) * bitsPerGene;
+		return (int) ((words[index >>> genesPerWordShift] >>> shift) & geneMask);
+	}
+
+	@Override
+	public void setInt(int index, int value) {
+		if ((value & ~geneMask) != 0l)
+			throw new IllegalArgumentException("Gene value " + value + " does not fit into " + bitsPerGene + " bits.");
+		int wordIndex = index >>> genesPerWordShift;
+		int shift = (index & ((1 << genesPerWordShift) - 1)) * bitsPerGene;
+		long word = words[wordIndex];
+		int oldValue = (int) ((word >>> shift) & geneMask);
+		if (oldValue != value) {
+			this.fingerprint ^= GeneFingerprint.of(index, oldValue) ^ GeneFingerprint.of(index, value);
+			words[wordIndex] = (word & ~(geneMask << shift)) | (((long) value) << shift);
+		}
+	}
+
+	/**
+	 * Copies genes word by word if the source is packed with the same number of bits per gene.
+	 */
+	@Override
+	public void copyRange(IntChromosome source, int from, int to) {
+		if (from >= to)
+			return;
+		if (!(source instanceof PackedChromosome) || (((PackedChromosome) source).bitsPerGene != this.bitsPerGene)) {
+			for (int i = from; i < to; i++)
+				this.setInt(i, source.getInt(i));
+			return;
+		}
+
+		long[] sourceWords = ((PackedChromosome) source).words;
+		int genesPerWordMask = (1 << genesPerWordShift) - 1;
+		int firstWord = from >>> genesPerWordShift;
+		int lastWord = (to - 1) >>> genesPerWordShift;
+		for (int w = firstWord; w <= lastWord; w++) {
+			long mask = -1l;
+			if (w == firstWord)
+				mask &= -1l << ((from & genesPerWordMask) * bitsPerGene);
+			if ((w == lastWord) && (((to & genesPerWordMask) != 0)))
+				mask &= -1l >>> (64 - (to & genesPerWordMask) * bitsPerGene);
+			this.setWord(w, (words[w] & ~mask) | (sourceWords[w] & mask));
+		}
+	}
+
+	@Override
+	public long getFingerprint() {
+		return this.fingerprint;
+	}
+
+	@Override
+	public void copyFrom(Chromosome<Integer> source) {
+		if (source instanceof PackedChromosome) {
+			PackedChromosome s = (PackedChromosome) source;
+			if (this.bitsPerGene != s.bitsPerGene)
+				this.setBitsPerGene(s.bitsPerGene);
+			if ((this.words == null) || (this.words.length != s.words.length))
+				this.words = new long[s.words.length];
+			System.arraycopy(s.words, 0, this.words, 0, s.words.length);
+			this.length = s.length;
+			this.fingerprint = s.fingerprint;
+		} else {
+			if (this.bitsPerGene == 0)
+				throw new IllegalStateException("Bits per gene is not set.");
+			this.initializeChromosome(source.getChromosomeLength(), null);
+			for (int i = 0; i < this.length; i++)
+				this.setInt(i, source.getGeneValue(i));
+		}
+		this.fitness = source.getFitness();
+		this.info = source.getInfo();
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		PackedChromosome res = (PackedChromosome) super.clone();
+		res.words = this.words.clone();
+		return res;
+	}
+}
@@ -0,0 +1,18 @@
+package org.heuros.core.ga.chromosome;
+
+/**
+ * Chromosome which can be recycled by overwriting its state with the state of another chromosome.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public interface RecyclableChromosome<T> extends Chromosome<T> {
+
+	/**
+	 * Makes this chromosome a copy of the source chromosome, the result must be the same as source.clone().
+	 *
+	 * @param source chromosome to be copied.
+	 */
+	public void copyFrom(Chromosome<T> source);
+}
@@ -0,0 +1,95 @@
+package org.heuros.core.ga.control;
+
+/**
+ * Outcome of a generation which is used to adapt the parameters of the optimizer.
+ * Single instance is reused by the optimizer for all generations.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class GenerationStatistics {
+
+	private int iteration = 0;
+	private boolean improved = false;
+	private int numOfIterationsWOProgress = 0;
+	private int numOfChildren = 0;
+	private int numOfSuccessfulChildren = 0;
+	private int numOfMutations = 0;
+	private int numOfSuccessfulMutations = 0;
+
+	public void reset(int iteration) {
+		this.iteration = iteration;
+		this.improved = false;
+		this.numOfIterationsWOProgress = 0;
+		this.numOfChildren = 0;
+		this.numOfSuccessfulChildren = 0;
+		this.numOfMutations = 0;
+		this.numOfSuccessfulMutations = 0;
+	}
+
+	/**
+	 * Records a child which is offered to the population.
+	 * 
+	 * @param successful true if the child is better than the worst chromosome of the population.
+	 */
+	public void recordChild(boolean successful) {
+		numOfChildren++;
+		if (successful)
+			numOfSuccessfulChildren++;
+	}
+
+	/**
+	 * Records a mutant.
+	 * 
+	 * @param successful true if the mutant is better than the chromosome it is mutated from.
+	 */
+	public void recordMutation(boolean successful) {
+		numOfMutations++;
+		if (successful)
+			numOfSuccessfulMutations++;
+	}
+
+	public void recordProgress(boolean improved, int numOfIterationsWOProgress) {
+		this.improved = improved;
+		this.numOfIterationsWOProgress = numOfIterationsWOProgress;
+	}
+
+	public int getIteration() {
+		return iteration;
+	}
+
+	/**
+	 * @return true if the best chromosome is improved in the generation.
+	 */
+	public boolean isImproved() {
+		return improved;
+	}
+
+	public int getNumOfIterationsWOProgress() {
+		return numOfIterationsWOProgress;
+	}
+
+	public int getNumOfChildren() {
+		return numOfChildren;
+	}
+
+	public int getNumOfSuccessfulChildren() {
+		return numOfSuccessfulChildren;
+	}
+
+	public int getNumOfMutations() {
+		return numOfMutations;
+	}
+
+	public int getNumOfSuccessfulMutations() {
+		return numOfSuccessfulMutations;
+	}
+
+	public double getChildSuccessRatio() {
+		return (numOfChildren > 0 ? (double) numOfSuccessfulChildren / numOfChildren : 0.0);
+	}
+
+	public double getMutationSuccessRatio() {
+		return (numOfMutations > 0 ? (double) numOfSuccessfulMutations / numOfMutations : 0.0);
+	}
+}
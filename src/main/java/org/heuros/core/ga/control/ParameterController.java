@@ -0,0 +1,55 @@
+package org.heuros.core.ga.control;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Adapts mutation rate and number of children of the optimizer during a run.
+ * Mutation rate methods are called concurrently by the breeding threads.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public interface ParameterController<T> {
+
+	/**
+	 * Called at the start of each run with the configured parameters of the optimizer.
+	 * 
+	 * @param mutationRate initial mutation rate.
+	 * @param numOfChildren initial number of children per generation.
+	 */
+	public void start(float mutationRate, int numOfChildren);
+
+	/**
+	 * @return upper bound of the number of children, used to size the children array.
+	 */
+	public int getMaxNumOfChildren();
+
+	/**
+	 * @return number of children to be generated in the next generation.
+	 */
+	public int getNumOfChildren();
+
+	/**
+	 * Gives the mutation rate to mutate a chromosome with.
+	 * 
+	 * @param chromosome chromosome to be mutated.
+	 * @return mutation rate.
+	 */
+	public float getMutationRate(Chromosome<T> chromosome);
+
+	/**
+	 * Called after a mutant is generated.
+	 * 
+	 * @param mutant new chromosome.
+	 * @param mutationRate rate the mutant is generated with.
+	 */
+	public void onMutation(Chromosome<T> mutant, float mutationRate);
+
+	/**
+	 * Adapts parameters after a generation is completed.
+	 * 
+	 * @param statistics outcome of the generation.
+	 */
+	public void update(GenerationStatistics statistics);
+}
@@ -0,0 +1,20 @@
+package org.heuros.core.ga.control;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Chromosome which carries its own mutation rate, the rate is inherited by the clones.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public interface SelfAdaptiveChromosome<T> extends Chromosome<T> {
+
+	/**
+	 * @return mutation rate of the chromosome, zero if it is not set.
+	 */
+	public float getMutationRate();
+
+	public void setMutationRate(float mutationRate);
+}
@@ -0,0 +1,65 @@
+package org.heuros.core.ga.control;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Self-adaptive mutation rates carried by the chromosomes.
+ * 
+ * Each mutant gets the rate of its source chromosome perturbed log-normally, rate * exp(learningRate * N(0, 1)),
+ * and it is mutated with that rate, so rates which produce surviving mutants spread in the population.
+ * Crossover children inherit the rate of the parent they are cloned from.
+ * Chromosomes which do not implement SelfAdaptiveChromosome use the success rule rate,
+ * number of children is adapted by the success rule.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class SelfAdaptiveMutationController<T> extends SuccessRuleController<T> {
+
+	private double learningRate = 0.2;
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public float getMutationRate(Chromosome<T> chromosome) {
+		if (!(chromosome instanceof SelfAdaptiveChromosome))
+			return super.getMutationRate(chromosome);
+
+		float rate = ((SelfAdaptiveChromosome<T>) chromosome).getMutationRate();
+		if (rate <= 0.0f)
+			rate = super.getMutationRate(chromosome);
+
+		SplittableRandom random = GeneticRandom.current();
+		/*
+		 * Box-Muller transform, SplittableRandom does not provide gaussian values.
+		 */
+		double gaussian = Math.sqrt(-2.0 * Math.log(1.0 - random.nextDouble())) * Math.cos(2.0 * Math.PI * random.nextDouble());
+
+		return this.clampMutationRate((float) (rate * Math.exp(learningRate * gaussian)));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void onMutation(Chromosome<T> mutant, float mutationRate) {
+		if (mutant instanceof SelfAdaptiveChromosome)
+			((SelfAdaptiveChromosome<T>) mutant).setMutationRate(mutationRate);
+	}
+
+	public double getLearningRate() {
+		return learningRate;
+	}
+
+	/**
+	 * Sets standard deviation of the log-normal perturbation of the rates.
+	 * 
+	 * @param learningRate learning rate.
+	 * @return this controller.
+	 */
+	public SelfAdaptiveMutationController<T> setLearningRate(double learningRate) {
+		this.learningRate = learningRate;
+		return this;
+	}
+}
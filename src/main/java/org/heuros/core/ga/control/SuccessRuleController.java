@@ -0,0 +1,153 @@
+package org.heuros.core.ga.control;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Success rule parameter control.
+ * 
+ * Mutation rate is increased if more than targetSuccessRatio of the mutants are better than the chromosomes
+ * they are mutated from and it is decreased otherwise, as in the one-fifth success rule.
+ * Number of children is increased if more than targetSuccessRatio of the children are better than the worst chromosome
+ * of the population, so evaluations are spent while children still enter the population, and it is decreased otherwise.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class SuccessRuleController<T> implements ParameterController<T> {
+
+	private double targetSuccessRatio = 0.2;
+	private double adaptationFactor = 0.85;
+
+	private float minMutationRate = 0.0001f;
+	private float maxMutationRate = 0.5f;
+	private int minNumOfChildren = 0;
+	private int maxNumOfChildren = 0;
+
+	private volatile float mutationRate = 0.0f;
+	private int numOfChildren = 0;
+	private int initialNumOfChildren = 0;
+
+	@Override
+	public void start(float mutationRate, int numOfChildren) {
+		this.mutationRate = mutationRate;
+		this.numOfChildren = numOfChildren;
+		this.initialNumOfChildren = numOfChildren;
+	}
+
+	@Override
+	public int getMaxNumOfChildren() {
+		return (maxNumOfChildren > 0 ? maxNumOfChildren : 2 * initialNumOfChildren);
+	}
+
+	private int getMinNumOfChildren() {
+		return (minNumOfChildren > 0 ? minNumOfChildren : Math.max(2, initialNumOfChildren / 2));
+	}
+
+	@Override
+	public int getNumOfChildren() {
+		return numOfChildren;
+	}
+
+	@Override
+	public float getMutationRate(Chromosome<T> chromosome) {
+		return mutationRate;
+	}
+
+	/**
+	 * @return current mutation rate of the population.
+	 */
+	public float getMutationRate() {
+		return mutationRate;
+	}
+
+	@Override
+	public void onMutation(Chromosome<T> mutant, float mutationRate) {
+	}
+
+	@Override
+	public void update(GenerationStatistics statistics) {
+		if (statistics.getNumOfMutations() > 0) {
+			if (statistics.getMutationSuccessRatio() > targetSuccessRatio)
+				mutationRate = this.clampMutationRate((float) (mutationRate / adaptationFactor));
+			else
+				mutationRate = this.clampMutationRate((float) (mutationRate * adaptationFactor));
+		}
+
+		if (statistics.getNumOfChildren() > 0) {
+			if (statistics.getChildSuccessRatio() > targetSuccessRatio)
+				numOfChildren = (int) Math.ceil(numOfChildren / adaptationFactor);
+			else
+				numOfChildren = (int) Math.floor(numOfChildren * adaptationFactor);
+			numOfChildren = Math.max(this.getMinNumOfChildren(), Math.min(this.getMaxNumOfChildren(), numOfChildren));
+		}
+	}
+
+	protected float clampMutationRate(float rate) {
+		return Math.max(minMutationRate, Math.min(maxMutationRate, rate));
+	}
+
+	public double getTargetSuccessRatio() {
+		return targetSuccessRatio;
+	}
+
+	public SuccessRuleController<T> setTargetSuccessRatio(double targetSuccessRatio) {
+		this.targetSuccessRatio = targetSuccessRatio;
+		return this;
+	}
+
+	public double getAdaptationFactor() {
+		return adaptationFactor;
+	}
+
+	/**
+	 * Sets the factor parameters are multiplied by on failure and divided by on success.
+	 * 
+	 * @param adaptationFactor factor in (0, 1).
+	 * @return this controller.
+	 */
+	public SuccessRuleController<T> setAdaptationFactor(double adaptationFactor) {
+		this.adaptationFactor = adaptationFactor;
+		return this;
+	}
+
+	public float getMinMutationRate() {
+		return minMutationRate;
+	}
+
+	public SuccessRuleController<T> setMinMutationRate(float minMutationRate) {
+		this.minMutationRate = minMutationRate;
+		return this;
+	}
+
+	public float getMaxMutationRate() {
+		return maxMutationRate;
+	}
+
+	public SuccessRuleController<T> setMaxMutationRate(float maxMutationRate) {
+		this.maxMutationRate = maxMutationRate;
+		return this;
+	}
+
+	/**
+	 * Sets lower bound of the number of children.
+	 * 
+	 * @param minNumOfChildren lower bound, zero uses half of the initial number of children.
+	 * @return this controller.
+	 */
+	public SuccessRuleController<T> setMinNumOfChildren(int minNumOfChildren) {
+		this.minNumOfChildren = minNumOfChildren;
+		return this;
+	}
+
+	/**
+	 * Sets upper bound of the number of children.
+	 * 
+	 * @param maxNumOfChildren upper bound, zero uses twice the initial number of children.
+	 * @return this controller.
+	 */
+	public SuccessRuleController<T> setMaxNumOfChildren(int maxNumOfChildren) {
+		this.maxNumOfChildren = maxNumOfChildren;
+		return this;
+	}
+}
@@ -0,0 +1,51 @@
+package org.heuros.core.ga.crossover;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.IntChromosome;
+
+/**
+ * Two point crossover implementation for chromosomes that are backed by primitive int arrays.
+ * Falls back to TwoPointCrossover if parents do not implement IntChromosome.
+ * 
+ * @author bahadrzeren
+ * 
+ */
+public class IntTwoPointCrossover extends TwoPointCrossover<Integer> {
+
+	@Override
+    public int crossover(Chromosome<Integer> population[],
+                            int startingChildIndex,
+                            Chromosome<Integer> mother,
+                            Chromosome<Integer> father,
+                            ISolutionCost worstFitness) throws CloneNotSupportedException {
+        if (!(mother instanceof IntChromosome) || !(father instanceof IntChromosome))
+            return super.crossover(population, startingChildIndex, mother, father, worstFitness);
+
+        IntChromosome m = (IntChromosome) mother;
+        IntChromosome f = (IntChromosome) father;
+
+        int res = startingChildIndex;
+
+        SplittableRandom random = GeneticRandom.current();
+
+        IntChromosome child1 = (IntChromosome) ChromosomePool.copyOf(m);
+        IntChromosome child2 = (IntChromosome) ChromosomePool.copyOf(f);
+
+        int crossoverPosition1 = (int) Math.floor(random.nextDouble() * m.getChromosomeLength());
+        int crossoverPosition2 = (int) Math.floor(random.nextDouble() * (m.getChromosomeLength() - crossoverPosition1)) + crossoverPosition1;
+
+        child1.copyRange(f, crossoverPosition1, crossoverPosition2);
+        child2.copyRange(m, crossoverPosition1, crossoverPosition2);
+
+        population[res] = child1;
+        res++;
+        population[res] = child2;
+        res++;
+        return res;
+    }
+}
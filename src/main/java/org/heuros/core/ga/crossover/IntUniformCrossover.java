@@ -0,0 +1,56 @@
+package org.heuros.core.ga.crossover;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.IntChromosome;
+
+/**
+ * Uniform crossover implementation for chromosomes that are backed by primitive int arrays.
+ * Falls back to UniformCrossover if parents do not implement IntChromosome.
+ * 
+ * @author bahadrzeren
+ * 
+ */
+public class IntUniformCrossover extends UniformCrossover<Integer> {
+
+	@Override
+    public int crossover(Chromosome<Integer> population[],
+                            int startingChildIndex,
+                            Chromosome<Integer> mother,
+                            Chromosome<Integer> father,
+                            ISolutionCost worstFitness) throws CloneNotSupportedException {
+        if (!(mother instanceof IntChromosome) || !(father instanceof IntChromosome))
+            return super.crossover(population, startingChildIndex, mother, father, worstFitness);
+
+        IntChromosome m = (IntChromosome) mother;
+        IntChromosome f = (IntChromosome) father;
+
+        int res = startingChildIndex;
+
+        SplittableRandom random = GeneticRandom.current();
+
+        IntChromosome childM = (IntChromosome) ChromosomePool.copyOf(m);
+        IntChromosome childF = (IntChromosome) ChromosomePool.copyOf(f);
+
+        double motherQuality = Math.abs(m.getFitness().getDistance(worstFitness));
+		double fatherQuality = Math.abs(f.getFitness().getDistance(worstFitness));
+		double ratio = motherQuality / (motherQuality + fatherQuality);
+
+        for (int i = 0; i < m.getChromosomeLength(); i++) {
+            if (random.nextDouble() > ratio) {
+                childM.setInt(i, f.getInt(i));
+                childF.setInt(i, m.getInt(i));
+            }
+        }
+
+        population[res] = childM;
+        res++;
+        population[res] = childF;
+        res++;
+        return res;
+    }
+}
@@ -1,8 +1,10 @@
 package org.heuros.core.ga.crossover;
 
+import org.heuros.core.ga.GeneticRandom;
 import org.heuros.core.ga.ISolutionCost;
 import org.heuros.core.ga.chromosome.Chromosome;
-import java.util.Random;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import java.util.SplittableRandom;
 
 /**
  * One point crossover implementation class.
@@ -12,9 +14,7 @@ import java.util.Random;
  * @param <T> Type of the class which is used to represent one single gene.
  */
 public class OnePointCrossover<T> implements Crossover<T> {
-	private static Random random = new Random();
 
-	@SuppressWarnings("unchecked")
 	@Override
     public int crossover(Chromosome<T> population[],
                             int startingChildIndex,
@@ -23,8 +23,10 @@ public class OnePointCrossover<T> implements Crossover<T> {
                             ISolutionCost worstFitness) throws CloneNotSupportedException {
         int res = startingChildIndex;
 
-        Chromosome<T> child1 = (Chromosome<T>) mother.clone();
-        Chromosome<T> child2 = (Chromosome<T>) father.clone();
+        SplittableRandom random = GeneticRandom.current();
+
+        Chromosome<T> child1 = ChromosomePool.copyOf(mother);
+        Chromosome<T> child2 = ChromosomePool.copyOf(father);
 
         int crossoverPosition = (int) Math.floor(random.nextDouble() * mother.getChromosomeLength());
 
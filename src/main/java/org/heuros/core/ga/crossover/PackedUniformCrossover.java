@@ -0,0 +1,102 @@
+package org.heuros.core.ga.crossover;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.PackedChromosome;
+
+/**
+ * Uniform crossover implementation for packed chromosomes which exchanges genes a word at a time.
+ * Genes to be exchanged are chosen by a random mask per word, each gene is taken from the other parent
+ * with probability 1 - ratio as in UniformCrossover, ratio is quantized to 1 / 256.
+ * Falls back to IntUniformCrossover if parents are not packed with the same number of bits per gene.
+ * 
+ * @author bahadrzeren
+ * 
+ */
+public class PackedUniformCrossover extends IntUniformCrossover {
+
+	private static final int PROBABILITY_BITS = 8;
+
+	@Override
+    public int crossover(Chromosome<Integer> population[],
+                            int startingChildIndex,
+                            Chromosome<Integer> mother,
+                            Chromosome<Integer> father,
+                            ISolutionCost worstFitness) throws CloneNotSupportedException {
+        if (!(mother instanceof PackedChromosome) || !(father instanceof PackedChromosome)
+                || (((PackedChromosome) mother).getBitsPerGene() != ((PackedChromosome) father).getBitsPerGene()))
+            return super.crossover(population, startingChildIndex, mother, father, worstFitness);
+
+        PackedChromosome m = (PackedChromosome) mother;
+        PackedChromosome f = (PackedChromosome) father;
+
+        int res = startingChildIndex;
+
+        SplittableRandom random = GeneticRandom.current();
+
+        PackedChromosome childM = (PackedChromosome) ChromosomePool.copyOf(m);
+        PackedChromosome childF = (PackedChromosome) ChromosomePool.copyOf(f);
+
+        double motherQuality = Math.abs(m.getFitness().getDistance(worstFitness));
+		double fatherQuality = Math.abs(f.getFitness().getDistance(worstFitness));
+		double ratio = motherQuality / (motherQuality + fatherQuality);
+
+		int exchangeProbability = (int) Math.round((1.0 - ratio) * (1 << PROBABILITY_BITS));
+
+		int bitsPerGene = m.getBitsPerGene();
+		long lowBits = lowBitsOfGenes(bitsPerGene);
+		long geneMask = (1l << bitsPerGene) - 1l;
+
+        for (int w = 0; w < m.getNumOfWords(); w++) {
+        	long mask = (bernoulliMask(random, exchangeProbability) & lowBits) * geneMask;
+        	if (mask != 0l) {
+        		long mw = m.getWord(w);
+        		long fw = f.getWord(w);
+        		childM.setWord(w, (mw & ~mask) | (fw & mask));
+        		childF.setWord(w, (fw & ~mask) | (mw & mask));
+        	}
+        }
+
+        population[res] = childM;
+        res++;
+        population[res] = childF;
+        res++;
+        return res;
+    }
+
+	/**
+	 * Gives a word with only the least significant bit of each gene set.
+	 */
+	private static long lowBitsOfGenes(int bitsPerGene) {
+		long res = 0l;
+		for (int shift = 0; shift < 64; shift += bitsPerGene)
+			res |= 1l << shift;
+		return res;
+	}
+
+	/**
+	 * Generates a random word whose bits are set independently with probability numerator / 256.
+	 * Binary digits of the probability are consumed from the least significant one,
+	 * a one digit ORs a new random word into the mask and a zero digit ANDs it.
+	 */
+	private static long bernoulliMask(SplittableRandom random, int numerator) {
+		if (numerator <= 0)
+			return 0l;
+		if (numerator >= (1 << PROBABILITY_BITS))
+			return -1l;
+		int digits = numerator >>> Integer.numberOfTrailingZeros(numerator);
+		long res = random.nextLong();
+		for (int i = Integer.numberOfTrailingZeros(numerator) + 1; i < PROBABILITY_BITS; i++) {
+			digits >>>= 1;
+			if ((digits & 1) != 0)
+				res |= random.nextLong();
+			else
+				res &= random.nextLong();
+		}
+		return res;
+	}
+}
@@ -1,9 +1,11 @@
 package org.heuros.core.ga.crossover;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
+import org.heuros.core.ga.GeneticRandom;
 import org.heuros.core.ga.ISolutionCost;
 import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
 
 /**
  * Two point crossover implementation class.
@@ -13,9 +15,7 @@ import org.heuros.core.ga.chromosome.Chromosome;
  * @param <T> Type of the class which is used to represent one single gene.
  */
 public class TwoPointCrossover<T> implements Crossover<T> {
-	private static Random random = new Random();
 
-	@SuppressWarnings("unchecked")
 	@Override
     public int crossover(Chromosome<T> population[],
                             int startingChildIndex,
@@ -24,8 +24,10 @@ public class TwoPointCrossover<T> implements Crossover<T> {
                             ISolutionCost worstFitness) throws CloneNotSupportedException {
         int res = startingChildIndex;
 
-        Chromosome<T> child1 = (Chromosome<T>) mother.clone();
-        Chromosome<T> child2 = (Chromosome<T>) father.clone();
+        SplittableRandom random = GeneticRandom.current();
+
+        Chromosome<T> child1 = ChromosomePool.copyOf(mother);
+        Chromosome<T> child2 = ChromosomePool.copyOf(father);
 
         int crossoverPosition1 = (int) Math.floor(random.nextDouble() * mother.getChromosomeLength());
         int crossoverPosition2 = (int) Math.floor(random.nextDouble() * (mother.getChromosomeLength() - crossoverPosition1)) + crossoverPosition1;
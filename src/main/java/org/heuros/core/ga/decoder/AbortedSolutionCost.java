@@ -0,0 +1,45 @@
+package org.heuros.core.ga.decoder;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Sentinel fitness of the chromosomes whose decoding is aborted by a BoundedDecoder.
+ * It does not perform better than any cost. Aborted chromosomes are discarded before replacement,
+ * so the sentinel is never compared by the selectors, replacers or crossover operators.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public final class AbortedSolutionCost implements ISolutionCost {
+
+	public static final AbortedSolutionCost INSTANCE = new AbortedSolutionCost();
+
+	private AbortedSolutionCost() {
+	}
+
+	/**
+	 * Checks if decoding of the chromosome is aborted.
+	 * 
+	 * @param chromosome decoded chromosome.
+	 * @return true if fitness of the chromosome is the sentinel.
+	 */
+	public static boolean isAborted(Chromosome<?> chromosome) {
+		return chromosome.getFitness() == INSTANCE;
+	}
+
+	@Override
+	public boolean doesPerformBetterThan(ISolutionCost c) {
+		return false;
+	}
+
+	@Override
+	public double getDistance(ISolutionCost worst) {
+		return 0.0;
+	}
+
+	@Override
+	public String toString() {
+		return "aborted";
+	}
+}
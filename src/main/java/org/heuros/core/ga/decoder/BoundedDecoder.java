@@ -0,0 +1,35 @@
+package org.heuros.core.ga.decoder;
+
+import java.util.List;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Decoder which can stop decoding a chromosome as soon as its partial cost proves that it can not perform better than a bound.
+ * Optimizer passes fitness of the worst chromosome of the population as the bound, so aborted chromosomes can not survive.
+ * Fitness of an aborted chromosome is set to AbortedSolutionCost.INSTANCE and its output is not generated.
+ * 
+ * Bound is not passed in multi-objective mode since survival does not depend on a single worst fitness.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output instances.
+ */
+public interface BoundedDecoder<T, O> extends Decoder<T, O> {
+
+	/**
+	 * Decodes the chromosome, decoding may be aborted if the chromosome can not perform better than the bound.
+	 * 
+	 * @param chromosome chromosome to be decoded.
+	 * @param bound fitness the chromosome must perform better than to survive or null if there is no bound.
+	 * @return decoded output or null if decoding is aborted.
+	 */
+	public List<O> decode(Chromosome<T> chromosome, ISolutionCost bound);
+
+	@Override
+	public default List<O> decode(Chromosome<T> chromosome) {
+		return this.decode(chromosome, null);
+	}
+}
@@ -0,0 +1,154 @@
+package org.heuros.core.ga.decoder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Decoder decorator which memoizes fitness values of the decoded chromosomes in a size bounded LRU cache.
+ * Chromosomes are keyed by their fingerprints and compared with isEqual.
+ *
+ * On a cache hit wrapped decoder is not called, fitness and info of the chromosome are set from the cache and null is returned
+ * since decoder outputs are not cached. ISolutionCost instances are shared between equal chromosomes, so they must be immutable.
+ * Bound is passed if the wrapped decoder is a BoundedDecoder, aborted decodes are not cached since their fitness is not known.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output instances.
+ */
+public class CachingDecoder<T, O> implements BoundedDecoder<T, O> {
+
+	private Decoder<T, O> decoder = null;
+	private int maxSize = 0;
+
+	private LongAdder numOfHits = new LongAdder();
+	private LongAdder numOfMisses = new LongAdder();
+	private LongAdder numOfEvictions = new LongAdder();
+
+	private Map<Key<T>, CachedFitness> cache = null;
+
+	public CachingDecoder(Decoder<T, O> decoder, int maxSize) {
+		this.decoder = decoder;
+		this.maxSize = maxSize;
+		this.cache = new LinkedHashMap<Key<T>, CachedFitness>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key<T>, CachedFitness> eldest) {
+				if (size() > CachingDecoder.this.maxSize) {
+					numOfEvictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public List<O> decode(Chromosome<T> chromosome, ISolutionCost bound) {
+		Key<T> key = new Key<T>(chromosome);
+		CachedFitness entry = null;
+		synchronized (cache) {
+			entry = cache.get(key);
+		}
+
+		if (entry != null) {
+			numOfHits.increment();
+			chromosome.setFitness(entry.fitness);
+			chromosome.setInfo(entry.info);
+			return null;
+		}
+
+		numOfMisses.increment();
+		List<O> res = null;
+		if ((bound != null) && (decoder instanceof BoundedDecoder)) {
+			res = ((BoundedDecoder<T, O>) decoder).decode(chromosome, bound);
+			if (AbortedSolutionCost.isAborted(chromosome))
+				return res;
+		} else
+			res = decoder.decode(chromosome);
+
+		try {
+			key = new Key<T>((Chromosome<T>) chromosome.clone());
+		} catch (CloneNotSupportedException e) {
+			return res;
+		}
+		entry = new CachedFitness(chromosome.getFitness(), chromosome.getInfo());
+		synchronized (cache) {
+			cache.put(key, entry);
+		}
+		return res;
+	}
+
+	public Decoder<T, O> getDecoder() {
+		return decoder;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	public long getNumOfHits() {
+		return numOfHits.sum();
+	}
+
+	public long getNumOfMisses() {
+		return numOfMisses.sum();
+	}
+
+	public long getNumOfEvictions() {
+		return numOfEvictions.sum();
+	}
+
+	private static class Key<T> {
+		private Chromosome<T> chromosome = null;
+		private long fingerprint = 0l;
+
+		private Key(Chromosome<T> chromosome) {
+			this.chromosome = chromosome;
+			this.fingerprint = chromosome.getFingerprint();
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (fingerprint ^ (fingerprint >>> 32));
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key<T> k = (Key<T>) obj;
+			return (k.fingerprint == fingerprint) && k.chromosome.isEqual(chromosome);
+		}
+	}
+
+	private static class CachedFitness {
+		private ISolutionCost fitness = null;
+		private String info = null;
+
+		private CachedFitness(ISolutionCost fitness, String info) {
+			this.fitness = fitness;
+			this.info = info;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package org.heuros.core.ga.decoder;
+
+import java.util.concurrent.Callable;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Decodes a range of a chromosome array in a single task.
+ * Instances are reused by setting a new range once the previous call is completed.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output instances.
+ */
+public class DecoderBatchCaller<T, O> implements Callable<Integer> {
+
+	private Decoder<T, O> decoder = null;
+	private Chromosome<T>[] chromosomes = null;
+	private int from = 0;
+	private int to = 0;
+	private ISolutionCost bound = null;
+
+	public DecoderBatchCaller(Decoder<T, O> decoder) {
+		this.decoder = decoder;
+	}
+
+	/**
+	 * Sets chromosomes to be decoded in the next call.
+	 * 
+	 * @param chromosomes chromosome array.
+	 * @param from inclusive start index of the range.
+	 * @param to exclusive end index of the range.
+	 * @return this caller.
+	 */
+	public DecoderBatchCaller<T, O> setRange(Chromosome<T>[] chromosomes, int from, int to) {
+		this.chromosomes = chromosomes;
+		this.from = from;
+		this.to = to;
+		return this;
+	}
+
+	/**
+	 * Sets the bound passed to a BoundedDecoder in the next call.
+	 * 
+	 * @param bound fitness a chromosome must perform better than to survive or null if there is no bound.
+	 * @return this caller.
+	 */
+	public DecoderBatchCaller<T, O> setBound(ISolutionCost bound) {
+		this.bound = bound;
+		return this;
+	}
+
+	/**
+	 * @return number of chromosomes decoded.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public Integer call() throws Exception {
+		if ((bound != null) && (this.decoder instanceof BoundedDecoder)) {
+			for (int i = from; i < to; i++)
+				((BoundedDecoder<T, O>) this.decoder).decode(this.chromosomes[i], bound);
+		} else
+			for (int i = from; i < to; i++)
+				this.decoder.decode(this.chromosomes[i]);
+		return to - from;
+	}
+
+	public Decoder<T, O> getDecoder() {
+		return decoder;
+	}
+
+	public DecoderBatchCaller<T, O> setDecoder(Decoder<T, O> decoder) {
+		this.decoder = decoder;
+		return this;
+	}
+}
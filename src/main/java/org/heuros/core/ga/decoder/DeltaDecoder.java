@@ -0,0 +1,63 @@
+package org.heuros.core.ga.decoder;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.ChangeTrackingChromosome;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.GeneChangeLog;
+
+/**
+ * Decoder decorator which passes change logs of the chromosomes to an IncrementalDecoder.
+ * Chromosomes without a usable change log and the ones rejected by the incremental decoder are decoded from scratch.
+ * 
+ * Null is returned for incrementally decoded chromosomes since outputs are not generated.
+ * Bound is only passed to full decodes and only if the incremental decoder is also a BoundedDecoder.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output instances.
+ */
+public class DeltaDecoder<T, O> implements BoundedDecoder<T, O> {
+
+	private IncrementalDecoder<T, O> decoder = null;
+
+	private LongAdder numOfIncrementalDecodes = new LongAdder();
+	private LongAdder numOfFullDecodes = new LongAdder();
+
+	public DeltaDecoder(IncrementalDecoder<T, O> decoder) {
+		this.decoder = decoder;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public List<O> decode(Chromosome<T> chromosome, ISolutionCost bound) {
+		if (chromosome instanceof ChangeTrackingChromosome) {
+			GeneChangeLog changeLog = ((ChangeTrackingChromosome<T>) chromosome).getGeneChangeLog();
+			if ((changeLog != null)
+					&& !changeLog.isOverflown()
+					&& decoder.decodeIncrementally(chromosome, changeLog)) {
+				numOfIncrementalDecodes.increment();
+				return null;
+			}
+		}
+		numOfFullDecodes.increment();
+		if ((bound != null) && (decoder instanceof BoundedDecoder))
+			return ((BoundedDecoder<T, O>) decoder).decode(chromosome, bound);
+		return decoder.decode(chromosome);
+	}
+
+	public IncrementalDecoder<T, O> getDecoder() {
+		return decoder;
+	}
+
+	public long getNumOfIncrementalDecodes() {
+		return numOfIncrementalDecodes.sum();
+	}
+
+	public long getNumOfFullDecodes() {
+		return numOfFullDecodes.sum();
+	}
+}
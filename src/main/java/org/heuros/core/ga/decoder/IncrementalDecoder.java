@@ -0,0 +1,26 @@
+package org.heuros.core.ga.decoder;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.GeneChangeLog;
+
+/**
+ * Decoder which can calculate fitness of a chromosome from the fitness of its decoded parent
+ * and the indices of the genes that differ from the parent.
+ * Decode method of the Decoder interface is used as the fallback.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output instances.
+ */
+public interface IncrementalDecoder<T, O> extends Decoder<T, O> {
+
+	/**
+	 * Tries to set fitness of the chromosome using the delta relative to its parent.
+	 * 
+	 * @param chromosome chromosome to be decoded.
+	 * @param changeLog fitness of the decoded parent and the genes changed relative to it.
+	 * @return true if fitness of the chromosome is set, false if it needs a full decode.
+	 */
+	public boolean decodeIncrementally(Chromosome<T> chromosome, GeneChangeLog changeLog);
+}
@@ -0,0 +1,48 @@
+package org.heuros.core.ga.decoder;
+
+import java.util.List;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.metrics.GeneticMetrics;
+
+/**
+ * Decoder decorator which records the latency of each decode as an evaluation.
+ * Bound is passed if the wrapped decoder is a BoundedDecoder and aborted decodes are counted.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output instances.
+ */
+public class TimedDecoder<T, O> implements BoundedDecoder<T, O> {
+
+	private Decoder<T, O> decoder = null;
+	private GeneticMetrics metrics = null;
+
+	public TimedDecoder(Decoder<T, O> decoder, GeneticMetrics metrics) {
+		this.decoder = decoder;
+		this.metrics = metrics;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public List<O> decode(Chromosome<T> chromosome, ISolutionCost bound) {
+		long startTime = System.nanoTime();
+		try {
+			if ((bound != null) && (decoder instanceof BoundedDecoder)) {
+				List<O> res = ((BoundedDecoder<T, O>) decoder).decode(chromosome, bound);
+				if (AbortedSolutionCost.isAborted(chromosome))
+					metrics.recordAbortedDecode();
+				return res;
+			}
+			return decoder.decode(chromosome);
+		} finally {
+			metrics.recordEvaluation(System.nanoTime() - startTime);
+		}
+	}
+
+	public Decoder<T, O> getDecoder() {
+		return decoder;
+	}
+}
@@ -0,0 +1,187 @@
+package org.heuros.core.ga.diversity;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.IntChromosome;
+
+/**
+ * Keeps allele counts of each locus of the population, they are updated as chromosomes enter and leave the population,
+ * so the cost of an update is proportional to the chromosome length and diversity measures are read without scanning the population.
+ * Genes must be integers in [0, numOfAlleles), genes of IntChromosome instances are read without boxing.
+ *
+ * Entropy is the mean Shannon entropy of the loci normalized by log(numOfAlleles), zero means that the population is converged.
+ * Sum of count * log(count) is kept per allele update, so the entropy is read in constant time.
+ * Hamming distance to the best chromosome is calculated from the counts of the alleles of the best chromosome,
+ * which are kept per allele update and recalculated only when the best chromosome changes.
+ *
+ * @author bahadrzeren
+ *
+ */
+public class DiversityMonitor {
+
+	private int numOfAlleles = 0;
+
+	private int length = 0;
+	private int numOfChromosomes = 0;
+	private int[] alleleCounts = null;
+	private double sumOfCountLogs = 0.0;
+	private double[] countLogs = new double[0];
+
+	private Chromosome<?> best = null;
+	private int[] bestGenes = null;
+	private long numOfBestAlleles = 0l;
+
+	/**
+	 * @param numOfAlleles number of distinct gene values.
+	 */
+	public DiversityMonitor(int numOfAlleles) {
+		if (numOfAlleles < 2)
+			throw new IllegalArgumentException("Number of alleles must be at least 2, it is " + numOfAlleles + ".");
+		this.numOfAlleles = numOfAlleles;
+	}
+
+	/**
+	 * Recalculates the counts from the population.
+	 *
+	 * @param population population array.
+	 * @param size number of chromosomes in the population.
+	 */
+	public void reset(Chromosome<?>[] population, int size) {
+		this.length = (size > 0 ? population[0].getChromosomeLength() : 0);
+		this.alleleCounts = new int[length * numOfAlleles];
+		this.numOfChromosomes = 0;
+		this.sumOfCountLogs = 0.0;
+		this.best = null;
+		this.bestGenes = null;
+		this.numOfBestAlleles = 0l;
+		this.ensureCountLogs(size);
+		for (int i = 0; i < size; i++)
+			this.add(population[i]);
+	}
+
+	/**
+	 * Counts the genes of a chromosome which enters the population.
+	 *
+	 * @param chromosome new member of the population.
+	 */
+	public void add(Chromosome<?> chromosome) {
+		this.ensureCountLogs(numOfChromosomes + 1);
+		for (int i = 0, ndx = 0; i < length; i++, ndx += numOfAlleles) {
+			int allele = this.alleleOf(chromosome, i);
+			int count = alleleCounts[ndx + allele]++;
+			sumOfCountLogs += countLogs[count + 1] - countLogs[count];
+			if ((bestGenes != null) && (bestGenes[i] == allele))
+				numOfBestAlleles++;
+		}
+		numOfChromosomes++;
+	}
+
+	/**
+	 * Discounts the genes of a chromosome which leaves the population, it must be called before the genes of the chromosome change.
+	 *
+	 * @param chromosome leaving member of the population.
+	 */
+	public void remove(Chromosome<?> chromosome) {
+		for (int i = 0, ndx = 0; i < length; i++, ndx += numOfAlleles) {
+			int allele = this.alleleOf(chromosome, i);
+			int count = alleleCounts[ndx + allele]--;
+			sumOfCountLogs += countLogs[count - 1] - countLogs[count];
+			if ((bestGenes != null) && (bestGenes[i] == allele))
+				numOfBestAlleles--;
+		}
+		numOfChromosomes--;
+	}
+
+	/**
+	 * Sets the chromosome to which the Hamming distances are measured, it must not change while it is set.
+	 *
+	 * @param best best chromosome.
+	 */
+	public void setBest(Chromosome<?> best) {
+		this.best = best;
+		if (bestGenes == null)
+			bestGenes = new int[length];
+		numOfBestAlleles = 0l;
+		for (int i = 0, ndx = 0; i < length; i++, ndx += numOfAlleles) {
+			bestGenes[i] = this.alleleOf(best, i);
+			numOfBestAlleles += alleleCounts[ndx + bestGenes[i]];
+		}
+	}
+
+	public Chromosome<?> getBest() {
+		return best;
+	}
+
+	/**
+	 * @return mean normalized entropy of the loci in [0, 1].
+	 */
+	public double getEntropy() {
+		if ((numOfChromosomes == 0) || (length == 0))
+			return 0.0;
+		double entropy = Math.log(numOfChromosomes) - sumOfCountLogs / ((double) numOfChromosomes * length);
+		return Math.max(0.0, entropy / Math.log(numOfAlleles));
+	}
+
+	/**
+	 * @return mean number of genes in which the chromosomes differ from the best chromosome or NaN if it is not set.
+	 */
+	public double getMeanHammingDistanceToBest() {
+		if ((bestGenes == null) || (numOfChromosomes == 0))
+			return Double.NaN;
+		return length - (double) numOfBestAlleles / numOfChromosomes;
+	}
+
+	/**
+	 * @param locus index of the gene.
+	 * @param allele gene value.
+	 * @return number of chromosomes which have the allele at the locus.
+	 */
+	public int getAlleleCount(int locus, int allele) {
+		return alleleCounts[locus * numOfAlleles + allele];
+	}
+
+	/**
+	 * Gives the entropy of a single locus.
+	 *
+	 * @param locus index of the gene.
+	 * @return normalized entropy of the locus in [0, 1].
+	 */
+	public double getEntropy(int locus) {
+		if (numOfChromosomes == 0)
+			return 0.0;
+		double sum = 0.0;
+		for (int a = 0, ndx = locus * numOfAlleles; a < numOfAlleles; a++, ndx++)
+			sum += countLogs[alleleCounts[ndx]];
+		return Math.max(0.0, (Math.log(numOfChromosomes) - sum / numOfChromosomes) / Math.log(numOfAlleles));
+	}
+
+	public int getNumOfAlleles() {
+		return numOfAlleles;
+	}
+
+	public int getNumOfChromosomes() {
+		return numOfChromosomes;
+	}
+
+	private int alleleOf(Chromosome<?> chromosome, int locus) {
+		int allele = 0;
+		if (chromosome instanceof IntChromosome)
+			allele = ((IntChromosome) chromosome).getInt(locus);
+		else
+			allele = ((Number) chromosome.getGeneValue(locus)).intValue();
+		if ((allele < 0) || (allele >= numOfAlleles))
+			throw new IllegalArgumentException("Gene value " + allele + " is not in [0, " + numOfAlleles + ").");
+		return allele;
+	}
+
+	/**
+	 * Extends the count * log(count) table to the count.
+	 */
+	private void ensureCountLogs(int maxCount) {
+		if (countLogs.length > maxCount)
+			return;
+		double[] logs = new double[Math.max(maxCount + 1, 2 * countLogs.length)];
+		for (int c = 1; c < logs.length; c++)
+			logs[c] = c * Math.log(c);
+		countLogs = logs;
+	}
+}
@@ -0,0 +1,45 @@
+package org.heuros.core.ga.island;
+
+import org.heuros.core.ga.GeneticOptimizer;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Genetic optimizer which runs as one sub-population of an IslandGeneticOptimizer.
+ * Exchanges migrants with other islands after the population replacement of each iteration.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output data list.
+ */
+public class Island<T, O> extends GeneticOptimizer<T, O> {
+
+	private IslandGeneticOptimizer<T, O> owner = null;
+	private int islandIndex = 0;
+
+	Island(IslandGeneticOptimizer<T, O> owner, int islandIndex) {
+		this.owner = owner;
+		this.islandIndex = islandIndex;
+	}
+
+	public int getIslandIndex() {
+		return islandIndex;
+	}
+
+	void run() {
+		this.doMinimize();
+	}
+
+	@Override
+	protected void afterReplacement(int iteration) {
+		this.owner.migrate(this, iteration);
+	}
+
+	Chromosome<T> getEmigrant(int rank) {
+		return this.getRankedChromosome(rank);
+	}
+
+	int immigrate(Chromosome<T>[] immigrants, int numOfImmigrants) {
+		return this.injectChromosomes(immigrants, numOfImmigrants);
+	}
+}
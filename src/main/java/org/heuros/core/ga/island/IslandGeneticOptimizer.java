@@ -0,0 +1,292 @@
+package org.heuros.core.ga.island;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import org.apache.log4j.Logger;
+import org.heuros.core.ga.GeneticIterationListener;
+import org.heuros.core.ga.GeneticOptimizer;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Island model genetic optimizer.
+ * Runs independent sub-populations (islands) on separate threads and migrates copies of
+ * the best chromosomes between them periodically.
+ *
+ * Each island publishes its emigrants into its own outbox which is read by the receiving islands
+ * on their own threads, so islands never wait for each other.
+ *
+ * Number of threads of each island defaults to the number of available processors divided by the number of islands,
+ * at least one, so the islands do not start more threads than there are processors. It can be changed by configureIslands.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output data list.
+ */
+public class IslandGeneticOptimizer<T, O> {
+
+	private static Logger logger = Logger.getLogger(IslandGeneticOptimizer.class);
+
+	private List<Island<T, O>> islands = null;
+
+	private MigrationTopology migrationTopology = MigrationTopology.RING;
+	private int migrationInterval = 10;
+	private int numOfMigrants = 2;
+
+	private GeneticIterationListener<T> geneticIterationListener = null;
+
+	private AtomicReferenceArray<Migration<T>> outboxes = null;
+	/*
+	 * Iteration of the last migration received from each source island, only accessed by the receiving island thread.
+	 */
+	private int[][] lastReceivedIterations = null;
+	private AtomicIntegerArray islandIterations = null;
+	private int lastReportedIteration = -1;
+
+	private Chromosome<T> best = null;
+	private long optStartTime = 0l;
+
+	public IslandGeneticOptimizer(int numOfIslands) {
+		this.islands = new ArrayList<Island<T, O>>(numOfIslands);
+		int numOfThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / Math.max(1, numOfIslands));
+		for (int i = 0; i < numOfIslands; i++) {
+			Island<T, O> island = new Island<T, O>(this, i);
+			island.setGeneticIterationListener(new IslandListener(i));
+			island.setNumOfThreads(numOfThreads);
+			this.islands.add(island);
+		}
+	}
+
+	/**
+	 * Applies the configuration to all islands. Listeners of the islands must not be changed.
+	 *
+	 * @param configurer sets operators and parameters of an island.
+	 * @return this optimizer.
+	 */
+	public IslandGeneticOptimizer<T, O> configureIslands(Consumer<GeneticOptimizer<T, O>> configurer) {
+		for (Island<T, O> island : islands)
+			configurer.accept(island);
+		return this;
+	}
+
+	public Island<T, O> getIsland(int islandIndex) {
+		return islands.get(islandIndex);
+	}
+
+	public int getNumOfIslands() {
+		return islands.size();
+	}
+
+	/**
+	 * Gives the best individual found by all islands.
+	 *
+	 * @return the fittest individual of the optimization process.
+	 */
+	public synchronized Chromosome<T> getBest() {
+		return best;
+	}
+
+	/**
+	 * Runs all islands on separate threads and waits for all of them to terminate.
+	 */
+	@SuppressWarnings("unchecked")
+	public void doMinimize() {
+		int numOfIslands = islands.size();
+
+		outboxes = new AtomicReferenceArray<Migration<T>>(numOfIslands);
+		lastReceivedIterations = new int[numOfIslands][numOfIslands];
+		islandIterations = new AtomicIntegerArray(numOfIslands);
+		for (int i = 0; i < numOfIslands; i++)
+			islandIterations.set(i, -1);
+		lastReportedIteration = -1;
+		best = null;
+
+		optStartTime = System.nanoTime();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(numOfIslands);
+		List<Future<?>> futures = new ArrayList<Future<?>>(numOfIslands);
+		for (final Island<T, O> island : islands) {
+			futures.add(executorService.submit(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						island.run();
+					} finally {
+						islandIterations.set(island.getIslandIndex(), Integer.MAX_VALUE);
+					}
+				}
+			}));
+		}
+
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				logger.error(e);
+			} catch (ExecutionException e) {
+				logger.error(e);
+			}
+		}
+		executorService.shutdown();
+
+		if (geneticIterationListener != null) {
+			int maxNumOfIterations = 0;
+			for (Island<T, O> island : islands)
+				maxNumOfIterations = Math.max(maxNumOfIterations, island.getMaxNumOfIterations());
+			synchronized (this) {
+				geneticIterationListener.onIterate(maxNumOfIterations, (System.nanoTime() - optStartTime) / 1000000000.0, best);
+			}
+		}
+	}
+
+	/**
+	 * Publishes emigrants of the island and injects immigrants of its source islands.
+	 * Called on the thread of the island after each population replacement.
+	 *
+	 * @param island island which completed the iteration.
+	 * @param iteration iteration number.
+	 */
+	@SuppressWarnings("unchecked")
+	void migrate(Island<T, O> island, int iteration) {
+		if ((migrationInterval <= 0) || (iteration % migrationInterval != 0))
+			return;
+
+		int islandIndex = island.getIslandIndex();
+		int numOfIslands = islands.size();
+
+		try {
+			Chromosome<T>[] emigrants = new Chromosome[Math.min(numOfMigrants, island.getPopulationSize())];
+			for (int i = 0; i < emigrants.length; i++)
+				emigrants[i] = (Chromosome<T>) island.getEmigrant(i).clone();
+			outboxes.set(islandIndex, new Migration<T>(iteration, emigrants));
+
+			List<Chromosome<T>> immigrants = new ArrayList<Chromosome<T>>();
+			for (int source = 0; source < numOfIslands; source++) {
+				if ((source == islandIndex)
+						|| ((migrationTopology == MigrationTopology.RING)
+								&& (source != (islandIndex + numOfIslands - 1) % numOfIslands)))
+					continue;
+				Migration<T> migration = outboxes.get(source);
+				if ((migration != null) && (migration.getIteration() > lastReceivedIterations[islandIndex][source])) {
+					lastReceivedIterations[islandIndex][source] = migration.getIteration();
+					for (Chromosome<T> migrant : migration.getMigrants())
+						immigrants.add((Chromosome<T>) migrant.clone());
+				}
+			}
+
+			if (!immigrants.isEmpty())
+				island.immigrate(immigrants.toArray(new Chromosome[immigrants.size()]), immigrants.size());
+		} catch (CloneNotSupportedException ex) {
+			logger.error(ex);
+		}
+	}
+
+	/**
+	 * Aggregates listener calls of the islands.
+	 * Progress is reported only if the global best improves and an iteration is reported once all islands have completed it.
+	 */
+	private class IslandListener implements GeneticIterationListener<T> {
+
+		private int islandIndex = 0;
+
+		private IslandListener(int islandIndex) {
+			this.islandIndex = islandIndex;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void onProgress(int iteration, double elapsedTime, Chromosome<T> islandBest) {
+			synchronized (IslandGeneticOptimizer.this) {
+				if ((best == null) || islandBest.getFitness().doesPerformBetterThan(best.getFitness())) {
+					try {
+						best = (Chromosome<T>) islandBest.clone();
+					} catch (CloneNotSupportedException ex) {
+						logger.error(ex);
+						return;
+					}
+					if (geneticIterationListener != null)
+						geneticIterationListener.onProgress(iteration, (System.nanoTime() - optStartTime) / 1000000000.0, best);
+				}
+			}
+		}
+
+		@Override
+		public void onIterate(int iteration, double elapsedTime, Chromosome<T> islandBest) {
+			if (iteration == 0)
+				this.onProgress(iteration, elapsedTime, islandBest);
+
+			if (iteration > islandIterations.get(islandIndex))
+				islandIterations.set(islandIndex, iteration);
+
+			int minIteration = Integer.MAX_VALUE;
+			for (int i = 0; i < islandIterations.length(); i++)
+				minIteration = Math.min(minIteration, islandIterations.get(i));
+
+			synchronized (IslandGeneticOptimizer.this) {
+				if ((minIteration > lastReportedIteration) && (minIteration < Integer.MAX_VALUE)) {
+					lastReportedIteration = minIteration;
+					if (geneticIterationListener != null)
+						geneticIterationListener.onIterate(minIteration, (System.nanoTime() - optStartTime) / 1000000000.0, best);
+				}
+			}
+		}
+
+		@Override
+		public void onException(Exception ex) {
+			synchronized (IslandGeneticOptimizer.this) {
+				if (geneticIterationListener != null)
+					geneticIterationListener.onException(ex);
+			}
+		}
+	}
+
+	public MigrationTopology getMigrationTopology() {
+		return migrationTopology;
+	}
+
+	public IslandGeneticOptimizer<T, O> setMigrationTopology(MigrationTopology migrationTopology) {
+		this.migrationTopology = migrationTopology;
+		return this;
+	}
+
+	public int getMigrationInterval() {
+		return migrationInterval;
+	}
+
+	/**
+	 * Sets number of iterations between two migrations of an island, zero disables migration.
+	 *
+	 * @param migrationInterval number of iterations.
+	 * @return this optimizer.
+	 */
+	public IslandGeneticOptimizer<T, O> setMigrationInterval(int migrationInterval) {
+		this.migrationInterval = migrationInterval;
+		return this;
+	}
+
+	public int getNumOfMigrants() {
+		return numOfMigrants;
+	}
+
+	public IslandGeneticOptimizer<T, O> setNumOfMigrants(int numOfMigrants) {
+		this.numOfMigrants = numOfMigrants;
+		return this;
+	}
+
+	public GeneticIterationListener<T> getGeneticIterationListener() {
+		return geneticIterationListener;
+	}
+
+	public IslandGeneticOptimizer<T, O> setGeneticIterationListener(GeneticIterationListener<T> geneticIterationListener) {
+		this.geneticIterationListener = geneticIterationListener;
+		return this;
+	}
+}
@@ -0,0 +1,29 @@
+package org.heuros.core.ga.island;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Immutable batch of migrants published by an island.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+class Migration<T> {
+
+	private int iteration = 0;
+	private Chromosome<T>[] migrants = null;
+
+	Migration(int iteration, Chromosome<T>[] migrants) {
+		this.iteration = iteration;
+		this.migrants = migrants;
+	}
+
+	int getIteration() {
+		return iteration;
+	}
+
+	Chromosome<T>[] getMigrants() {
+		return migrants;
+	}
+}
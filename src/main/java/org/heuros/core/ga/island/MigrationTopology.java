@@ -0,0 +1,18 @@
+package org.heuros.core.ga.island;
+
+/**
+ * Defines which islands receive migrants of an island.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public enum MigrationTopology {
+	/**
+	 * Island i receives migrants from island i - 1.
+	 */
+	RING,
+	/**
+	 * Each island receives migrants from all other islands.
+	 */
+	FULLY_CONNECTED
+}
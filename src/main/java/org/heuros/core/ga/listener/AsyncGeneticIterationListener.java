@@ -0,0 +1,302 @@
+package org.heuros.core.ga.listener;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.log4j.Logger;
+import org.heuros.core.ga.GeneticIterationListener;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Listener which publishes the events of the optimizer into a bounded ring buffer and
+ * calls the wrapped listener on its own thread, so a slow listener does not delay the optimizer.
+ * The overflow policy decides what happens if the buffer is full, exceptions are never dropped.
+ *
+ * Best chromosomes are passed to the wrapped listener as snapshots which are cloned once per distinct best chromosome,
+ * they are not modified afterwards and must not be modified by the listener.
+ *
+ * GeneticOptimizer flushes the listener at the end of doMinimize, so all events are delivered when it returns.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class AsyncGeneticIterationListener<T> implements GeneticIterationListener<T>, Closeable {
+
+	private static Logger logger = Logger.getLogger(AsyncGeneticIterationListener.class);
+
+	private static final int PROGRESS = 0;
+	private static final int ITERATE = 1;
+	private static final int EXCEPTION = 2;
+
+	private GeneticIterationListener<T> listener = null;
+	private OverflowPolicy overflowPolicy = OverflowPolicy.COALESCE_LATEST;
+
+	/*
+	 * Ring of preallocated events, pending events are [head, tail).
+	 */
+	private Event<T>[] events = null;
+	private long head = 0l;
+	private long tail = 0l;
+	private boolean delivering = false;
+	private boolean closed = false;
+
+	private ReentrantLock lock = new ReentrantLock();
+	private Condition notEmpty = lock.newCondition();
+	private Condition notFull = lock.newCondition();
+	private Condition drained = lock.newCondition();
+
+	private Chromosome<T> lastBest = null;
+	private Chromosome<T> lastSnapshot = null;
+
+	private long numOfDroppedEvents = 0l;
+
+	private Thread dispatcher = null;
+
+	/**
+	 * Creates a listener with the COALESCE_LATEST overflow policy.
+	 *
+	 * @param listener listener which is called on the dispatcher thread.
+	 * @param capacity number of events the buffer can hold.
+	 */
+	public AsyncGeneticIterationListener(GeneticIterationListener<T> listener, int capacity) {
+		this(listener, capacity, OverflowPolicy.COALESCE_LATEST);
+	}
+
+	@SuppressWarnings("unchecked")
+	public AsyncGeneticIterationListener(GeneticIterationListener<T> listener, int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive, it is " + capacity + ".");
+		this.listener = listener;
+		this.overflowPolicy = overflowPolicy;
+		this.events = new Event[capacity];
+		for (int i = 0; i < capacity; i++)
+			this.events[i] = new Event<T>();
+		this.dispatcher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				dispatch();
+			}
+		}, "genetic-listener-dispatcher");
+		this.dispatcher.setDaemon(true);
+		this.dispatcher.start();
+	}
+
+	@Override
+	public void onProgress(int iteration, double elapsedTime, Chromosome<T> best) {
+		this.publish(PROGRESS, iteration, elapsedTime, best, null, overflowPolicy);
+	}
+
+	@Override
+	public void onIterate(int iteration, double elapsedTime, Chromosome<T> best) {
+		this.publish(ITERATE, iteration, elapsedTime, best, null, overflowPolicy);
+	}
+
+	@Override
+	public void onException(Exception ex) {
+		this.publish(EXCEPTION, 0, 0.0, null, ex, OverflowPolicy.BLOCK);
+	}
+
+	private void publish(int type, int iteration, double elapsedTime, Chromosome<T> best, Exception ex, OverflowPolicy policy) {
+		lock.lock();
+		try {
+			if (closed)
+				return;
+			if (tail - head == events.length) {
+				if (policy == OverflowPolicy.DROP) {
+					numOfDroppedEvents++;
+					return;
+				}
+				if ((policy == OverflowPolicy.COALESCE_LATEST) && this.evictOldestEvent())
+					numOfDroppedEvents++;
+				else {
+					while ((tail - head == events.length) && !closed)
+						notFull.awaitUninterruptibly();
+					if (closed)
+						return;
+				}
+			}
+			Event<T> event = events[(int) (tail % events.length)];
+			event.type = type;
+			event.iteration = iteration;
+			event.elapsedTime = elapsedTime;
+			event.best = this.snapshotOf(best);
+			event.ex = ex;
+			tail++;
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the oldest pending progress or iterate event, exception events are never evicted.
+	 * Events queued before it are moved one slot towards the tail to close the gap.
+	 *
+	 * @return false if all pending events are exceptions.
+	 */
+	private boolean evictOldestEvent() {
+		long evicted = head;
+		while ((evicted < tail) && (events[(int) (evicted % events.length)].type == EXCEPTION))
+			evicted++;
+		if (evicted == tail)
+			return false;
+		for (long i = evicted; i > head; i--) {
+			int ndx = (int) (i % events.length);
+			int previousNdx = (int) ((i - 1) % events.length);
+			Event<T> event = events[ndx];
+			events[ndx] = events[previousNdx];
+			events[previousNdx] = event;
+		}
+		events[(int) (head % events.length)].clear();
+		head++;
+		return true;
+	}
+
+	/**
+	 * Clones the best chromosome unless it is the same instance as the one of the previous event.
+	 */
+	@SuppressWarnings("unchecked")
+	private Chromosome<T> snapshotOf(Chromosome<T> best) {
+		if (best == null)
+			return null;
+		if (best != lastBest) {
+			try {
+				lastSnapshot = (Chromosome<T>) best.clone();
+				lastBest = best;
+			} catch (CloneNotSupportedException e) {
+				logger.error(e);
+				return null;
+			}
+		}
+		return lastSnapshot;
+	}
+
+	private void dispatch() {
+		int type = 0;
+		int iteration = 0;
+		double elapsedTime = 0.0;
+		Chromosome<T> best = null;
+		Exception ex = null;
+		while (true) {
+			lock.lock();
+			try {
+				delivering = false;
+				while (head == tail) {
+					drained.signalAll();
+					if (closed)
+						return;
+					notEmpty.awaitUninterruptibly();
+				}
+				Event<T> event = events[(int) (head % events.length)];
+				type = event.type;
+				iteration = event.iteration;
+				elapsedTime = event.elapsedTime;
+				best = event.best;
+				ex = event.ex;
+				event.clear();
+				head++;
+				delivering = true;
+				notFull.signal();
+			} finally {
+				lock.unlock();
+			}
+
+			try {
+				if (type == PROGRESS)
+					listener.onProgress(iteration, elapsedTime, best);
+				else
+					if (type == ITERATE)
+						listener.onIterate(iteration, elapsedTime, best);
+					else
+						listener.onException(ex);
+			} catch (RuntimeException e) {
+				logger.error(e);
+			}
+		}
+	}
+
+	/**
+	 * Waits until all published events are delivered to the wrapped listener.
+	 *
+	 * @param timeout maximum time to wait.
+	 * @param unit unit of the timeout.
+	 * @return true if all events are delivered.
+	 * @throws InterruptedException if the thread is interrupted while waiting.
+	 */
+	public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		lock.lock();
+		try {
+			while ((head != tail) || delivering) {
+				if (nanos <= 0l)
+					return false;
+				nanos = drained.awaitNanos(nanos);
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Delivers the pending events and stops the dispatcher thread, events published afterwards are ignored.
+	 */
+	@Override
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			notEmpty.signal();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		if (Thread.currentThread() == dispatcher)
+			return;
+		try {
+			dispatcher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public GeneticIterationListener<T> getListener() {
+		return listener;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public int getCapacity() {
+		return events.length;
+	}
+
+	/**
+	 * @return number of events dropped by the DROP and COALESCE_LATEST policies.
+	 */
+	public long getNumOfDroppedEvents() {
+		lock.lock();
+		try {
+			return numOfDroppedEvents;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static class Event<T> {
+		private int type = 0;
+		private int iteration = 0;
+		private double elapsedTime = 0.0;
+		private Chromosome<T> best = null;
+		private Exception ex = null;
+
+		private void clear() {
+			this.best = null;
+			this.ex = null;
+		}
+	}
+}
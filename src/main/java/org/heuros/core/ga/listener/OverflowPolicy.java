@@ -0,0 +1,23 @@
+package org.heuros.core.ga.listener;
+
+/**
+ * Action taken by an AsyncGeneticIterationListener when an event is published while its buffer is full.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public enum OverflowPolicy {
+	/**
+	 * The new event is dropped, the optimizer never waits.
+	 */
+	DROP,
+	/**
+	 * The oldest pending progress or iterate event is dropped for the new one and the listener receives the latest events.
+	 * Exceptions are never dropped, the optimizer waits only if all pending events are exceptions.
+	 */
+	COALESCE_LATEST,
+	/**
+	 * The optimizer waits until the listener consumes an event, no event is lost.
+	 */
+	BLOCK
+}
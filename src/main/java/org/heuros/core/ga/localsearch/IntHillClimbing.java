@@ -0,0 +1,85 @@
+package org.heuros.core.ga.localsearch;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.IntChromosome;
+import org.heuros.core.ga.decoder.AbortedSolutionCost;
+
+/**
+ * First improvement hill climbing for integer genes.
+ * Each candidate changes a random gene of the current chromosome to another value in [0, maxGeneValueExc)
+ * and replaces it if it performs better. Search stops when the budget is exhausted
+ * or maxNumOfEvaluationsWOImprovement consecutive candidates are rejected.
+ * 
+ * Candidates are copies of the current chromosome, so change tracking chromosomes are decoded incrementally.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class IntHillClimbing implements LocalSearch<Integer> {
+
+	private int maxGeneValueExc = 3;
+	private int maxNumOfEvaluationsWOImprovement = Integer.MAX_VALUE;
+
+	@Override
+	public Chromosome<Integer> search(Chromosome<Integer> chromosome, LocalSearchBudget<Integer> budget) throws CloneNotSupportedException {
+		SplittableRandom random = GeneticRandom.current();
+		Chromosome<Integer> current = chromosome;
+		boolean improved = false;
+		int numOfEvaluationsWOImprovement = 0;
+
+		while (numOfEvaluationsWOImprovement < maxNumOfEvaluationsWOImprovement) {
+			Chromosome<Integer> candidate = ChromosomePool.copyOf(current);
+			int index = random.nextInt(candidate.getChromosomeLength());
+			if (candidate instanceof IntChromosome) {
+				IntChromosome c = (IntChromosome) candidate;
+				c.setInt(index, (c.getInt(index) + random.nextInt(maxGeneValueExc - 1) + 1) % maxGeneValueExc);
+			} else
+				candidate.setGeneValue(index, (candidate.getGeneValue(index) + random.nextInt(maxGeneValueExc - 1) + 1) % maxGeneValueExc);
+
+			if (!budget.evaluate(candidate, current.getFitness())) {
+				budget.discard(candidate);
+				break;
+			}
+
+			if (!AbortedSolutionCost.isAborted(candidate)
+					&& candidate.getFitness().doesPerformBetterThan(current.getFitness())) {
+				budget.discard(current);
+				current = candidate;
+				improved = true;
+				numOfEvaluationsWOImprovement = 0;
+			} else {
+				budget.discard(candidate);
+				numOfEvaluationsWOImprovement++;
+			}
+		}
+		return (improved ? current : null);
+	}
+
+	public int getMaxGeneValueExc() {
+		return maxGeneValueExc;
+	}
+
+	public IntHillClimbing setMaxGeneValueExc(int maxGeneValueExc) {
+		this.maxGeneValueExc = maxGeneValueExc;
+		return this;
+	}
+
+	public int getMaxNumOfEvaluationsWOImprovement() {
+		return maxNumOfEvaluationsWOImprovement;
+	}
+
+	/**
+	 * Sets number of consecutive rejected candidates after which the search gives up before its budget is exhausted.
+	 * 
+	 * @param maxNumOfEvaluationsWOImprovement number of evaluations.
+	 * @return this local search.
+	 */
+	public IntHillClimbing setMaxNumOfEvaluationsWOImprovement(int maxNumOfEvaluationsWOImprovement) {
+		this.maxNumOfEvaluationsWOImprovement = maxNumOfEvaluationsWOImprovement;
+		return this;
+	}
+}
@@ -0,0 +1,29 @@
+package org.heuros.core.ga.localsearch;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Local search which improves a decoded chromosome by evaluating its neighbours.
+ * Optimizer runs it on copies of the best chromosomes on its own threads while children are bred and decoded,
+ * improved chromosomes are injected into the population after the next replacement.
+ * 
+ * Implementations are called concurrently and must be thread safe, GeneticRandom.current() gives the random stream of the calling task.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public interface LocalSearch<T> {
+
+	/**
+	 * Searches the neighbourhood of the chromosome until an improvement limit of the search or the budget is reached.
+	 * Chromosome is a decoded copy which is owned by the search, candidates must be evaluated through the budget.
+	 * If an improvement is returned, the given chromosome may be discarded by the search, otherwise the optimizer discards it.
+	 * 
+	 * @param chromosome decoded copy of a population member.
+	 * @param budget evaluation budget of the search.
+	 * @return decoded chromosome which performs better than the given one or null if no improvement is found.
+	 * @throws CloneNotSupportedException if a candidate can not be copied.
+	 */
+	public Chromosome<T> search(Chromosome<T> chromosome, LocalSearchBudget<T> budget) throws CloneNotSupportedException;
+}
@@ -0,0 +1,76 @@
+package org.heuros.core.ga.localsearch;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.decoder.BoundedDecoder;
+
+/**
+ * Evaluates candidates of a single local search until its number of evaluations is exhausted.
+ * Candidates are decoded with the decoder chain of the optimizer, so they are counted, cached and decoded incrementally
+ * as the children are.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class LocalSearchBudget<T> {
+
+	private BoundedDecoder<T, ?> decoder = null;
+	private boolean bounded = false;
+	private ChromosomePool<T> chromosomePool = null;
+	private int maxNumOfEvaluations = 0;
+	private int numOfEvaluations = 0;
+
+	/**
+	 * @param decoder decoder chain of the optimizer.
+	 * @param bounded true if bounds are passed to the decoder.
+	 * @param chromosomePool pool to which discarded candidates are returned or null.
+	 * @param maxNumOfEvaluations number of evaluations the search may use.
+	 */
+	public LocalSearchBudget(BoundedDecoder<T, ?> decoder, boolean bounded, ChromosomePool<T> chromosomePool, int maxNumOfEvaluations) {
+		this.decoder = decoder;
+		this.bounded = bounded;
+		this.chromosomePool = chromosomePool;
+		this.maxNumOfEvaluations = maxNumOfEvaluations;
+	}
+
+	/**
+	 * Decodes the candidate if the budget is not exhausted.
+	 * Decoding may be aborted by a bounded decoder if the candidate can not perform better than the bound,
+	 * fitness of such a candidate is AbortedSolutionCost.INSTANCE.
+	 * 
+	 * @param candidate candidate to be decoded.
+	 * @param bound fitness the candidate must perform better than to be useful or null.
+	 * @return true if the candidate is decoded, false if the budget is exhausted.
+	 */
+	public boolean evaluate(Chromosome<T> candidate, ISolutionCost bound) {
+		if (numOfEvaluations >= maxNumOfEvaluations)
+			return false;
+		numOfEvaluations++;
+		decoder.decode(candidate, bounded ? bound : null);
+		return true;
+	}
+
+	/**
+	 * Returns a rejected candidate to the chromosome pool. Candidate must not be referenced by the search anymore.
+	 * 
+	 * @param candidate rejected candidate.
+	 */
+	public void discard(Chromosome<T> candidate) {
+		if (chromosomePool != null)
+			chromosomePool.release(candidate);
+	}
+
+	public boolean isExhausted() {
+		return numOfEvaluations >= maxNumOfEvaluations;
+	}
+
+	public int getNumOfEvaluations() {
+		return numOfEvaluations;
+	}
+
+	public int getMaxNumOfEvaluations() {
+		return maxNumOfEvaluations;
+	}
+}
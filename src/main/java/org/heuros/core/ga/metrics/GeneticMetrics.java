@@ -0,0 +1,291 @@
+package org.heuros.core.ga.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Metrics of a genetic optimizer run.
+ * Recording methods do not allocate, so metrics are always collected.
+ * Instance can be registered to the platform MBean server to be monitored over JMX.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class GeneticMetrics implements GeneticMetricsMXBean {
+
+	private static Logger logger = Logger.getLogger(GeneticMetrics.class);
+
+	private LatencyHistogram[] phaseLatencies = null;
+	private LatencyHistogram chromosomeDecodeLatency = new LatencyHistogram();
+
+	private LongAdder numOfEvaluations = new LongAdder();
+	private LongAdder numOfDuplicateRejections = new LongAdder();
+	private LongAdder numOfAbortedDecodes = new LongAdder();
+	private LongAdder numOfScreenedChildren = new LongAdder();
+	private volatile double surrogateRankCorrelation = Double.NaN;
+	private volatile double populationEntropy = Double.NaN;
+	private volatile double meanHammingDistanceToBest = Double.NaN;
+
+	private volatile int iteration = 0;
+	private volatile long startTime = 0l;
+	private volatile long endTime = 0l;
+
+	private volatile ExecutorService executorService = null;
+	private volatile int maxExecutorQueueDepth = 0;
+
+	private ObjectName objectName = null;
+
+	public GeneticMetrics() {
+		GeneticPhase[] phases = GeneticPhase.values();
+		this.phaseLatencies = new LatencyHistogram[phases.length];
+		for (int i = 0; i < phases.length; i++)
+			this.phaseLatencies[i] = new LatencyHistogram();
+	}
+
+	/**
+	 * Clears all metrics at the start of a run.
+	 * 
+	 * @param executorService executor service whose queue depth is reported.
+	 */
+	public void start(ExecutorService executorService) {
+		for (LatencyHistogram histogram : phaseLatencies)
+			histogram.reset();
+		chromosomeDecodeLatency.reset();
+		numOfEvaluations.reset();
+		numOfDuplicateRejections.reset();
+		numOfAbortedDecodes.reset();
+		numOfScreenedChildren.reset();
+		this.surrogateRankCorrelation = Double.NaN;
+		this.populationEntropy = Double.NaN;
+		this.meanHammingDistanceToBest = Double.NaN;
+		this.iteration = 0;
+		this.maxExecutorQueueDepth = 0;
+		this.executorService = executorService;
+		this.endTime = 0l;
+		this.startTime = System.nanoTime();
+	}
+
+	/**
+	 * Freezes elapsed time at the end of a run.
+	 */
+	public void stop() {
+		this.endTime = System.nanoTime();
+		this.executorService = null;
+	}
+
+	public void recordPhase(GeneticPhase phase, long nanos) {
+		phaseLatencies[phase.ordinal()].record(nanos);
+	}
+
+	/**
+	 * Records an evaluation, may be called concurrently by the decoding threads.
+	 * 
+	 * @param nanos decode latency of a single chromosome.
+	 */
+	public void recordEvaluation(long nanos) {
+		chromosomeDecodeLatency.record(nanos);
+		numOfEvaluations.increment();
+	}
+
+	public void recordDuplicateRejection() {
+		numOfDuplicateRejections.increment();
+	}
+
+	/**
+	 * Records an evaluation which is aborted by a bounded decoder, may be called concurrently by the decoding threads.
+	 */
+	public void recordAbortedDecode() {
+		numOfAbortedDecodes.increment();
+	}
+
+	public void recordScreening(int numOfScreened) {
+		numOfScreenedChildren.add(numOfScreened);
+	}
+
+	public void setSurrogateRankCorrelation(double surrogateRankCorrelation) {
+		this.surrogateRankCorrelation = surrogateRankCorrelation;
+	}
+
+	public void setPopulationEntropy(double populationEntropy) {
+		this.populationEntropy = populationEntropy;
+	}
+
+	public void setMeanHammingDistanceToBest(double meanHammingDistanceToBest) {
+		this.meanHammingDistanceToBest = meanHammingDistanceToBest;
+	}
+
+	public void setIteration(int iteration) {
+		this.iteration = iteration;
+	}
+
+	/**
+	 * Samples queue depth of the executor to track its maximum, called after tasks are submitted.
+	 */
+	public void sampleExecutorQueueDepth() {
+		int depth = this.getExecutorQueueDepth();
+		if (depth > maxExecutorQueueDepth)
+			maxExecutorQueueDepth = depth;
+	}
+
+	public LatencyHistogram getPhaseLatencyHistogram(GeneticPhase phase) {
+		return phaseLatencies[phase.ordinal()];
+	}
+
+	public LatencyHistogram getChromosomeDecodeLatencyHistogram() {
+		return chromosomeDecodeLatency;
+	}
+
+	@Override
+	public int getIteration() {
+		return iteration;
+	}
+
+	@Override
+	public double getElapsedTimeInSecs() {
+		if (startTime == 0l)
+			return 0.0;
+		return ((endTime > 0l ? endTime : System.nanoTime()) - startTime) / 1000000000.0;
+	}
+
+	@Override
+	public long getNumOfEvaluations() {
+		return numOfEvaluations.sum();
+	}
+
+	@Override
+	public double getEvaluationsPerSecond() {
+		double elapsedTime = this.getElapsedTimeInSecs();
+		if (elapsedTime <= 0.0)
+			return 0.0;
+		return numOfEvaluations.sum() / elapsedTime;
+	}
+
+	@Override
+	public long getNumOfDuplicateRejections() {
+		return numOfDuplicateRejections.sum();
+	}
+
+	@Override
+	public long getNumOfAbortedDecodes() {
+		return numOfAbortedDecodes.sum();
+	}
+
+	@Override
+	public long getNumOfScreenedChildren() {
+		return numOfScreenedChildren.sum();
+	}
+
+	@Override
+	public double getSurrogateRankCorrelation() {
+		return surrogateRankCorrelation;
+	}
+
+	@Override
+	public double getPopulationEntropy() {
+		return populationEntropy;
+	}
+
+	@Override
+	public double getMeanHammingDistanceToBest() {
+		return meanHammingDistanceToBest;
+	}
+
+	@Override
+	public int getExecutorQueueDepth() {
+		ExecutorService es = this.executorService;
+		if (es instanceof ThreadPoolExecutor)
+			return ((ThreadPoolExecutor) es).getQueue().size();
+		if (es instanceof ForkJoinPool)
+			return (int) Math.min(Integer.MAX_VALUE, ((ForkJoinPool) es).getQueuedSubmissionCount() + ((ForkJoinPool) es).getQueuedTaskCount());
+		return -1;
+	}
+
+	@Override
+	public int getMaxExecutorQueueDepth() {
+		return maxExecutorQueueDepth;
+	}
+
+	@Override
+	public LatencySnapshot getBreedLatency() {
+		return phaseLatencies[GeneticPhase.BREED.ordinal()].snapshot();
+	}
+
+	@Override
+	public LatencySnapshot getMutateLatency() {
+		return phaseLatencies[GeneticPhase.MUTATE.ordinal()].snapshot();
+	}
+
+	@Override
+	public LatencySnapshot getDecodeLatency() {
+		return phaseLatencies[GeneticPhase.DECODE.ordinal()].snapshot();
+	}
+
+	@Override
+	public LatencySnapshot getReplaceLatency() {
+		return phaseLatencies[GeneticPhase.REPLACE.ordinal()].snapshot();
+	}
+
+	@Override
+	public LatencySnapshot getChromosomeDecodeLatency() {
+		return chromosomeDecodeLatency.snapshot();
+	}
+
+	/**
+	 * Registers metrics to the platform MBean server.
+	 * 
+	 * @param name value of the name key of the object name.
+	 * @return true if registration succeeds.
+	 */
+	public synchronized boolean registerMBean(String name) {
+		this.unregisterMBean();
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName on = new ObjectName("org.heuros.core.ga:type=GeneticMetrics,name=" + ObjectName.quote(name));
+			server.registerMBean(this, on);
+			this.objectName = on;
+			return true;
+		} catch (JMException ex) {
+			logger.error(ex);
+			return false;
+		}
+	}
+
+	public synchronized void unregisterMBean() {
+		if (objectName == null)
+			return;
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		} catch (JMException ex) {
+			logger.error(ex);
+		}
+		objectName = null;
+	}
+
+	@Override
+	public String toString() {
+		return "iteration=" + iteration
+				+ ", evaluations=" + getNumOfEvaluations()
+				+ ", evaluations/s=" + (long) getEvaluationsPerSecond()
+				+ ", duplicates=" + getNumOfDuplicateRejections()
+				+ ", aborted=" + getNumOfAbortedDecodes()
+				+ ", screened=" + getNumOfScreenedChildren()
+				+ ", surrogateRankCorrelation=" + surrogateRankCorrelation
+				+ ", populationEntropy=" + populationEntropy
+				+ ", meanHammingDistanceToBest=" + meanHammingDistanceToBest
+				+ ", maxQueueDepth=" + maxExecutorQueueDepth
+				+ ", breed(" + getBreedLatency()
+				+ "), mutate(" + getMutateLatency()
+				+ "), decode(" + getDecodeLatency()
+				+ "), replace(" + getReplaceLatency()
+				+ "), chromosomeDecode(" + getChromosomeDecodeLatency() + ")";
+	}
+}
@@ -0,0 +1,20 @@
+package org.heuros.core.ga.metrics;
+
+import java.util.EventListener;
+
+/**
+ * Listener which receives metrics of the optimizer periodically.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public interface GeneticMetricsListener extends EventListener {
+    /**
+     * Called on the optimizer thread once every metrics report interval.
+     * Metrics instance is live and is updated by the optimizer after the call returns.
+     * 
+     * @param iteration number of completed iterations.
+     * @param metrics metrics of the optimizer.
+     */
+    public void onMetrics(int iteration, GeneticMetrics metrics);
+}
@@ -0,0 +1,65 @@
+package org.heuros.core.ga.metrics;
+
+/**
+ * Management interface of the optimizer metrics, all latencies are in nanoseconds.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public interface GeneticMetricsMXBean {
+
+	public int getIteration();
+
+	public double getElapsedTimeInSecs();
+
+	public long getNumOfEvaluations();
+
+	public double getEvaluationsPerSecond();
+
+	public long getNumOfDuplicateRejections();
+
+	/**
+	 * @return number of evaluations aborted by a bounded decoder, they are included in the number of evaluations.
+	 */
+	public long getNumOfAbortedDecodes();
+
+	/**
+	 * @return number of children which are rejected by the surrogate model without being decoded.
+	 */
+	public long getNumOfScreenedChildren();
+
+	/**
+	 * @return rank correlation of the predicted and actual qualities of the children decoded in the last generation or NaN if it is not known.
+	 */
+	public double getSurrogateRankCorrelation();
+
+	/**
+	 * @return mean normalized entropy of the loci of the population or NaN if there is no diversity monitor.
+	 */
+	public double getPopulationEntropy();
+
+	/**
+	 * @return mean number of genes in which the population differs from the best chromosome or NaN if there is no diversity monitor.
+	 */
+	public double getMeanHammingDistanceToBest();
+
+	/**
+	 * @return number of tasks waiting in the queue of the executor or -1 if it is not known.
+	 */
+	public int getExecutorQueueDepth();
+
+	public int getMaxExecutorQueueDepth();
+
+	public LatencySnapshot getBreedLatency();
+
+	public LatencySnapshot getMutateLatency();
+
+	public LatencySnapshot getDecodeLatency();
+
+	public LatencySnapshot getReplaceLatency();
+
+	/**
+	 * @return latency of decoding a single chromosome.
+	 */
+	public LatencySnapshot getChromosomeDecodeLatency();
+}
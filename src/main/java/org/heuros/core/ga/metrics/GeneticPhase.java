@@ -0,0 +1,14 @@
+package org.heuros.core.ga.metrics;
+
+/**
+ * Phases of an optimizer iteration whose latencies are measured.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public enum GeneticPhase {
+	BREED,
+	MUTATE,
+	DECODE,
+	REPLACE
+}
@@ -0,0 +1,124 @@
+package org.heuros.core.ga.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free latency histogram with log-linear buckets.
+ * Each power of two range is split into 8 sub buckets, so reported percentiles are within 12.5% of the recorded values.
+ * Recording does not allocate and may be done concurrently by multiple threads.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int NUM_OF_SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int NUM_OF_BUCKETS = NUM_OF_SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * NUM_OF_SUB_BUCKETS;
+
+	private AtomicLongArray buckets = new AtomicLongArray(NUM_OF_BUCKETS);
+	private AtomicLong count = new AtomicLong();
+	private AtomicLong sum = new AtomicLong();
+	private AtomicLong max = new AtomicLong();
+
+	private static int bucketOf(long value) {
+		if (value < NUM_OF_SUB_BUCKETS)
+			return (int) value;
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (NUM_OF_SUB_BUCKETS - 1);
+		return NUM_OF_SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * NUM_OF_SUB_BUCKETS + subBucket;
+	}
+
+	private static long upperBoundOf(int bucket) {
+		if (bucket < NUM_OF_SUB_BUCKETS)
+			return bucket;
+		int shift = (bucket - NUM_OF_SUB_BUCKETS) / NUM_OF_SUB_BUCKETS;
+		long subBucket = (bucket - NUM_OF_SUB_BUCKETS) % NUM_OF_SUB_BUCKETS;
+		return ((NUM_OF_SUB_BUCKETS + subBucket + 1) << shift) - 1;
+	}
+
+	/**
+	 * Records a latency value, negative values are recorded as zero.
+	 * 
+	 * @param nanos latency in nanoseconds.
+	 */
+	public void record(long nanos) {
+		if (nanos < 0l)
+			nanos = 0l;
+		buckets.incrementAndGet(bucketOf(nanos));
+		count.incrementAndGet();
+		sum.addAndGet(nanos);
+		long m = max.get();
+		while ((nanos > m) && !max.compareAndSet(m, nanos))
+			m = max.get();
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getSum() {
+		return sum.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long c = count.get();
+		if (c == 0l)
+			return 0.0;
+		return (double) sum.get() / c;
+	}
+
+	/**
+	 * Gives the upper bound of the bucket which contains the percentile, it is never greater than the maximum recorded value.
+	 * 
+	 * @param percentile percentile in (0, 100].
+	 * @return latency in nanoseconds or zero if nothing is recorded.
+	 */
+	public long getPercentile(double percentile) {
+		long c = 0l;
+		for (int i = 0; i < NUM_OF_BUCKETS; i++)
+			c += buckets.get(i);
+		if (c == 0l)
+			return 0l;
+		long rank = (long) Math.ceil(c * Math.min(Math.max(percentile, 0.0), 100.0) / 100.0);
+		if (rank < 1l)
+			rank = 1l;
+		long cumulative = 0l;
+		for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+			cumulative += buckets.get(i);
+			if (cumulative >= rank)
+				return Math.min(upperBoundOf(i), max.get());
+		}
+		return max.get();
+	}
+
+	/**
+	 * Takes a summary of the histogram, values recorded concurrently may be partially included.
+	 * 
+	 * @return summary of the recorded latencies.
+	 */
+	public LatencySnapshot snapshot() {
+		return new LatencySnapshot(getCount(),
+									getMean(),
+									getPercentile(50.0),
+									getPercentile(90.0),
+									getPercentile(99.0),
+									getMax());
+	}
+
+	/**
+	 * Clears recorded values, must not be called concurrently with record.
+	 */
+	public void reset() {
+		for (int i = 0; i < NUM_OF_BUCKETS; i++)
+			buckets.set(i, 0l);
+		count.set(0l);
+		sum.set(0l);
+		max.set(0l);
+	}
+}
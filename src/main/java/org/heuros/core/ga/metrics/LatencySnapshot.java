@@ -0,0 +1,55 @@
+package org.heuros.core.ga.metrics;
+
+/**
+ * Immutable summary of a latency histogram, all latencies are in nanoseconds.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class LatencySnapshot {
+
+	private long count = 0l;
+	private double mean = 0.0;
+	private long p50 = 0l;
+	private long p90 = 0l;
+	private long p99 = 0l;
+	private long max = 0l;
+
+	public LatencySnapshot(long count, double mean, long p50, long p90, long p99, long max) {
+		this.count = count;
+		this.mean = mean;
+		this.p50 = p50;
+		this.p90 = p90;
+		this.p99 = p99;
+		this.max = max;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public long getP50() {
+		return p50;
+	}
+
+	public long getP90() {
+		return p90;
+	}
+
+	public long getP99() {
+		return p99;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + count + ", mean=" + (long) mean + ", p50=" + p50 + ", p90=" + p90 + ", p99=" + p99 + ", max=" + max;
+	}
+}
@@ -0,0 +1,45 @@
+package org.heuros.core.ga.mutation;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.IntChromosome;
+
+/**
+ * IntegerGeneMutator implementation which jumps from one mutated gene to the next with geometrically distributed gaps,
+ * so its cost is proportional to the number of mutated genes instead of the chromosome length.
+ * Genes are mutated with the same distribution as IntegerGeneMutator, genes of IntChromosome instances are accessed without boxing.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class GeometricGeneMutator extends IntegerGeneMutator {
+
+	@Override
+	public Chromosome<Integer> mutate(Chromosome<Integer> chromosome, int iteration, float mutationRatio)
+			throws CloneNotSupportedException {
+		double logOfSkipProbability = GeometricSkip.logOfSkipProbability(mutationRatio);
+		if (Double.isNaN(logOfSkipProbability))
+			return null;
+
+		int maxGeneValueExc = this.getMaxGeneValueExc();
+		int length = chromosome.getChromosomeLength();
+		SplittableRandom random = GeneticRandom.current();
+		Chromosome<Integer> mutatedChromosome = null;
+		for (long i = GeometricSkip.nextGap(random, logOfSkipProbability); i < length; i += GeometricSkip.nextGap(random, logOfSkipProbability) + 1l) {
+			if (mutatedChromosome == null)
+				mutatedChromosome = ChromosomePool.copyOf(chromosome);
+			int index = (int) i;
+			int offset = random.nextInt(maxGeneValueExc - 1) + 1;
+			if (mutatedChromosome instanceof IntChromosome) {
+				IntChromosome c = (IntChromosome) mutatedChromosome;
+				c.setInt(index, (c.getInt(index) + offset) % maxGeneValueExc);
+			} else
+				mutatedChromosome.setGeneValue(index, (mutatedChromosome.getGeneValue(index) + offset) % maxGeneValueExc);
+		}
+		return mutatedChromosome;
+	}
+
+}
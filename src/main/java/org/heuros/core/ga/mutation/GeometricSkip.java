@@ -0,0 +1,41 @@
+package org.heuros.core.ga.mutation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws gaps between the mutated loci of a chromosome in which each gene is mutated independently with the same probability.
+ * Number of genes skipped before the next mutated gene is geometrically distributed, P(gap = k) = (1 - p)^k * p,
+ * so loci are selected with the same distribution as testing each gene, but with one random number per mutated gene.
+ * 
+ * @author bahadrzeren
+ *
+ */
+final class GeometricSkip {
+
+	private GeometricSkip() {
+	}
+
+	/**
+	 * @param mutationRatio probability of mutating a gene.
+	 * @return log(1 - mutationRatio) which is passed to nextGap, NaN if no gene can be mutated.
+	 */
+	static double logOfSkipProbability(float mutationRatio) {
+		if (mutationRatio <= 0.0f)
+			return Double.NaN;
+		if (mutationRatio >= 1.0f)
+			return Double.NEGATIVE_INFINITY;
+		return Math.log1p(-mutationRatio);
+	}
+
+	/**
+	 * @param random random number stream.
+	 * @param logOfSkipProbability value given by logOfSkipProbability.
+	 * @return number of genes skipped before the next mutated gene, Integer.MAX_VALUE if it exceeds an int.
+	 */
+	static int nextGap(SplittableRandom random, double logOfSkipProbability) {
+		if (logOfSkipProbability == Double.NEGATIVE_INFINITY)
+			return 0;
+		double gap = Math.floor(Math.log(1.0 - random.nextDouble()) / logOfSkipProbability);
+		return (gap < Integer.MAX_VALUE ? (int) gap : Integer.MAX_VALUE);
+	}
+}
@@ -0,0 +1,51 @@
+package org.heuros.core.ga.mutation;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.IntChromosome;
+
+/**
+ * SwapGeneMutator implementation which jumps from one swapped gene to the next with geometrically distributed gaps,
+ * so its cost is proportional to the number of swaps instead of the chromosome length.
+ * Genes are swapped with the same distribution as SwapGeneMutator, genes of IntChromosome instances are accessed without boxing.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class GeometricSwapGeneMutator extends SwapGeneMutator {
+
+	@Override
+	public Chromosome<Integer> mutate(Chromosome<Integer> chromosome, int iteration, float mutationRatio)
+			throws CloneNotSupportedException {
+		double logOfSkipProbability = GeometricSkip.logOfSkipProbability(mutationRatio);
+		if (Double.isNaN(logOfSkipProbability))
+			return null;
+
+		int length = chromosome.getChromosomeLength();
+		SplittableRandom random = GeneticRandom.current();
+		Chromosome<Integer> mutatedChromosome = null;
+		for (long i = GeometricSkip.nextGap(random, logOfSkipProbability); i < length; i += GeometricSkip.nextGap(random, logOfSkipProbability) + 1l) {
+			if (mutatedChromosome == null)
+				mutatedChromosome = ChromosomePool.copyOf(chromosome);
+			int index = (int) i;
+			int swpNdx = index + random.nextInt(RANGE);
+			if (swpNdx >= length)
+				swpNdx = Math.max(0, index - random.nextInt(RANGE));
+			if (mutatedChromosome instanceof IntChromosome) {
+				IntChromosome c = (IntChromosome) mutatedChromosome;
+				int h = c.getInt(index);
+				c.setInt(index, c.getInt(swpNdx));
+				c.setInt(swpNdx, h);
+			} else {
+				int h = mutatedChromosome.getGeneValue(index);
+				mutatedChromosome.setGeneValue(index, mutatedChromosome.getGeneValue(swpNdx));
+				mutatedChromosome.setGeneValue(swpNdx, h);
+			}
+		}
+		return mutatedChromosome;
+	}
+
+}
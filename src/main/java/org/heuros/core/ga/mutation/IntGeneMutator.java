@@ -0,0 +1,39 @@
+package org.heuros.core.ga.mutation;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.IntChromosome;
+
+/**
+ * IntegerGeneMutator implementation for chromosomes that are backed by primitive int arrays.
+ * Falls back to IntegerGeneMutator if the chromosome does not implement IntChromosome.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class IntGeneMutator extends IntegerGeneMutator {
+
+	@Override
+	public Chromosome<Integer> mutate(Chromosome<Integer> chromosome, int iteration, float mutationRatio)
+			throws CloneNotSupportedException {
+		if (!(chromosome instanceof IntChromosome))
+			return super.mutate(chromosome, iteration, mutationRatio);
+
+		int maxGeneValueExc = this.getMaxGeneValueExc();
+		SplittableRandom random = GeneticRandom.current();
+		IntChromosome mutatedChromosome = null;
+		for (int i = 0; i < chromosome.getChromosomeLength(); i++) {
+			if (random.nextDouble() < mutationRatio) {
+				if (mutatedChromosome == null)
+					mutatedChromosome = (IntChromosome) ChromosomePool.copyOf(chromosome);
+				int newValue = (mutatedChromosome.getInt(i) + random.nextInt(maxGeneValueExc - 1) + 1) % maxGeneValueExc;
+				mutatedChromosome.setInt(i, newValue);
+			}
+		}
+		return mutatedChromosome;
+	}
+
+}
@@ -0,0 +1,42 @@
+package org.heuros.core.ga.mutation;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.IntChromosome;
+
+/**
+ * SwapGeneMutator implementation for chromosomes that are backed by primitive int arrays.
+ * Falls back to SwapGeneMutator if the chromosome does not implement IntChromosome.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class IntSwapGeneMutator extends SwapGeneMutator {
+
+	@Override
+	public Chromosome<Integer> mutate(Chromosome<Integer> chromosome, int iteration, float mutationRatio)
+			throws CloneNotSupportedException {
+		if (!(chromosome instanceof IntChromosome))
+			return super.mutate(chromosome, iteration, mutationRatio);
+
+		SplittableRandom random = GeneticRandom.current();
+		IntChromosome mutatedChromosome = null;
+		for (int i = 0; i < chromosome.getChromosomeLength(); i++) {
+			if (random.nextDouble() < mutationRatio) {
+				if (mutatedChromosome == null)
+					mutatedChromosome = (IntChromosome) ChromosomePool.copyOf(chromosome);
+				int h = mutatedChromosome.getInt(i);
+				int swpNdx = i + random.nextInt(RANGE);
+				if (swpNdx >= chromosome.getChromosomeLength())
+					swpNdx = Math.max(0, i - random.nextInt(RANGE));
+				mutatedChromosome.setInt(i, mutatedChromosome.getInt(swpNdx));
+				mutatedChromosome.setInt(swpNdx, h);
+			}
+		}
+		return mutatedChromosome;
+	}
+
+}
@@ -1,8 +1,10 @@
 package org.heuros.core.ga.mutation;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
+import org.heuros.core.ga.GeneticRandom;
 import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
 
 /**
  * Integer mutation operator that changes gene values as not to exceed a specific limit that is designated by maxGeneValueExc parameter.
@@ -12,24 +14,26 @@ import org.heuros.core.ga.chromosome.Chromosome;
  */
 public class IntegerGeneMutator implements Mutator<Integer> {
 
-	private static Random random = new Random();
-
 	private int maxGeneValueExc = 3;
 
+	public int getMaxGeneValueExc() {
+		return maxGeneValueExc;
+	}
+
 	public IntegerGeneMutator setMaxGeneValueExc(int value) {
 		this.maxGeneValueExc = value;
 		return this;
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public Chromosome<Integer> mutate(Chromosome<Integer> chromosome, int iteration, float mutationRatio)
 			throws CloneNotSupportedException {
+		SplittableRandom random = GeneticRandom.current();
 		Chromosome<Integer> mutatedChromosome = null;
 		for (int i = 0; i < chromosome.getChromosomeLength(); i++) {
-			if (IntegerGeneMutator.random.nextDouble() < mutationRatio) {
+			if (random.nextDouble() < mutationRatio) {
 				if (mutatedChromosome == null)
-					mutatedChromosome = (Chromosome<Integer>) chromosome.clone();
+					mutatedChromosome = ChromosomePool.copyOf(chromosome);
 				int newValue = (mutatedChromosome.getGeneValue(i) + random.nextInt(this.maxGeneValueExc - 1) + 1) % this.maxGeneValueExc;
 				mutatedChromosome.setGeneValue(i, newValue);
 			}
@@ -0,0 +1,59 @@
+package org.heuros.core.ga.mutation;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
+import org.heuros.core.ga.chromosome.PackedChromosome;
+
+/**
+ * IntegerGeneMutator implementation for packed chromosomes.
+ * Genes are mutated in a local copy of each word which is written back once, two valued genes are flipped with XOR.
+ * Falls back to IntGeneMutator if the chromosome is not packed, maxGeneValueExc must fit into the bits per gene.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class PackedGeneMutator extends IntGeneMutator {
+
+	@Override
+	public Chromosome<Integer> mutate(Chromosome<Integer> chromosome, int iteration, float mutationRatio)
+			throws CloneNotSupportedException {
+		if (!(chromosome instanceof PackedChromosome))
+			return super.mutate(chromosome, iteration, mutationRatio);
+
+		PackedChromosome packed = (PackedChromosome) chromosome;
+		int maxGeneValueExc = this.getMaxGeneValueExc();
+		int bitsPerGene = packed.getBitsPerGene();
+		long geneMask = (1l << bitsPerGene) - 1l;
+		int genesPerWord = 64 / bitsPerGene;
+		int length = packed.getChromosomeLength();
+
+		SplittableRandom random = GeneticRandom.current();
+		PackedChromosome mutatedChromosome = null;
+		for (int w = 0, firstGene = 0; firstGene < length; w++, firstGene += genesPerWord) {
+			int numOfGenes = Math.min(genesPerWord, length - firstGene);
+			long word = packed.getWord(w);
+			long mutatedWord = word;
+			for (int g = 0; g < numOfGenes; g++) {
+				if (random.nextDouble() < mutationRatio) {
+					int shift = g * bitsPerGene;
+					if (maxGeneValueExc == 2)
+						mutatedWord ^= 1l << shift;
+					else {
+						long newValue = (((mutatedWord >>> shift) & geneMask) + random.nextInt(maxGeneValueExc - 1) + 1) % maxGeneValueExc;
+						mutatedWord = (mutatedWord & ~(geneMask << shift)) | (newValue << shift);
+					}
+				}
+			}
+			if (mutatedWord != word) {
+				if (mutatedChromosome == null)
+					mutatedChromosome = (PackedChromosome) ChromosomePool.copyOf(chromosome);
+				mutatedChromosome.setWord(w, mutatedWord);
+			}
+		}
+		return mutatedChromosome;
+	}
+
+}
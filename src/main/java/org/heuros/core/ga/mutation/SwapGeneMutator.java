@@ -1,8 +1,10 @@
 package org.heuros.core.ga.mutation;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
+import org.heuros.core.ga.GeneticRandom;
 import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.ChromosomePool;
 
 /**
  * Integer mutation operator that changes gene values as not to exceed a specific limit that is designated by maxGeneValueExc parameter.
@@ -12,22 +14,24 @@ import org.heuros.core.ga.chromosome.Chromosome;
  */
 public class SwapGeneMutator implements Mutator<Integer> {
 
-	private static Random random = new Random();
-	private static int range = 100;
+	/**
+	 * Genes are swapped with one of the next RANGE genes, or one of the previous ones near the end of the chromosome.
+	 */
+	protected static final int RANGE = 100;
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public Chromosome<Integer> mutate(Chromosome<Integer> chromosome, int iteration, float mutationRatio)
 			throws CloneNotSupportedException {
+		SplittableRandom random = GeneticRandom.current();
 		Chromosome<Integer> mutatedChromosome = null;
 		for (int i = 0; i < chromosome.getChromosomeLength(); i++) {
-			if (SwapGeneMutator.random.nextDouble() < mutationRatio) {
+			if (random.nextDouble() < mutationRatio) {
 				if (mutatedChromosome == null)
-					mutatedChromosome = (Chromosome<Integer>) chromosome.clone();
+					mutatedChromosome = ChromosomePool.copyOf(chromosome);
 				int h = mutatedChromosome.getGeneValue(i);
-				int swpNdx = i + random.nextInt(range);
+				int swpNdx = i + random.nextInt(RANGE);
 				if (swpNdx >= chromosome.getChromosomeLength())
-					swpNdx = i - random.nextInt(range);
+					swpNdx = Math.max(0, i - random.nextInt(RANGE));
 				mutatedChromosome.setGeneValue(i, mutatedChromosome.getGeneValue(swpNdx));
 				mutatedChromosome.setGeneValue(swpNdx, h);
 			}
@@ -0,0 +1,130 @@
+package org.heuros.core.ga.remote;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import org.heuros.core.ga.checkpoint.CheckpointCodec;
+import org.heuros.core.ga.checkpoint.IntCheckpointCodec;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.IntChromosome;
+import org.heuros.core.ga.chromosome.PackedChromosome;
+
+/**
+ * Frames exchanged between a RemoteDecoderFarm and its DecodeWorker processes.
+ * Each frame is an int length followed by the payload, all values are big endian.
+ *
+ * Hello (worker to master): magic, version.
+ * Batch (master to worker): batch id, number of genomes, bound flag, bound fitness, genome format, chromosome length,
+ * bits per gene of packed genomes and the genomes.
+ * Result (worker to master): batch id, number of genomes and per genome decode nanos, status and fitness if it is decoded.
+ *
+ * Genomes of packed chromosomes are sent as their words, int chromosomes as ints and others with the gene codec.
+ *
+ * @author bahadrzeren
+ *
+ */
+final class DecodeProtocol {
+
+	static final int MAGIC = 0x48474157;
+	static final int VERSION = 1;
+
+	static final byte FORMAT_CODEC = 0;
+	static final byte FORMAT_INT = 1;
+	static final byte FORMAT_PACKED = 2;
+
+	static final byte STATUS_DECODED = 0;
+	static final byte STATUS_ABORTED = 1;
+	static final byte STATUS_FAILED = 2;
+
+	private DecodeProtocol() {
+	}
+
+	static byte formatOf(Chromosome<?> chromosome, CheckpointCodec<?> codec) {
+		if (chromosome instanceof PackedChromosome)
+			return FORMAT_PACKED;
+		if ((chromosome instanceof IntChromosome) && (codec instanceof IntCheckpointCodec))
+			return FORMAT_INT;
+		return FORMAT_CODEC;
+	}
+
+	/**
+	 * @return number of bytes of a genome in the format.
+	 */
+	static int genomeSize(byte format, Chromosome<?> chromosome, CheckpointCodec<?> codec) {
+		if (format == FORMAT_PACKED)
+			return 8 * ((PackedChromosome) chromosome).getNumOfWords();
+		if (format == FORMAT_INT)
+			return 4 * chromosome.getChromosomeLength();
+		return codec.getGeneSize() * chromosome.getChromosomeLength();
+	}
+
+	static <T> void writeGenome(ByteBuffer buffer, byte format, Chromosome<T> chromosome, CheckpointCodec<T> codec) {
+		if (format == FORMAT_PACKED) {
+			PackedChromosome c = (PackedChromosome) chromosome;
+			for (int w = 0; w < c.getNumOfWords(); w++)
+				buffer.putLong(c.getWord(w));
+		} else
+			if (format == FORMAT_INT) {
+				IntChromosome c = (IntChromosome) chromosome;
+				for (int i = 0; i < c.getChromosomeLength(); i++)
+					buffer.putInt(c.getInt(i));
+			} else
+				for (int i = 0; i < chromosome.getChromosomeLength(); i++)
+					codec.writeGene(buffer, chromosome.getGeneValue(i));
+	}
+
+	/**
+	 * Overwrites genes of the chromosome, it must have the length and the type of the sent chromosome.
+	 */
+	static <T> void readGenome(ByteBuffer buffer, byte format, Chromosome<T> chromosome, CheckpointCodec<T> codec) {
+		if (format == FORMAT_PACKED) {
+			PackedChromosome c = (PackedChromosome) chromosome;
+			for (int w = 0; w < c.getNumOfWords(); w++)
+				c.setWord(w, buffer.getLong());
+		} else
+			if (format == FORMAT_INT) {
+				IntChromosome c = (IntChromosome) chromosome;
+				for (int i = 0; i < c.getChromosomeLength(); i++)
+					c.setInt(i, buffer.getInt());
+			} else
+				for (int i = 0; i < chromosome.getChromosomeLength(); i++)
+					chromosome.setGeneValue(i, codec.readGene(buffer));
+	}
+
+	/**
+	 * Reads a whole frame into the buffer, a larger buffer is allocated if the frame does not fit.
+	 *
+	 * @return buffer which holds the payload between position zero and its limit.
+	 */
+	static ByteBuffer readFrame(SocketChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.clear().limit(4);
+		readFully(channel, buffer);
+		int length = buffer.getInt(0);
+		if (length < 0)
+			throw new IOException("Invalid frame length " + length + ".");
+		if (buffer.capacity() < length)
+			buffer = ByteBuffer.allocate(Math.max(length, 2 * buffer.capacity()));
+		buffer.clear().limit(length);
+		readFully(channel, buffer);
+		buffer.flip();
+		return buffer;
+	}
+
+	private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining())
+			if (channel.read(buffer) < 0)
+				throw new EOFException("Connection is closed.");
+	}
+
+	/**
+	 * Writes a frame whose payload is between position four and the position of the buffer, first four bytes are reserved for the length.
+	 */
+	static void writeFrame(SocketChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.putInt(0, buffer.position() - 4);
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+	}
+}
@@ -0,0 +1,205 @@
+package org.heuros.core.ga.remote;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.log4j.Logger;
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.checkpoint.CheckpointCodec;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.PackedChromosome;
+import org.heuros.core.ga.decoder.AbortedSolutionCost;
+import org.heuros.core.ga.decoder.BoundedDecoder;
+import org.heuros.core.ga.decoder.Decoder;
+
+/**
+ * Worker side of a RemoteDecoderFarm, it is run in a separate process which connects to the farm.
+ * Genes of the received chromosomes are copied into clones of a prototype chromosome which are decoded by the local decoder.
+ * Decoding of a batch is split between numOfThreads threads, the decoder must be thread safe if more than one thread is used.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output instances.
+ */
+public class DecodeWorker<T, O> {
+
+	private static Logger logger = Logger.getLogger(DecodeWorker.class);
+
+	private Decoder<T, O> decoder = null;
+	private Chromosome<T> prototype = null;
+	private CheckpointCodec<T> codec = null;
+	private int numOfThreads = 1;
+
+	private List<Chromosome<T>> chromosomes = new ArrayList<Chromosome<T>>();
+	private long[] decodeNanos = new long[0];
+	private byte[] statuses = new byte[0];
+
+	/**
+	 * @param decoder decoder of the chromosomes.
+	 * @param prototype chromosome initialized with the length and the set size of the optimized chromosomes.
+	 * @param codec codec of the farm.
+	 */
+	public DecodeWorker(Decoder<T, O> decoder, Chromosome<T> prototype, CheckpointCodec<T> codec) {
+		this.decoder = decoder;
+		this.prototype = prototype;
+		this.codec = codec;
+	}
+
+	public int getNumOfThreads() {
+		return numOfThreads;
+	}
+
+	public DecodeWorker<T, O> setNumOfThreads(int numOfThreads) {
+		this.numOfThreads = numOfThreads;
+		return this;
+	}
+
+	/**
+	 * Connects to the farm and decodes its batches until the connection is closed.
+	 * Connection is closed with an error if the genomes of a batch do not match the prototype, so the farm reassigns the batch.
+	 *
+	 * @param address address of the farm.
+	 * @throws IOException if the connection fails or the genomes do not match the prototype.
+	 */
+	public void run(InetSocketAddress address) throws IOException {
+		byte prototypeFormat = DecodeProtocol.formatOf(prototype, codec);
+		int prototypeBitsPerGene = (prototypeFormat == DecodeProtocol.FORMAT_PACKED ? ((PackedChromosome) prototype).getBitsPerGene() : 0);
+		ExecutorService executorService = (numOfThreads > 1 ? Executors.newFixedThreadPool(numOfThreads) : null);
+		try (SocketChannel channel = SocketChannel.open(address)) {
+			channel.socket().setTcpNoDelay(true);
+
+			ByteBuffer out = ByteBuffer.allocate(1 << 12);
+			out.position(4);
+			out.putInt(DecodeProtocol.MAGIC);
+			out.putInt(DecodeProtocol.VERSION);
+			DecodeProtocol.writeFrame(channel, out);
+
+			ByteBuffer in = ByteBuffer.allocate(1 << 16);
+			while (true) {
+				try {
+					in = DecodeProtocol.readFrame(channel, in);
+				} catch (IOException ex) {
+					logger.info("Decoder farm connection is closed.");
+					break;
+				}
+				int batchId = in.getInt();
+				int numOfChromosomes = in.getInt();
+				ISolutionCost bound = null;
+				int fitnessEnd = in.position() + 1 + codec.getFitnessSize();
+				if (in.get() != 0)
+					bound = codec.readFitness(in);
+				in.position(fitnessEnd);
+				byte format = in.get();
+				int length = in.getInt();
+				int bitsPerGene = in.getInt();
+				if ((format != prototypeFormat) || (length != prototype.getChromosomeLength()) || (bitsPerGene != prototypeBitsPerGene))
+					throw new IOException("Batch genomes (format " + format + ", length " + length + ", bits per gene " + bitsPerGene
+											+ ") do not match the prototype (format " + prototypeFormat + ", length " + prototype.getChromosomeLength()
+											+ ", bits per gene " + prototypeBitsPerGene + ").");
+
+				this.prepare(numOfChromosomes);
+				for (int i = 0; i < numOfChromosomes; i++)
+					DecodeProtocol.readGenome(in, format, chromosomes.get(i), codec);
+
+				this.decode(executorService, numOfChromosomes, bound);
+
+				int frameSize = 4 + 4 + 4 + numOfChromosomes * (8 + 1 + codec.getFitnessSize());
+				if (out.capacity() < frameSize)
+					out = ByteBuffer.allocate(Math.max(frameSize, 2 * out.capacity()));
+				out.clear();
+				out.position(4);
+				out.putInt(batchId);
+				out.putInt(numOfChromosomes);
+				for (int i = 0; i < numOfChromosomes; i++) {
+					out.putLong(decodeNanos[i]);
+					out.put(statuses[i]);
+					if (statuses[i] == DecodeProtocol.STATUS_DECODED)
+						codec.writeFitness(out, chromosomes.get(i).getFitness());
+				}
+				DecodeProtocol.writeFrame(channel, out);
+			}
+		} finally {
+			if (executorService != null)
+				executorService.shutdown();
+		}
+	}
+
+	/**
+	 * Keeps enough clones of the prototype, they are reused across the batches.
+	 */
+	@SuppressWarnings("unchecked")
+	private void prepare(int numOfChromosomes) throws IOException {
+		try {
+			while (chromosomes.size() < numOfChromosomes)
+				chromosomes.add((Chromosome<T>) prototype.clone());
+		} catch (CloneNotSupportedException ex) {
+			throw new IOException(ex);
+		}
+		if (decodeNanos.length < numOfChromosomes) {
+			decodeNanos = new long[numOfChromosomes];
+			statuses = new byte[numOfChromosomes];
+		}
+	}
+
+	private void decode(ExecutorService executorService, int numOfChromosomes, ISolutionCost bound) {
+		if (executorService == null) {
+			this.decode(0, numOfChromosomes, bound);
+			return;
+		}
+		int chunkSize = (numOfChromosomes + numOfThreads - 1) / numOfThreads;
+		List<Future<?>> futures = new ArrayList<Future<?>>(numOfThreads);
+		for (int start = 0; start < numOfChromosomes; start += chunkSize) {
+			final int from = start;
+			final int to = Math.min(start + chunkSize, numOfChromosomes);
+			futures.add(executorService.submit(new Runnable() {
+				@Override
+				public void run() {
+					decode(from, to, bound);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				logger.error(e);
+			} catch (ExecutionException e) {
+				logger.error(e);
+			}
+		}
+	}
+
+	private void decode(int from, int to, ISolutionCost bound) {
+		for (int i = from; i < to; i++) {
+			Chromosome<T> chromosome = chromosomes.get(i);
+			chromosome.setFitness(null);
+			long start = System.nanoTime();
+			try {
+				if (decoder instanceof BoundedDecoder)
+					((BoundedDecoder<T, O>) decoder).decode(chromosome, bound);
+				else
+					decoder.decode(chromosome);
+				if (AbortedSolutionCost.isAborted(chromosome))
+					statuses[i] = DecodeProtocol.STATUS_ABORTED;
+				else
+					if (chromosome.getFitness() == null)
+						statuses[i] = DecodeProtocol.STATUS_FAILED;
+					else
+						statuses[i] = DecodeProtocol.STATUS_DECODED;
+			} catch (RuntimeException ex) {
+				logger.error(ex);
+				statuses[i] = DecodeProtocol.STATUS_FAILED;
+			}
+			decodeNanos[i] = System.nanoTime() - start;
+		}
+	}
+}
@@ -0,0 +1,529 @@
+package org.heuros.core.ga.remote;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.log4j.Logger;
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.checkpoint.CheckpointCodec;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.PackedChromosome;
+import org.heuros.core.ga.decoder.AbortedSolutionCost;
+import org.heuros.core.ga.decoder.BoundedDecoder;
+import org.heuros.core.ga.metrics.GeneticMetrics;
+
+/**
+ * Master side of a decoder farm whose workers are DecodeWorker processes connected over loopback or network sockets.
+ * Chromosomes are split into batches which are sent to the workers with spare capacity,
+ * each worker keeps up to maxNumOfInFlightBatches batches in flight, so it receives its next batch while it decodes the current one.
+ * Batches in flight on a worker whose connection fails are sent to the other workers again.
+ *
+ * Genes and fitness values are encoded with a CheckpointCodec, info of the chromosomes and decoder outputs are not transferred.
+ * Optimizer decodes chromosome ranges in batches if its decoder is a farm, single decodes are sent as batches of one chromosome.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * @param <O> Type of the output instances.
+ */
+public class RemoteDecoderFarm<T, O> implements BoundedDecoder<T, O>, Closeable {
+
+	private static Logger logger = Logger.getLogger(RemoteDecoderFarm.class);
+
+	private CheckpointCodec<T> codec = null;
+	private int batchSize = 16;
+	private int maxNumOfInFlightBatches = 2;
+	private long workerTimeoutInMillis = 30000l;
+	private long batchTimeoutInMillis = 60000l;
+
+	private ServerSocketChannel serverChannel = null;
+	private Thread acceptor = null;
+	private volatile boolean closed = false;
+
+	private LinkedBlockingDeque<Batch> pendingBatches = new LinkedBlockingDeque<Batch>();
+	private List<WorkerConnection> workers = new CopyOnWriteArrayList<WorkerConnection>();
+	private AtomicInteger batchIds = new AtomicInteger();
+	private volatile long lastTimeWithWorkers = 0l;
+
+	private AtomicLong numOfReassignedBatches = new AtomicLong();
+	private volatile GeneticMetrics metrics = null;
+
+	public RemoteDecoderFarm(CheckpointCodec<T> codec) {
+		this.codec = codec;
+	}
+
+	/**
+	 * Starts listening for worker connections on the loopback address.
+	 *
+	 * @param port port number, zero picks a free port.
+	 * @return this farm.
+	 * @throws IOException if the port can not be bound.
+	 */
+	public RemoteDecoderFarm<T, O> start(int port) throws IOException {
+		return this.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+	/**
+	 * Starts listening for worker connections.
+	 *
+	 * @param address local address to bind.
+	 * @return this farm.
+	 * @throws IOException if the address can not be bound.
+	 */
+	public RemoteDecoderFarm<T, O> start(InetSocketAddress address) throws IOException {
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(address);
+		lastTimeWithWorkers = System.currentTimeMillis();
+		acceptor = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				acceptWorkers();
+			}
+		}, "decoder-farm-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+		return this;
+	}
+
+	/**
+	 * @return local port of the farm which workers connect to.
+	 * @throws IOException if the farm is not started.
+	 */
+	public int getPort() throws IOException {
+		return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+	}
+
+	private void acceptWorkers() {
+		while (!closed) {
+			try {
+				SocketChannel channel = serverChannel.accept();
+				channel.socket().setTcpNoDelay(true);
+				ByteBuffer hello = DecodeProtocol.readFrame(channel, ByteBuffer.allocate(16));
+				if ((hello.getInt() != DecodeProtocol.MAGIC) || (hello.getInt() != DecodeProtocol.VERSION)) {
+					logger.warn("Connection from " + channel.getRemoteAddress() + " is not a decode worker of this version.");
+					channel.close();
+					continue;
+				}
+				WorkerConnection worker = new WorkerConnection(channel);
+				workers.add(worker);
+				worker.start();
+				logger.info("Decode worker " + channel.getRemoteAddress() + " is connected.");
+			} catch (IOException ex) {
+				if (!closed)
+					logger.error(ex);
+			}
+		}
+	}
+
+	/**
+	 * Sets metrics to which decode latencies measured by the workers are recorded for the batch decodes.
+	 * Single decodes are timed by the decoder chain of the optimizer.
+	 *
+	 * @param metrics metrics of the optimizer or null.
+	 */
+	public void setMetrics(GeneticMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public List<O> decode(Chromosome<T> chromosome, ISolutionCost bound) {
+		@SuppressWarnings("unchecked")
+		Chromosome<T>[] chromosomes = new Chromosome[] { chromosome };
+		this.decode(chromosomes, 0, 1, bound, false);
+		return null;
+	}
+
+	/**
+	 * Decodes a range of chromosomes on the workers and waits for all of them.
+	 * Fitness of a chromosome aborted by a bounded decoder of a worker is set to AbortedSolutionCost.INSTANCE.
+	 *
+	 * @param chromosomes chromosome array.
+	 * @param from inclusive start index of the range.
+	 * @param to exclusive end index of the range.
+	 * @param bound bound passed to the bounded decoders of the workers or null.
+	 */
+	public void decode(Chromosome<T>[] chromosomes, int from, int to, ISolutionCost bound) {
+		this.decode(chromosomes, from, to, bound, true);
+	}
+
+	private void decode(Chromosome<T>[] chromosomes, int from, int to, ISolutionCost bound, boolean recordMetrics) {
+		if (from >= to)
+			return;
+		if (serverChannel == null)
+			throw new IllegalStateException("Decoder farm is not started.");
+
+		int numOfBatches = (to - from + batchSize - 1) / batchSize;
+		Request request = new Request(numOfBatches, recordMetrics);
+		for (int start = from; start < to; start += batchSize)
+			pendingBatches.add(new Batch(request, chromosomes, start, Math.min(start + batchSize, to), bound));
+
+		long requestTime = System.currentTimeMillis();
+		try {
+			while (!request.done.await(100, TimeUnit.MILLISECONDS)) {
+				if (closed)
+					throw new IllegalStateException("Decoder farm is closed.");
+				for (WorkerConnection worker : workers)
+					worker.expireBatches();
+				if (workers.isEmpty()
+						&& (System.currentTimeMillis() - Math.max(requestTime, lastTimeWithWorkers) > workerTimeoutInMillis))
+					throw new IllegalStateException("No decode worker is connected for " + workerTimeoutInMillis + " ms.");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for decode workers.", ex);
+		} finally {
+			/*
+			 * Batches of a failed request which are not sent yet are dropped.
+			 */
+			if (request.done.getCount() > 0)
+				pendingBatches.removeIf(b -> b.request == request);
+		}
+		if (request.failure.get() != null)
+			throw new IllegalStateException(request.failure.get());
+	}
+
+	/**
+	 * Stops accepting workers and closes their connections, workers exit when their connection is closed.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			if (serverChannel != null)
+				serverChannel.close();
+		} catch (IOException ex) {
+			logger.error(ex);
+		}
+		for (WorkerConnection worker : workers)
+			worker.close();
+		workers.clear();
+	}
+
+	public int getNumOfWorkers() {
+		return workers.size();
+	}
+
+	/**
+	 * @return number of batches which are sent again since the worker they were sent to was lost.
+	 */
+	public long getNumOfReassignedBatches() {
+		return numOfReassignedBatches.get();
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Sets maximum number of chromosomes sent to a worker in a single batch.
+	 *
+	 * @param batchSize number of chromosomes.
+	 * @return this farm.
+	 */
+	public RemoteDecoderFarm<T, O> setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	public int getMaxNumOfInFlightBatches() {
+		return maxNumOfInFlightBatches;
+	}
+
+	/**
+	 * Sets number of batches a worker may have in flight, more than one batch hides the round trip between the batches.
+	 * It is applied to the workers which connect afterwards.
+	 *
+	 * @param maxNumOfInFlightBatches number of batches per worker.
+	 * @return this farm.
+	 */
+	public RemoteDecoderFarm<T, O> setMaxNumOfInFlightBatches(int maxNumOfInFlightBatches) {
+		this.maxNumOfInFlightBatches = maxNumOfInFlightBatches;
+		return this;
+	}
+
+	public long getWorkerTimeoutInMillis() {
+		return workerTimeoutInMillis;
+	}
+
+	/**
+	 * Sets how long a decode waits while there is no connected worker before it fails.
+	 *
+	 * @param workerTimeoutInMillis timeout in milliseconds.
+	 * @return this farm.
+	 */
+	public RemoteDecoderFarm<T, O> setWorkerTimeoutInMillis(long workerTimeoutInMillis) {
+		this.workerTimeoutInMillis = workerTimeoutInMillis;
+		return this;
+	}
+
+	public long getBatchTimeoutInMillis() {
+		return batchTimeoutInMillis;
+	}
+
+	/**
+	 * Sets how long a worker may take to return a batch, connection of a worker which exceeds it is closed
+	 * and its batches are sent to the other workers.
+	 *
+	 * @param batchTimeoutInMillis timeout in milliseconds.
+	 * @return this farm.
+	 */
+	public RemoteDecoderFarm<T, O> setBatchTimeoutInMillis(long batchTimeoutInMillis) {
+		this.batchTimeoutInMillis = batchTimeoutInMillis;
+		return this;
+	}
+
+	/**
+	 * Chromosomes of a single decode call.
+	 */
+	private static class Request {
+		private CountDownLatch done = null;
+		private boolean recordMetrics = false;
+		private AtomicReference<String> failure = new AtomicReference<String>();
+
+		private Request(int numOfBatches, boolean recordMetrics) {
+			this.done = new CountDownLatch(numOfBatches);
+			this.recordMetrics = recordMetrics;
+		}
+	}
+
+	private class Batch {
+		private Request request = null;
+		private Chromosome<T>[] chromosomes = null;
+		private int from = 0;
+		private int to = 0;
+		private ISolutionCost bound = null;
+		private volatile long sendTime = 0l;
+
+		private Batch(Request request, Chromosome<T>[] chromosomes, int from, int to, ISolutionCost bound) {
+			this.request = request;
+			this.chromosomes = chromosomes;
+			this.from = from;
+			this.to = to;
+			this.bound = bound;
+		}
+	}
+
+	/**
+	 * Connection of a single worker with a sender thread which takes pending batches while the worker has spare capacity
+	 * and a receiver thread which sets fitness values of the returned batches.
+	 */
+	private class WorkerConnection {
+
+		private SocketChannel channel = null;
+		private Semaphore capacity = null;
+		private Map<Integer, Batch> inFlightBatches = new ConcurrentHashMap<Integer, Batch>();
+		private AtomicInteger state = new AtomicInteger();
+		private Thread sender = null;
+		private Thread receiver = null;
+
+		private WorkerConnection(SocketChannel channel) {
+			this.channel = channel;
+			this.capacity = new Semaphore(maxNumOfInFlightBatches);
+		}
+
+		private void start() {
+			sender = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					send();
+				}
+			}, "decoder-farm-sender");
+			receiver = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					receive();
+				}
+			}, "decoder-farm-receiver");
+			sender.setDaemon(true);
+			receiver.setDaemon(true);
+			sender.start();
+			receiver.start();
+		}
+
+		private void send() {
+			ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+			try {
+				while (state.get() == 0) {
+					capacity.acquire();
+					Batch batch = pendingBatches.take();
+					if (state.get() != 0) {
+						pendingBatches.addFirst(batch);
+						break;
+					}
+					int batchId = batchIds.incrementAndGet();
+					inFlightBatches.put(batchId, batch);
+					if (state.get() != 0) {
+						this.reassign(batchId);
+						break;
+					}
+					buffer = this.encode(buffer, batchId, batch);
+					batch.sendTime = System.currentTimeMillis();
+					DecodeProtocol.writeFrame(channel, buffer);
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			} catch (IOException | RuntimeException ex) {
+				this.fail(ex);
+			}
+		}
+
+		private ByteBuffer encode(ByteBuffer buffer, int batchId, Batch batch) {
+			Chromosome<T> first = batch.chromosomes[batch.from];
+			byte format = DecodeProtocol.formatOf(first, codec);
+			int genomeSize = DecodeProtocol.genomeSize(format, first, codec);
+			int frameSize = 4 + 4 + 4 + 1 + codec.getFitnessSize() + 1 + 4 + 4 + (batch.to - batch.from) * genomeSize;
+			if (buffer.capacity() < frameSize)
+				buffer = ByteBuffer.allocate(Math.max(frameSize, 2 * buffer.capacity()));
+
+			buffer.clear();
+			buffer.position(4);
+			buffer.putInt(batchId);
+			buffer.putInt(batch.to - batch.from);
+			int fitnessEnd = buffer.position() + 1 + codec.getFitnessSize();
+			if (batch.bound != null) {
+				buffer.put((byte) 1);
+				codec.writeFitness(buffer, batch.bound);
+			} else
+				buffer.put((byte) 0);
+			buffer.position(fitnessEnd);
+			buffer.put(format);
+			buffer.putInt(first.getChromosomeLength());
+			buffer.putInt(format == DecodeProtocol.FORMAT_PACKED ? ((PackedChromosome) first).getBitsPerGene() : 0);
+			for (int i = batch.from; i < batch.to; i++)
+				DecodeProtocol.writeGenome(buffer, format, batch.chromosomes[i], codec);
+			return buffer;
+		}
+
+		/**
+		 * Results of a batch are parsed before they are applied, so the batch stays in flight and is reassigned
+		 * if its result frame is corrupt.
+		 */
+		private void receive() {
+			ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+			long[] decodeNanos = new long[0];
+			byte[] statuses = new byte[0];
+			ISolutionCost[] fitnesses = new ISolutionCost[0];
+			try {
+				while (state.get() == 0) {
+					buffer = DecodeProtocol.readFrame(channel, buffer);
+					int batchId = buffer.getInt();
+					int numOfChromosomes = buffer.getInt();
+					Batch batch = inFlightBatches.get(batchId);
+					if ((batch == null) || (numOfChromosomes != batch.to - batch.from))
+						throw new IOException("Unexpected result of batch " + batchId + ".");
+
+					if (decodeNanos.length < numOfChromosomes) {
+						decodeNanos = new long[numOfChromosomes];
+						statuses = new byte[numOfChromosomes];
+						fitnesses = new ISolutionCost[numOfChromosomes];
+					}
+					for (int i = 0; i < numOfChromosomes; i++) {
+						decodeNanos[i] = buffer.getLong();
+						statuses[i] = buffer.get();
+						fitnesses[i] = (statuses[i] == DecodeProtocol.STATUS_DECODED ? codec.readFitness(buffer) : null);
+					}
+
+					if (inFlightBatches.remove(batchId) == null)
+						continue;
+
+					GeneticMetrics m = (batch.request.recordMetrics ? metrics : null);
+					for (int i = 0; i < numOfChromosomes; i++) {
+						Chromosome<T> chromosome = batch.chromosomes[batch.from + i];
+						if (statuses[i] == DecodeProtocol.STATUS_DECODED)
+							chromosome.setFitness(fitnesses[i]);
+						else
+							if (statuses[i] == DecodeProtocol.STATUS_ABORTED) {
+								chromosome.setFitness(AbortedSolutionCost.INSTANCE);
+								if (m != null)
+									m.recordAbortedDecode();
+							} else
+								batch.request.failure.compareAndSet(null, "Decoding failed on worker " + channel.getRemoteAddress() + ".");
+						if (m != null)
+							m.recordEvaluation(decodeNanos[i]);
+						fitnesses[i] = null;
+					}
+					batch.request.done.countDown();
+					capacity.release();
+				}
+			} catch (IOException | RuntimeException ex) {
+				this.fail(ex);
+			}
+		}
+
+		/**
+		 * Fails the connection if one of its batches is not returned within the batch timeout.
+		 */
+		private void expireBatches() {
+			long now = System.currentTimeMillis();
+			for (Batch batch : inFlightBatches.values()) {
+				long sendTime = batch.sendTime;
+				if ((sendTime > 0l) && (now - sendTime > batchTimeoutInMillis)) {
+					this.fail(new IOException("Batch is not returned in " + batchTimeoutInMillis + " ms."));
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Closes the connection once and sends its in flight batches to the other workers.
+		 */
+		private void fail(Exception ex) {
+			if (!state.compareAndSet(0, 1))
+				return;
+			workers.remove(this);
+			if (workers.isEmpty())
+				lastTimeWithWorkers = System.currentTimeMillis();
+			this.closeChannel();
+			sender.interrupt();
+			if (!closed) {
+				logger.warn("Decode worker is lost, " + inFlightBatches.size() + " batches are reassigned: " + ex);
+				for (Integer batchId : new ArrayList<Integer>(inFlightBatches.keySet()))
+					this.reassign(batchId);
+			}
+		}
+
+		/**
+		 * Sends the batch to the other workers, sender and fail may both try to reassign the same batch.
+		 */
+		private void reassign(int batchId) {
+			Batch batch = inFlightBatches.remove(batchId);
+			if (batch != null) {
+				batch.sendTime = 0l;
+				pendingBatches.addFirst(batch);
+				numOfReassignedBatches.incrementAndGet();
+			}
+		}
+
+		private void close() {
+			if (state.compareAndSet(0, 1)) {
+				this.closeChannel();
+				sender.interrupt();
+			}
+		}
+
+		private void closeChannel() {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				logger.error(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package org.heuros.core.ga.replacement;
+
+import java.util.Comparator;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Orders chromosomes from the best to the worst according to ISolutionCost.doesPerformBetterThan.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class FitnessComparator<T> implements Comparator<Chromosome<T>> {
+
+	@Override
+	public int compare(Chromosome<T> c1, Chromosome<T> c2) {
+		if (c1.getFitness().doesPerformBetterThan(c2.getFitness()))
+			return -1;
+		if (c2.getFitness().doesPerformBetterThan(c1.getFitness()))
+			return 1;
+		return 0;
+	}
+}
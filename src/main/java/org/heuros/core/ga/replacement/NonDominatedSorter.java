@@ -0,0 +1,281 @@
+package org.heuros.core.ga.replacement;
+
+import java.util.stream.IntStream;
+
+/**
+ * Non-dominated sorting of objective vectors, all objectives are minimized.
+ * 
+ * Implements efficient non-dominated sort with binary search (ENS-BS): points are processed in lexicographic order,
+ * so a point can only be dominated by the points processed before it, and each point is assigned to the first front
+ * which has no member dominating it. That front is found by binary search over the fronts.
+ * Two objective problems need a single comparison per front, so they are sorted in O(N log N).
+ * 
+ * If parallelThreshold is set, larger point sets with more than two objectives are processed in blocks.
+ * Fronts of the points of a block are searched in parallel among the points of the previous blocks
+ * and they are raised by the dominating points of the same block afterwards, since the front of a point
+ * is one more than the highest front of the points dominating it.
+ * Working arrays are kept between calls.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class NonDominatedSorter {
+
+	private static final int BLOCK_SIZE = 512;
+
+	/**
+	 * Minimum number of points to sort in parallel, zero disables parallel sorting.
+	 */
+	private int parallelThreshold = 0;
+
+	private int[] order = new int[0];
+	private int[] buffer = new int[0];
+	private int[] blockFronts = new int[BLOCK_SIZE];
+
+	private int[][] fronts = new int[0][];
+	private int[] frontSizes = new int[0];
+	private int numOfFronts = 0;
+
+	/**
+	 * Assigns points to fronts.
+	 * 
+	 * @param objectives objective vectors, all of them have the same number of objectives.
+	 * @param numOfPoints number of points at the beginning of the array.
+	 * @return number of fronts.
+	 */
+	public int sort(final double[][] objectives, int numOfPoints) {
+		numOfFronts = 0;
+		if (numOfPoints == 0)
+			return 0;
+
+		this.ensureCapacity(numOfPoints);
+		for (int i = 0; i < numOfPoints; i++)
+			order[i] = i;
+		sortIndices(order, buffer, 0, numOfPoints, objectives, -1);
+
+		final int numOfObjectives = objectives[order[0]].length;
+
+		if ((parallelThreshold > 0) && (numOfPoints >= parallelThreshold) && (numOfObjectives > 2)) {
+			for (int blockStart = 0; blockStart < numOfPoints; blockStart += BLOCK_SIZE) {
+				final int from = blockStart;
+				int to = Math.min(blockStart + BLOCK_SIZE, numOfPoints);
+
+				IntStream.range(from, to).parallel().forEach(i -> blockFronts[i - from] = this.searchFront(objectives, numOfObjectives, order[i]));
+
+				for (int i = from; i < to; i++) {
+					int front = blockFronts[i - from];
+					double[] p = objectives[order[i]];
+					for (int j = from; j < i; j++)
+						if ((blockFronts[j - from] >= front) && dominatesPreceding(objectives[order[j]], p))
+							front = blockFronts[j - from] + 1;
+					blockFronts[i - from] = front;
+				}
+
+				for (int i = from; i < to; i++)
+					this.addToFront(blockFronts[i - from], order[i]);
+			}
+		} else {
+			for (int i = 0; i < numOfPoints; i++)
+				this.addToFront(this.searchFront(objectives, numOfObjectives, order[i]), order[i]);
+		}
+
+		return numOfFronts;
+	}
+
+	/**
+	 * Finds the first front which has no member dominating the point.
+	 * 
+	 * @return front index, it is numOfFronts if all fronts have a dominating member.
+	 */
+	private int searchFront(double[][] objectives, int numOfObjectives, int p) {
+		int lo = 0;
+		int hi = numOfFronts;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (this.isDominatedByFront(objectives, numOfObjectives, mid, p))
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
+	private void addToFront(int front, int p) {
+		while (front >= numOfFronts)
+			this.addFront();
+		if (frontSizes[front] == fronts[front].length) {
+			int[] f = new int[fronts[front].length * 2];
+			System.arraycopy(fronts[front], 0, f, 0, frontSizes[front]);
+			fronts[front] = f;
+		}
+		fronts[front][frontSizes[front]++] = p;
+	}
+
+	private boolean isDominatedByFront(double[][] objectives, int numOfObjectives, int front, int p) {
+		int[] members = fronts[front];
+		int size = frontSizes[front];
+
+		if (numOfObjectives == 2) {
+			/*
+			 * Members of a front are ordered by the first objective, so the last member has the smallest second objective.
+			 */
+			return dominatesPreceding(objectives[members[size - 1]], objectives[p]);
+		}
+
+		/*
+		 * Later members are closer to the point in the first objective and more likely to dominate it.
+		 */
+		for (int j = size - 1; j >= 0; j--)
+			if (dominatesPreceding(objectives[members[j]], objectives[p]))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Checks dominance of a point which precedes the other one in lexicographic order.
+	 */
+	private static boolean dominatesPreceding(double[] q, double[] p) {
+		boolean better = (q[0] < p[0]);
+		for (int k = 1; k < q.length; k++) {
+			if (q[k] > p[k])
+				return false;
+			if (q[k] < p[k])
+				better = true;
+		}
+		return better;
+	}
+
+	private void addFront() {
+		if (numOfFronts == fronts.length) {
+			int capacity = Math.max(8, fronts.length * 2);
+			int[][] f = new int[capacity][];
+			System.arraycopy(fronts, 0, f, 0, numOfFronts);
+			fronts = f;
+			int[] s = new int[capacity];
+			System.arraycopy(frontSizes, 0, s, 0, numOfFronts);
+			frontSizes = s;
+		}
+		if (fronts[numOfFronts] == null)
+			fronts[numOfFronts] = new int[16];
+		frontSizes[numOfFronts] = 0;
+		numOfFronts++;
+	}
+
+	private void ensureCapacity(int numOfPoints) {
+		if (order.length < numOfPoints) {
+			order = new int[numOfPoints];
+			buffer = new int[numOfPoints];
+		}
+	}
+
+	public int getNumOfFronts() {
+		return numOfFronts;
+	}
+
+	public int getFrontSize(int front) {
+		return frontSizes[front];
+	}
+
+	/**
+	 * Gives the members of a front, only the first getFrontSize(front) elements are valid
+	 * and they are overwritten by the next sort.
+	 * 
+	 * @param front front index, zero is the non-dominated front.
+	 * @return point indices.
+	 */
+	public int[] getFrontMembers(int front) {
+		return fronts[front];
+	}
+
+	/**
+	 * Calculates crowding distances of the members of a front, boundary points get infinite distance.
+	 * 
+	 * @param objectives objective vectors.
+	 * @param members point indices of the front.
+	 * @param size number of members.
+	 * @param distances crowding distances indexed by point index.
+	 */
+	public void calculateCrowdingDistances(double[][] objectives, int[] members, int size, double[] distances) {
+		for (int i = 0; i < size; i++)
+			distances[members[i]] = 0.0;
+		if (size <= 2) {
+			for (int i = 0; i < size; i++)
+				distances[members[i]] = Double.POSITIVE_INFINITY;
+			return;
+		}
+
+		this.ensureCapacity(size);
+		int numOfObjectives = objectives[members[0]].length;
+
+		for (int m = 0; m < numOfObjectives; m++) {
+			System.arraycopy(members, 0, order, 0, size);
+			sortIndices(order, buffer, 0, size, objectives, m);
+
+			double min = objectives[order[0]][m];
+			double max = objectives[order[size - 1]][m];
+			distances[order[0]] = Double.POSITIVE_INFINITY;
+			distances[order[size - 1]] = Double.POSITIVE_INFINITY;
+			if (max <= min)
+				continue;
+			for (int i = 1; i < size - 1; i++)
+				distances[order[i]] += (objectives[order[i + 1]][m] - objectives[order[i - 1]][m]) / (max - min);
+		}
+	}
+
+	/**
+	 * Stable merge sort of point indices by a single objective or lexicographically if objective is negative.
+	 */
+	private static void sortIndices(int[] indices, int[] tmp, int from, int to, double[][] objectives, int objective) {
+		if (to - from < 2)
+			return;
+		if (to - from <= 16) {
+			for (int i = from + 1; i < to; i++) {
+				int v = indices[i];
+				int j = i - 1;
+				while ((j >= from) && (compare(objectives, indices[j], v, objective) > 0)) {
+					indices[j + 1] = indices[j];
+					j--;
+				}
+				indices[j + 1] = v;
+			}
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		sortIndices(indices, tmp, from, mid, objectives, objective);
+		sortIndices(indices, tmp, mid, to, objectives, objective);
+		if (compare(objectives, indices[mid - 1], indices[mid], objective) <= 0)
+			return;
+		System.arraycopy(indices, from, tmp, from, to - from);
+		int i = from;
+		int j = mid;
+		int k = from;
+		while ((i < mid) && (j < to))
+			indices[k++] = (compare(objectives, tmp[j], tmp[i], objective) < 0 ? tmp[j++] : tmp[i++]);
+		while (i < mid)
+			indices[k++] = tmp[i++];
+		while (j < to)
+			indices[k++] = tmp[j++];
+	}
+
+	private static int compare(double[][] objectives, int a, int b, int objective) {
+		if (objective >= 0)
+			return Double.compare(objectives[a][objective], objectives[b][objective]);
+		double[] oa = objectives[a];
+		double[] ob = objectives[b];
+		for (int k = 0; k < oa.length; k++) {
+			int c = Double.compare(oa[k], ob[k]);
+			if (c != 0)
+				return c;
+		}
+		return 0;
+	}
+
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	public NonDominatedSorter setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+		return this;
+	}
+}
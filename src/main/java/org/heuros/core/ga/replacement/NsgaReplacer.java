@@ -0,0 +1,122 @@
+package org.heuros.core.ga.replacement;
+
+import java.util.Arrays;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.MultiObjectiveCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * NSGA-II replacement for chromosomes with multi-objective costs.
+ * Survivors are chosen front by front and the last front which does not fit is truncated by crowding distance.
+ * 
+ * Survivors are placed in crowded comparison order: by front and by descending crowding distance within a front,
+ * so a lower index is better and index based tournaments act as crowded tournaments.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class NsgaReplacer<T> {
+
+	private NonDominatedSorter sorter = new NonDominatedSorter();
+
+	private double[][] objectives = new double[0][];
+	private double[] distances = new double[0];
+	private int[] tmp = new int[0];
+	private Chromosome<T>[] buffer = null;
+
+	private int firstFrontSize = 0;
+
+	/**
+	 * Orders population[0, extendedPopSize) so that population[0, populationSize) holds the survivors in crowded comparison order.
+	 * 
+	 * @param population chromosome array.
+	 * @param populationSize number of survivors.
+	 * @param extendedPopSize number of candidates at the beginning of the array.
+	 */
+	@SuppressWarnings("unchecked")
+	public void replace(Chromosome<T>[] population, int populationSize, int extendedPopSize) {
+		this.ensureCapacity(extendedPopSize);
+
+		for (int i = 0; i < extendedPopSize; i++) {
+			ISolutionCost cost = population[i].getFitness();
+			if (!(cost instanceof MultiObjectiveCost))
+				throw new IllegalStateException("Non-dominated sorting requires MultiObjectiveCost fitness values.");
+			MultiObjectiveCost c = (MultiObjectiveCost) cost;
+			if ((objectives[i] == null) || (objectives[i].length != c.getNumOfObjectives()))
+				objectives[i] = new double[c.getNumOfObjectives()];
+			for (int m = 0; m < objectives[i].length; m++)
+				objectives[i][m] = c.getObjective(m);
+		}
+
+		int numOfFronts = sorter.sort(objectives, extendedPopSize);
+
+		if ((buffer == null) || (buffer.length < extendedPopSize))
+			buffer = new Chromosome[extendedPopSize];
+		System.arraycopy(population, 0, buffer, 0, extendedPopSize);
+
+		firstFrontSize = (numOfFronts > 0 ? Math.min(sorter.getFrontSize(0), populationSize) : 0);
+
+		int k = 0;
+		for (int f = 0; f < numOfFronts; f++) {
+			int[] members = sorter.getFrontMembers(f);
+			int size = sorter.getFrontSize(f);
+			if (k < populationSize) {
+				sorter.calculateCrowdingDistances(objectives, members, size, distances);
+				this.sortByDescendingDistance(members, size);
+			}
+			for (int i = 0; i < size; i++)
+				population[k++] = buffer[members[i]];
+		}
+
+		Arrays.fill(buffer, 0, extendedPopSize, null);
+	}
+
+	/**
+	 * Stable merge sort of front members by descending crowding distance.
+	 */
+	private void sortByDescendingDistance(int[] members, int size) {
+		if (tmp.length < size)
+			tmp = new int[size];
+		mergeSort(members, tmp, 0, size);
+	}
+
+	private void mergeSort(int[] a, int[] tmp, int from, int to) {
+		if (to - from < 2)
+			return;
+		int mid = (from + to) >>> 1;
+		mergeSort(a, tmp, from, mid);
+		mergeSort(a, tmp, mid, to);
+		System.arraycopy(a, from, tmp, from, to - from);
+		int i = from;
+		int j = mid;
+		int k = from;
+		while ((i < mid) && (j < to))
+			a[k++] = (distances[tmp[j]] > distances[tmp[i]] ? tmp[j++] : tmp[i++]);
+		while (i < mid)
+			a[k++] = tmp[i++];
+		while (j < to)
+			a[k++] = tmp[j++];
+	}
+
+	private void ensureCapacity(int size) {
+		if (objectives.length < size) {
+			double[][] o = new double[size][];
+			System.arraycopy(objectives, 0, o, 0, objectives.length);
+			objectives = o;
+			distances = new double[size];
+		}
+	}
+
+	/**
+	 * @return number of survivors in the non-dominated front after the last replacement.
+	 */
+	public int getFirstFrontSize() {
+		return firstFrontSize;
+	}
+
+	public NonDominatedSorter getSorter() {
+		return sorter;
+	}
+}
@@ -0,0 +1,91 @@
+package org.heuros.core.ga.replacement;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Keeps population array ordered from the best to the worst chromosome.
+ * New children are sorted on their own and merged into the already ordered population in linear time
+ * instead of ordering the whole extended population at each generation.
+ *
+ * Ties are resolved in favor of chromosomes that are already in the population.
+ *
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public class SortedMergeReplacer<T> {
+
+	private Comparator<Chromosome<T>> comparator = new FitnessComparator<T>();
+
+	/**
+	 * Minimum range size to use Arrays.parallelSort, zero disables parallel sorting.
+	 */
+	private int parallelSortThreshold = 0;
+
+	private Chromosome<T>[] buffer = null;
+
+	/**
+	 * Orders a range of the population array.
+	 *
+	 * @param population population array.
+	 * @param from inclusive start index of the range.
+	 * @param to exclusive end index of the range.
+	 */
+	public void sort(Chromosome<T>[] population, int from, int to) {
+		if (to - from < 2)
+			return;
+		if ((parallelSortThreshold > 0) && (to - from >= parallelSortThreshold))
+			Arrays.parallelSort(population, from, to, comparator);
+		else
+			Arrays.sort(population, from, to, comparator);
+	}
+
+	/**
+	 * Orders new children which are appended right after the ordered population and merges them into the population.
+	 *
+	 * @param population population array which has ordered chromosomes in [0, populationSize) and children in [populationSize, extendedPopSize).
+	 * @param populationSize number of ordered chromosomes at the beginning of the array.
+	 * @param extendedPopSize exclusive end index of the appended children.
+	 */
+	@SuppressWarnings("unchecked")
+	public void merge(Chromosome<T>[] population, int populationSize, int extendedPopSize) {
+		int numOfChildren = extendedPopSize - populationSize;
+		if (numOfChildren <= 0)
+			return;
+
+		this.sort(population, populationSize, extendedPopSize);
+
+		if ((populationSize == 0)
+				|| (comparator.compare(population[populationSize - 1], population[populationSize]) <= 0))
+			return;
+
+		if ((buffer == null) || (buffer.length < numOfChildren))
+			buffer = new Chromosome[numOfChildren];
+		System.arraycopy(population, populationSize, buffer, 0, numOfChildren);
+
+		int i = populationSize - 1;
+		int j = numOfChildren - 1;
+		int k = extendedPopSize - 1;
+
+		while (j >= 0) {
+			if ((i >= 0) && (comparator.compare(population[i], buffer[j]) > 0))
+				population[k--] = population[i--];
+			else
+				population[k--] = buffer[j--];
+		}
+
+		Arrays.fill(buffer, 0, numOfChildren, null);
+	}
+
+	public int getParallelSortThreshold() {
+		return parallelSortThreshold;
+	}
+
+	public SortedMergeReplacer<T> setParallelSortThreshold(int parallelSortThreshold) {
+		this.parallelSortThreshold = parallelSortThreshold;
+		return this;
+	}
+}
@@ -0,0 +1,106 @@
+package org.heuros.core.ga.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * Roulette wheel selection with linear ranking probabilities which draws each parent in constant time with Walker's alias method.
+ * Alias table is built once per population size and selection pressure.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * 
+ * @see Selector
+ */
+public class AliasSelector<T> extends RankSelector<T> {
+
+	private double selectionPressure = 1.5;
+
+	/*
+	 * Alias table of the last population size, replaced as a whole so breeding threads can share it.
+	 */
+	private volatile AliasTable aliasTable = null;
+
+	private AliasTable aliasTableOf(int range) {
+		AliasTable table = aliasTable;
+		if ((table == null) || (table.alias.length != range)) {
+			table = new AliasTable(LinearRanking.probabilitiesOf(range, selectionPressure));
+			aliasTable = table;
+		}
+		return table;
+	}
+
+	@Override
+	protected int selectIndex(SplittableRandom random, int range) {
+		AliasTable table = this.aliasTableOf(range);
+		int ndx = random.nextInt(range);
+		if (random.nextDouble() < table.probabilities[ndx])
+			return ndx;
+		return table.alias[ndx];
+	}
+
+	public double getSelectionPressure() {
+		return selectionPressure;
+	}
+
+	/**
+	 * Sets selection pressure of the linear ranking.
+	 * 
+	 * @param selectionPressure expected number of selections of the best chromosome per population size selections, in [1, 2].
+	 * @return this selector.
+	 */
+	public AliasSelector<T> setSelectionPressure(double selectionPressure) {
+		LinearRanking.probabilitiesOf(1, selectionPressure);
+		this.selectionPressure = selectionPressure;
+		this.aliasTable = null;
+		return this;
+	}
+
+	/**
+	 * Vose's construction of the alias table, slot i keeps i with probabilities[i] and alias[i] otherwise.
+	 */
+	private static class AliasTable {
+		private double[] probabilities = null;
+		private int[] alias = null;
+
+		private AliasTable(double[] selectionProbabilities) {
+			int n = selectionProbabilities.length;
+			probabilities = new double[n];
+			alias = new int[n];
+
+			double[] scaled = new double[n];
+			int[] small = new int[n];
+			int[] large = new int[n];
+			int numOfSmall = 0;
+			int numOfLarge = 0;
+			for (int i = 0; i < n; i++) {
+				scaled[i] = selectionProbabilities[i] * n;
+				if (scaled[i] < 1.0)
+					small[numOfSmall++] = i;
+				else
+					large[numOfLarge++] = i;
+			}
+			while ((numOfSmall > 0) && (numOfLarge > 0)) {
+				int s = small[--numOfSmall];
+				int l = large[--numOfLarge];
+				probabilities[s] = scaled[s];
+				alias[s] = l;
+				scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+				if (scaled[l] < 1.0)
+					small[numOfSmall++] = l;
+				else
+					large[numOfLarge++] = l;
+			}
+			while (numOfLarge > 0) {
+				int l = large[--numOfLarge];
+				probabilities[l] = 1.0;
+				alias[l] = l;
+			}
+			while (numOfSmall > 0) {
+				int s = small[--numOfSmall];
+				probabilities[s] = 1.0;
+				alias[s] = s;
+			}
+		}
+	}
+}
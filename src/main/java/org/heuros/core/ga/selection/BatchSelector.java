@@ -0,0 +1,24 @@
+package org.heuros.core.ga.selection;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Selector which can draw the parents of a whole generation in one pass.
+ * Optimizer draws parent indexes in batches instead of selecting parents one by one if its selector implements this interface.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public interface BatchSelector<T> extends Selector<T> {
+    /**
+     * Selects parents for reproduction, the order of the indexes is random so consecutive indexes can be paired.
+     * Must be thread safe, breeding threads call it concurrently with their own parent index arrays.
+     * 
+     * @param population current population of the genetic optimizer, it is in best first order.
+     * @param range size of the population.
+     * @param parentIndexes array which is filled with population indexes of the selected parents.
+     * @param numOfParents number of parents to be selected.
+     */
+    public void selectN(Chromosome<T>[] population, int range, int[] parentIndexes, int numOfParents);
+}
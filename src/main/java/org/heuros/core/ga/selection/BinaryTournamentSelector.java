@@ -8,8 +8,9 @@
 
 package org.heuros.core.ga.selection;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
+import org.heuros.core.ga.GeneticRandom;
 import org.heuros.core.ga.chromosome.Chromosome;
 
 /**
@@ -21,8 +22,6 @@ import org.heuros.core.ga.chromosome.Chromosome;
  */
 public class BinaryTournamentSelector<T> implements Selector<T> {
 
-	private static Random random = new Random();
-
 	/**
      * {@inheritDoc}
      */
@@ -30,6 +29,8 @@ public class BinaryTournamentSelector<T> implements Selector<T> {
     public Chromosome<T> selectChromosomeForReproduction(Chromosome<T>[] population,
                                                                 int range) {
 
+        SplittableRandom random = GeneticRandom.current();
+
         Chromosome<T> c1 = population[(int) Math.floor(random.nextDouble() * range)];
         Chromosome<T> c2 = population[(int) Math.floor(random.nextDouble() * range)];
 
@@ -53,6 +54,8 @@ public class BinaryTournamentSelector<T> implements Selector<T> {
 
         int range = rangeEnd - rangeStart;
 
+        SplittableRandom random = GeneticRandom.current();
+
         if (range > 1) {
             int firstCandidateIndex = rangeStart + (int) Math.floor(random.nextDouble() * range);
             Chromosome<T> c1 = population[firstCandidateIndex];
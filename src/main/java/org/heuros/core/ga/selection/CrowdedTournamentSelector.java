@@ -0,0 +1,63 @@
+package org.heuros.core.ga.selection;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Binary tournament which prefers the chromosome at the lower index.
+ * Used with the non-dominated sorting replacement which keeps the population in crowded comparison order,
+ * so the tournament compares front ranks and crowding distances without recalculating them.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * 
+ * @see Selector
+ */
+public class CrowdedTournamentSelector<T> implements Selector<T> {
+
+	/**
+     * {@inheritDoc}
+     */
+    @Override
+    public Chromosome<T> selectChromosomeForReproduction(Chromosome<T>[] population,
+                                                                int range) {
+
+        SplittableRandom random = GeneticRandom.current();
+
+        int ndx1 = random.nextInt(range);
+        int ndx2 = random.nextInt(range);
+
+        while ((range > 1) && (ndx1 == ndx2))
+            ndx2 = random.nextInt(range);
+
+        return population[Math.min(ndx1, ndx2)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void replaceChromosomeForSurvival(Chromosome<T>[] population,
+                                                int rangeStart,
+                                                int rangeEnd) {
+
+        int range = rangeEnd - rangeStart;
+
+        if (range > 1) {
+            SplittableRandom random = GeneticRandom.current();
+
+            int ndx1 = rangeStart + random.nextInt(range);
+            int ndx2 = rangeStart + random.nextInt(range);
+            while (ndx1 == ndx2)
+                ndx2 = rangeStart + random.nextInt(range);
+
+            int ndxWinner = Math.min(ndx1, ndx2);
+            Chromosome<T> c = population[rangeStart];
+            population[rangeStart] = population[ndxWinner];
+            population[ndxWinner] = c;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.heuros.core.ga.selection;
+
+/**
+ * Selection probabilities of linear ranking.
+ * Best of n chromosomes is selected with probability s / n and the worst with (2 - s) / n,
+ * where the selection pressure s is in [1, 2].
+ * 
+ * @author bahadrzeren
+ *
+ */
+final class LinearRanking {
+
+	private LinearRanking() {
+	}
+
+	/**
+	 * @param range number of chromosomes.
+	 * @param selectionPressure selection pressure in [1, 2].
+	 * @return selection probabilities in best first order.
+	 */
+	static double[] probabilitiesOf(int range, double selectionPressure) {
+		if ((selectionPressure < 1.0) || (selectionPressure > 2.0))
+			throw new IllegalArgumentException("Selection pressure must be in [1, 2], it is " + selectionPressure + ".");
+		double[] probabilities = new double[range];
+		if (range == 1) {
+			probabilities[0] = 1.0;
+			return probabilities;
+		}
+		for (int i = 0; i < range; i++)
+			probabilities[i] = ((2.0 - selectionPressure) + 2.0 * (selectionPressure - 1.0) * (range - 1 - i) / (range - 1)) / range;
+		return probabilities;
+	}
+}
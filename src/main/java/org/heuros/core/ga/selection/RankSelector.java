@@ -0,0 +1,87 @@
+package org.heuros.core.ga.selection;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Base class of the selectors which select parents by their ranks.
+ * Population of the optimizer is kept in best first order during reproduction, so rank of a chromosome is its index
+ * and parents are selected without comparing fitness values or genes.
+ * 
+ * Survivors are selected with a tournament of survivalTournamentSize chromosomes which compares fitness values,
+ * since the candidate range is not ordered once the first survivors are placed.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * 
+ * @see Selector
+ */
+public abstract class RankSelector<T> implements BatchSelector<T> {
+
+	private int survivalTournamentSize = 2;
+
+	/**
+	 * Selects a rank.
+	 * 
+	 * @param random random number stream of the calling thread.
+	 * @param range size of the population.
+	 * @return selected index, zero is the best chromosome.
+	 */
+	protected abstract int selectIndex(SplittableRandom random, int range);
+
+	/**
+     * {@inheritDoc}
+     */
+	@Override
+	public Chromosome<T> selectChromosomeForReproduction(Chromosome<T>[] population, int range) {
+		return population[this.selectIndex(GeneticRandom.current(), range)];
+	}
+
+	/**
+     * {@inheritDoc}
+     */
+	@Override
+	public void selectN(Chromosome<T>[] population, int range, int[] parentIndexes, int numOfParents) {
+		SplittableRandom random = GeneticRandom.current();
+		for (int i = 0; i < numOfParents; i++)
+			parentIndexes[i] = this.selectIndex(random, range);
+	}
+
+	/**
+     * {@inheritDoc}
+     */
+	@Override
+	public void replaceChromosomeForSurvival(Chromosome<T>[] population, int rangeStart, int rangeEnd) {
+		int range = rangeEnd - rangeStart;
+		if (range > 1) {
+			SplittableRandom random = GeneticRandom.current();
+			int ndxWinner = rangeStart + random.nextInt(range);
+			for (int i = 1; i < survivalTournamentSize; i++) {
+				int ndx = rangeStart + random.nextInt(range);
+				if (population[ndx].getFitness().doesPerformBetterThan(population[ndxWinner].getFitness()))
+					ndxWinner = ndx;
+			}
+			Chromosome<T> c = population[rangeStart];
+			population[rangeStart] = population[ndxWinner];
+			population[ndxWinner] = c;
+		}
+	}
+
+	public int getSurvivalTournamentSize() {
+		return survivalTournamentSize;
+	}
+
+	/**
+	 * Sets number of candidates of a survival tournament, candidates are drawn with replacement.
+	 * 
+	 * @param survivalTournamentSize number of candidates, one selects survivors uniformly.
+	 * @return this selector.
+	 */
+	public RankSelector<T> setSurvivalTournamentSize(int survivalTournamentSize) {
+		this.survivalTournamentSize = survivalTournamentSize;
+		return this;
+	}
+}
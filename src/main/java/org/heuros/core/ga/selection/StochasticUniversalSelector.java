@@ -0,0 +1,102 @@
+package org.heuros.core.ga.selection;
+
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Stochastic universal sampling with linear ranking probabilities.
+ * Parents of a batch are selected with equally spaced pointers over the cumulative probabilities in one pass,
+ * so each chromosome is selected floor or ceil of its expected number of times, then the batch is shuffled for pairing.
+ * Single selections fall back to roulette wheel selection with a binary search.
+ * 
+ * Cumulative probabilities are calculated once per population size and selection pressure.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * 
+ * @see Selector
+ */
+public class StochasticUniversalSelector<T> extends RankSelector<T> {
+
+	private double selectionPressure = 1.5;
+
+	/*
+	 * Cumulative probabilities of the last population size, replaced as a whole so breeding threads can share it.
+	 */
+	private volatile double[] cumulativeProbabilities = null;
+
+	private double[] cumulativeProbabilitiesOf(int range) {
+		double[] cumulative = cumulativeProbabilities;
+		if ((cumulative == null) || (cumulative.length != range)) {
+			cumulative = LinearRanking.probabilitiesOf(range, selectionPressure);
+			for (int i = 1; i < range; i++)
+				cumulative[i] += cumulative[i - 1];
+			cumulative[range - 1] = 1.0;
+			cumulativeProbabilities = cumulative;
+		}
+		return cumulative;
+	}
+
+	@Override
+	protected int selectIndex(SplittableRandom random, int range) {
+		double[] cumulative = this.cumulativeProbabilitiesOf(range);
+		double pointer = random.nextDouble();
+		int low = 0;
+		int high = range - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulative[mid] <= pointer)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	/**
+     * {@inheritDoc}
+     */
+	@Override
+	public void selectN(Chromosome<T>[] population, int range, int[] parentIndexes, int numOfParents) {
+		if (numOfParents <= 0)
+			return;
+		double[] cumulative = this.cumulativeProbabilitiesOf(range);
+		SplittableRandom random = GeneticRandom.current();
+
+		double step = 1.0 / numOfParents;
+		double pointer = random.nextDouble() * step;
+		int ndx = 0;
+		for (int i = 0; i < numOfParents; i++, pointer += step) {
+			while ((ndx < range - 1) && (cumulative[ndx] <= pointer))
+				ndx++;
+			parentIndexes[i] = ndx;
+		}
+
+		for (int i = numOfParents - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int h = parentIndexes[i];
+			parentIndexes[i] = parentIndexes[j];
+			parentIndexes[j] = h;
+		}
+	}
+
+	public double getSelectionPressure() {
+		return selectionPressure;
+	}
+
+	/**
+	 * Sets selection pressure of the linear ranking.
+	 * 
+	 * @param selectionPressure expected number of selections of the best chromosome per population size selections, in [1, 2].
+	 * @return this selector.
+	 */
+	public StochasticUniversalSelector<T> setSelectionPressure(double selectionPressure) {
+		LinearRanking.probabilitiesOf(1, selectionPressure);
+		this.selectionPressure = selectionPressure;
+		this.cumulativeProbabilities = null;
+		return this;
+	}
+}
@@ -0,0 +1,36 @@
+package org.heuros.core.ga.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * K-tournament selection on ranks.
+ * Tournament winner is the candidate with the lowest index, so a tournament costs k random numbers and no fitness comparison.
+ * Candidates are drawn with replacement, larger tournaments increase the selection pressure.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ * 
+ * @see Selector
+ */
+public class TournamentSelector<T> extends RankSelector<T> {
+
+	private int tournamentSize = 2;
+
+	@Override
+	protected int selectIndex(SplittableRandom random, int range) {
+		int ndxWinner = random.nextInt(range);
+		for (int i = 1; i < tournamentSize; i++)
+			ndxWinner = Math.min(ndxWinner, random.nextInt(range));
+		return ndxWinner;
+	}
+
+	public int getTournamentSize() {
+		return tournamentSize;
+	}
+
+	public TournamentSelector<T> setTournamentSize(int tournamentSize) {
+		this.tournamentSize = tournamentSize;
+		return this;
+	}
+}
@@ -0,0 +1,80 @@
+package org.heuros.core.ga.surrogate;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.IntChromosome;
+
+/**
+ * Linear surrogate model on one-hot (index, value) features of integer genes, it is trained by normalized least mean squares.
+ * Prediction is the sum of the weights of the gene values and a bias, so a chromosome is predicted in a single pass over its genes.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class IntLinearSurrogate implements SurrogateModel<Integer> {
+
+	private int maxGeneValueExc = 3;
+	private double learningRate = 1.0;
+
+	private double[] weights = null;
+	private double bias = 0.0;
+
+	@Override
+	public double predict(Chromosome<Integer> chromosome) {
+		if (weights == null)
+			return bias;
+		double res = bias;
+		int length = chromosome.getChromosomeLength();
+		if (chromosome instanceof IntChromosome) {
+			IntChromosome c = (IntChromosome) chromosome;
+			for (int i = 0; i < length; i++)
+				res += weights[i * maxGeneValueExc + c.getInt(i)];
+		} else
+			for (int i = 0; i < length; i++)
+				res += weights[i * maxGeneValueExc + chromosome.getGeneValue(i)];
+		return res;
+	}
+
+	/**
+	 * Moves the prediction towards the quality, each feature of the chromosome gets an equal share of the correction.
+	 */
+	@Override
+	public void train(Chromosome<Integer> chromosome, double quality) {
+		int length = chromosome.getChromosomeLength();
+		if (weights == null)
+			weights = new double[length * maxGeneValueExc];
+
+		double step = learningRate * (quality - this.predict(chromosome)) / (length + 1);
+		bias += step;
+		if (chromosome instanceof IntChromosome) {
+			IntChromosome c = (IntChromosome) chromosome;
+			for (int i = 0; i < length; i++)
+				weights[i * maxGeneValueExc + c.getInt(i)] += step;
+		} else
+			for (int i = 0; i < length; i++)
+				weights[i * maxGeneValueExc + chromosome.getGeneValue(i)] += step;
+	}
+
+	public int getMaxGeneValueExc() {
+		return maxGeneValueExc;
+	}
+
+	public IntLinearSurrogate setMaxGeneValueExc(int maxGeneValueExc) {
+		this.maxGeneValueExc = maxGeneValueExc;
+		return this;
+	}
+
+	public double getLearningRate() {
+		return learningRate;
+	}
+
+	/**
+	 * Sets the share of the prediction error corrected by each training sample.
+	 * 
+	 * @param learningRate learning rate in (0, 2), smaller values average more samples.
+	 * @return this model.
+	 */
+	public IntLinearSurrogate setLearningRate(double learningRate) {
+		this.learningRate = learningRate;
+		return this;
+	}
+}
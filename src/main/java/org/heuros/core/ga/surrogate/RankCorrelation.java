@@ -0,0 +1,78 @@
+package org.heuros.core.ga.surrogate;
+
+import java.util.Arrays;
+
+/**
+ * Calculates Spearman rank correlation between predicted and actual qualities to report surrogate accuracy.
+ * Tied values get their average rank.
+ * 
+ * @author bahadrzeren
+ *
+ */
+public class RankCorrelation {
+
+	private double[] sorted = new double[0];
+	private double[] predictedRanks = new double[0];
+	private double[] actualRanks = new double[0];
+
+	/**
+	 * @param predicted predicted qualities.
+	 * @param actual actual qualities.
+	 * @param n number of samples at the beginning of the arrays.
+	 * @return correlation in [-1, 1] or NaN if there are less than two samples or all values of a side are equal.
+	 */
+	public double calculate(double[] predicted, double[] actual, int n) {
+		if (n < 2)
+			return Double.NaN;
+		if (sorted.length < n) {
+			sorted = new double[n];
+			predictedRanks = new double[n];
+			actualRanks = new double[n];
+		}
+		this.rank(predicted, predictedRanks, n);
+		this.rank(actual, actualRanks, n);
+
+		double mean = (n + 1) / 2.0;
+		double cov = 0.0;
+		double varP = 0.0;
+		double varA = 0.0;
+		for (int i = 0; i < n; i++) {
+			double p = predictedRanks[i] - mean;
+			double a = actualRanks[i] - mean;
+			cov += p * a;
+			varP += p * p;
+			varA += a * a;
+		}
+		if ((varP == 0.0) || (varA == 0.0))
+			return Double.NaN;
+		return cov / Math.sqrt(varP * varA);
+	}
+
+	/**
+	 * Rank of a value is the average of its one based positions in the sorted values.
+	 */
+	private void rank(double[] values, double[] ranks, int n) {
+		System.arraycopy(values, 0, sorted, 0, n);
+		Arrays.sort(sorted, 0, n);
+		for (int i = 0; i < n; i++) {
+			int first = lowerBound(sorted, n, values[i]);
+			int last = first;
+			while ((last + 1 < n) && (sorted[last + 1] == values[i]))
+				last++;
+			ranks[i] = (first + last) / 2.0 + 1.0;
+		}
+	}
+
+	private static int lowerBound(double[] sorted, int n, double value) {
+		int lo = 0;
+		int hi = n;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (sorted[mid] < value)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+}
@@ -0,0 +1,31 @@
+package org.heuros.core.ga.surrogate;
+
+import org.heuros.core.ga.chromosome.Chromosome;
+
+/**
+ * Cheap approximate model of the chromosome quality which is used to screen children before they are decoded.
+ * Quality is the distance of the fitness from a reference cost which is fixed during a run, larger is better.
+ * Model is trained online from the decoded chromosomes and it is only called on the optimizer thread.
+ * 
+ * @author bahadrzeren
+ *
+ * @param <T> Type of the class which is used to represent one single gene.
+ */
+public interface SurrogateModel<T> {
+
+	/**
+	 * Predicts quality of a chromosome which is not decoded.
+	 * 
+	 * @param chromosome chromosome to be screened.
+	 * @return predicted quality.
+	 */
+	public double predict(Chromosome<T> chromosome);
+
+	/**
+	 * Trains the model with a decoded chromosome.
+	 * 
+	 * @param chromosome decoded chromosome.
+	 * @param quality actual quality of the chromosome.
+	 */
+	public void train(Chromosome<T> chromosome, double quality);
+}
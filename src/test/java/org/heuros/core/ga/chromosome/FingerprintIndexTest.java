@@ -0,0 +1,101 @@
+package org.heuros.core.ga.chromosome;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Runs random add, remove and containsEqual sequences on a FingerprintIndex and a HashSet of the same chromosomes.
+ * Fingerprints are forced to collide, so probe sequences cluster, wrap around the end of the table and share keys.
+ */
+public class FingerprintIndexTest
+    extends TestCase
+{
+    private static final int NUM_OF_IDS = 60;
+
+    public FingerprintIndexTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( FingerprintIndexTest.class );
+    }
+
+    /**
+     * Chromosome with a single gene whose fingerprint only depends on the gene, in one of three colliding groups.
+     */
+    private static class CollidingChromosome extends IntArrayChromosome {
+        private CollidingChromosome(int id) {
+            this.initializeChromosome(1, NUM_OF_IDS);
+            this.setInt(0, id);
+        }
+
+        private int getId() {
+            return this.getInt(0);
+        }
+
+        @Override
+        public long getFingerprint() {
+            int id = this.getId();
+            if (id % 3 == 0)
+                return 0x7fffffffl - (id % 2);
+            if (id % 3 == 1)
+                return (id % 4) * 1024l;
+            return id % 4;
+        }
+    }
+
+    private static boolean containsId(Set<CollidingChromosome> reference, int id) {
+        for (CollidingChromosome chromosome : reference)
+            if (chromosome.getId() == id)
+                return true;
+        return false;
+    }
+
+    public void testMatchesHashSetUnderCollisions()
+    {
+        SplittableRandom random = new SplittableRandom(11l);
+        FingerprintIndex<Integer> index = new FingerprintIndex<Integer>(4);
+        Set<CollidingChromosome> reference = new HashSet<CollidingChromosome>();
+        List<CollidingChromosome> members = new ArrayList<CollidingChromosome>();
+
+        for (int step = 0; step < 20000; step++) {
+            int operation = random.nextInt(3);
+            if ((operation == 0) && (members.size() < 40)) {
+                CollidingChromosome chromosome = new CollidingChromosome(random.nextInt(NUM_OF_IDS));
+                index.add(chromosome);
+                reference.add(chromosome);
+                members.add(chromosome);
+            } else
+                if ((operation == 1) && !members.isEmpty()) {
+                    CollidingChromosome chromosome = members.remove(random.nextInt(members.size()));
+                    assertTrue(index.remove(chromosome));
+                    assertTrue(reference.remove(chromosome));
+                    assertFalse("Removed instance must not be found again", index.remove(chromosome));
+                } else {
+                    CollidingChromosome cand = new CollidingChromosome(random.nextInt(NUM_OF_IDS));
+                    assertEquals("Step " + step, containsId(reference, cand.getId()), index.containsEqual(cand));
+                    assertFalse("Absent instance must not be removed", index.remove(cand));
+                }
+            assertEquals(reference.size(), index.size());
+
+            if (step % 500 == 0)
+                for (CollidingChromosome chromosome : reference)
+                    assertTrue("Member " + chromosome.getId() + " must stay reachable", index.containsEqual(chromosome));
+        }
+
+        for (CollidingChromosome chromosome : members)
+            assertTrue(index.remove(chromosome));
+        assertEquals(0, index.size());
+        for (int id = 0; id < NUM_OF_IDS; id++)
+            assertFalse(index.containsEqual(new CollidingChromosome(id)));
+    }
+}
@@ -0,0 +1,93 @@
+package org.heuros.core.ga.chromosome;
+
+import java.util.SplittableRandom;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Compares word level copyRange of PackedChromosome with gene by gene setInt for ranges which start and end at and around word boundaries.
+ */
+public class PackedChromosomeTest
+    extends TestCase
+{
+    private static final int NUM_OF_WORDS = 4;
+
+    public PackedChromosomeTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( PackedChromosomeTest.class );
+    }
+
+    private static PackedChromosome randomChromosome(SplittableRandom random, int bitsPerGene, int length) {
+        PackedChromosome chromosome = new PackedChromosome(bitsPerGene);
+        chromosome.initializeChromosome(length, null);
+        for (int i = 0; i < length; i++)
+            chromosome.setInt(i, random.nextInt(1 << bitsPerGene));
+        return chromosome;
+    }
+
+    private void checkCopyRange(int bitsPerGene) throws CloneNotSupportedException {
+        SplittableRandom random = new SplittableRandom(bitsPerGene);
+        int genesPerWord = 64 / bitsPerGene;
+        /*
+         * Last word is partially used.
+         */
+        int length = NUM_OF_WORDS * genesPerWord - genesPerWord / 2;
+
+        int[] bounds = new int[3 * NUM_OF_WORDS + 3];
+        int numOfBounds = 0;
+        for (int w = 0; w < NUM_OF_WORDS; w++)
+            for (int d = -1; d <= 1; d++) {
+                int bound = w * genesPerWord + d;
+                if ((bound >= 0) && (bound <= length))
+                    bounds[numOfBounds++] = bound;
+            }
+        bounds[numOfBounds++] = length - 1;
+        bounds[numOfBounds++] = length;
+
+        for (int f = 0; f < numOfBounds; f++)
+            for (int t = 0; t < numOfBounds; t++) {
+                int from = bounds[f];
+                int to = bounds[t];
+                PackedChromosome source = randomChromosome(random, bitsPerGene, length);
+                PackedChromosome target = randomChromosome(random, bitsPerGene, length);
+                PackedChromosome expected = (PackedChromosome) target.clone();
+                for (int i = from; i < to; i++)
+                    expected.setInt(i, source.getInt(i));
+
+                target.copyRange(source, from, to);
+
+                String range = bitsPerGene + " bits per gene, [" + from + ", " + to + ")";
+                for (int w = 0; w < target.getNumOfWords(); w++)
+                    assertEquals(range + ", word " + w, expected.getWord(w), target.getWord(w));
+                assertEquals(range, expected.getFingerprint(), target.getFingerprint());
+                assertEquals(range, GeneFingerprint.of(target), target.getFingerprint());
+            }
+    }
+
+    public void testCopyRangeOneBitPerGene() throws CloneNotSupportedException
+    {
+        this.checkCopyRange(1);
+    }
+
+    public void testCopyRangeTwoBitsPerGene() throws CloneNotSupportedException
+    {
+        this.checkCopyRange(2);
+    }
+
+    public void testCopyRangeFourBitsPerGene() throws CloneNotSupportedException
+    {
+        this.checkCopyRange(4);
+    }
+
+    public void testCopyRangeEightBitsPerGene() throws CloneNotSupportedException
+    {
+        this.checkCopyRange(8);
+    }
+}
@@ -0,0 +1,149 @@
+package org.heuros.core.ga.listener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.heuros.core.ga.GeneticIterationListener;
+import org.heuros.core.ga.chromosome.Chromosome;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Publishes events into a full COALESCE_LATEST buffer while the dispatcher is held in the wrapped listener
+ * and checks which events are delivered and in which order.
+ */
+public class AsyncGeneticIterationListenerTest
+    extends TestCase
+{
+    public AsyncGeneticIterationListenerTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( AsyncGeneticIterationListenerTest.class );
+    }
+
+    /**
+     * Records delivered events, the dispatcher waits in the first iterate event of each round until the gate is opened.
+     */
+    private static class RecordingListener implements GeneticIterationListener<Integer> {
+        private List<String> events = new ArrayList<String>();
+        private CountDownLatch entered = null;
+        private CountDownLatch gate = null;
+
+        private synchronized void arm() {
+            entered = new CountDownLatch(1);
+            gate = new CountDownLatch(1);
+        }
+
+        private synchronized List<String> getEvents() {
+            return new ArrayList<String>(events);
+        }
+
+        private synchronized void record(String event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onProgress(int iteration, double elapsedTime, Chromosome<Integer> best) {
+            this.record("p" + iteration);
+        }
+
+        @Override
+        public void onIterate(int iteration, double elapsedTime, Chromosome<Integer> best) {
+            this.record("i" + iteration);
+            CountDownLatch entered = null;
+            CountDownLatch gate = null;
+            synchronized (this) {
+                entered = this.entered;
+                gate = this.gate;
+                this.entered = null;
+                this.gate = null;
+            }
+            if (entered != null) {
+                entered.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void onException(Exception ex) {
+            this.record("ex:" + ex.getMessage());
+        }
+    }
+
+    private static CountDownLatch holdDispatcher(RecordingListener recorder, AsyncGeneticIterationListener<Integer> listener, int iteration)
+            throws InterruptedException {
+        recorder.arm();
+        CountDownLatch entered = recorder.entered;
+        CountDownLatch gate = recorder.gate;
+        listener.onIterate(iteration, 0.0, null);
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        return gate;
+    }
+
+    public void testCoalescingKeepsExceptionsInOrder() throws Exception
+    {
+        RecordingListener recorder = new RecordingListener();
+        AsyncGeneticIterationListener<Integer> listener = new AsyncGeneticIterationListener<Integer>(recorder, 4, OverflowPolicy.COALESCE_LATEST);
+        try {
+            /*
+             * Second round starts at another ring offset, so eviction also shifts slots across the end of the ring.
+             */
+            for (int round = 0; round < 2; round++) {
+                int base = 100 * round;
+                CountDownLatch gate = holdDispatcher(recorder, listener, base);
+                listener.onIterate(base + 1, 0.0, null);
+                listener.onException(new Exception("A" + round));
+                listener.onProgress(base + 2, 0.0, null);
+                listener.onException(new Exception("C" + round));
+                for (int i = 3; i <= 6; i++)
+                    listener.onIterate(base + i, 0.0, null);
+                gate.countDown();
+                assertTrue(listener.flush(10, TimeUnit.SECONDS));
+            }
+
+            assertEquals(Arrays.asList("i0", "ex:A0", "ex:C0", "i5", "i6", "i100", "ex:A1", "ex:C1", "i105", "i106"), recorder.getEvents());
+            assertEquals(8, listener.getNumOfDroppedEvents());
+        } finally {
+            listener.close();
+        }
+    }
+
+    public void testWaitsIfOnlyExceptionsArePending() throws Exception
+    {
+        RecordingListener recorder = new RecordingListener();
+        final AsyncGeneticIterationListener<Integer> listener = new AsyncGeneticIterationListener<Integer>(recorder, 2, OverflowPolicy.COALESCE_LATEST);
+        try {
+            CountDownLatch gate = holdDispatcher(recorder, listener, 0);
+            listener.onException(new Exception("A"));
+            listener.onException(new Exception("B"));
+
+            Thread publisher = new Thread(() -> listener.onIterate(1, 0.0, null));
+            publisher.start();
+            publisher.join(200l);
+            assertTrue("Publisher must wait instead of evicting an exception", publisher.isAlive());
+
+            gate.countDown();
+            publisher.join(10000l);
+            assertFalse(publisher.isAlive());
+            assertTrue(listener.flush(10, TimeUnit.SECONDS));
+
+            assertEquals(Arrays.asList("i0", "ex:A", "ex:B", "i1"), recorder.getEvents());
+            assertEquals(0, listener.getNumOfDroppedEvents());
+        } finally {
+            listener.close();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.heuros.core.ga.remote;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.checkpoint.IntCheckpointCodec;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.IntArrayChromosome;
+import org.heuros.core.ga.decoder.Decoder;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Decodes chromosomes on decode workers connected over loopback and checks that the batches of a lost worker are reassigned.
+ */
+public class RemoteDecoderFarmTest
+    extends TestCase
+{
+    private static final int LENGTH = 50;
+
+    public RemoteDecoderFarmTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( RemoteDecoderFarmTest.class );
+    }
+
+    private static class Cost implements ISolutionCost {
+        private double value = 0.0;
+
+        private Cost(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean doesPerformBetterThan(ISolutionCost c) {
+            return value < ((Cost) c).value;
+        }
+
+        @Override
+        public double getDistance(ISolutionCost worst) {
+            return ((Cost) worst).value - value;
+        }
+    }
+
+    private static class Codec extends IntCheckpointCodec {
+        @Override
+        public int getFitnessSize() {
+            return 8;
+        }
+
+        @Override
+        public void writeFitness(ByteBuffer buffer, ISolutionCost fitness) {
+            buffer.putDouble(((Cost) fitness).value);
+        }
+
+        @Override
+        public ISolutionCost readFitness(ByteBuffer buffer) {
+            return new Cost(buffer.getDouble());
+        }
+    }
+
+    /**
+     * Thrown by the decoder of the crashing worker, it is not caught by the worker and closes its connection.
+     */
+    private static class WorkerCrash extends Error {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static double costOf(Chromosome<Integer> chromosome) {
+        double cost = 0.0;
+        for (int i = 0; i < chromosome.getChromosomeLength(); i++)
+            cost += (i + 1) * chromosome.getGeneValue(i);
+        return cost;
+    }
+
+    private static Thread startWorker(final int port, final boolean crashing) {
+        return startWorker(port, crashing, LENGTH);
+    }
+
+    private static Thread startWorker(final int port, final boolean crashing, int prototypeLength) {
+        Decoder<Integer, Object> decoder = chromosome -> {
+            if (crashing)
+                throw new WorkerCrash();
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            chromosome.setFitness(new Cost(costOf(chromosome)));
+            return null;
+        };
+        IntArrayChromosome prototype = new IntArrayChromosome();
+        prototype.initializeChromosome(prototypeLength, 3);
+        final DecodeWorker<Integer, Object> worker = new DecodeWorker<Integer, Object>(decoder, prototype, new Codec());
+        Thread thread = new Thread(() -> {
+            try {
+                worker.run(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            } catch (WorkerCrash | IOException e) {
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWorkers(RemoteDecoderFarm<Integer, Object> farm, int numOfWorkers) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000l;
+        while ((farm.getNumOfWorkers() < numOfWorkers) && (System.currentTimeMillis() < deadline))
+            Thread.sleep(10);
+        assertEquals(numOfWorkers, farm.getNumOfWorkers());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testReassignsBatchesOfLostWorker() throws Exception
+    {
+        RemoteDecoderFarm<Integer, Object> farm = new RemoteDecoderFarm<Integer, Object>(new Codec()).setBatchSize(4).start(0);
+        try {
+            /*
+             * Crashing worker connects first, so it receives batches before the healthy one.
+             */
+            Thread crashing = startWorker(farm.getPort(), true);
+            awaitWorkers(farm, 1);
+            startWorker(farm.getPort(), false);
+            awaitWorkers(farm, 2);
+
+            Chromosome<Integer>[] chromosomes = new Chromosome[40];
+            for (int c = 0; c < chromosomes.length; c++) {
+                IntArrayChromosome chromosome = new IntArrayChromosome();
+                chromosome.initializeChromosome(LENGTH, 3);
+                for (int i = 0; i < LENGTH; i++)
+                    chromosome.setInt(i, (c + i) % 3);
+                chromosomes[c] = chromosome;
+            }
+
+            farm.decode(chromosomes, 0, chromosomes.length, null);
+
+            crashing.join(10000l);
+            assertFalse(crashing.isAlive());
+            assertEquals(1, farm.getNumOfWorkers());
+            assertTrue(farm.getNumOfReassignedBatches() >= 1);
+            for (Chromosome<Integer> chromosome : chromosomes) {
+                assertNotNull(chromosome.getFitness());
+                assertEquals(costOf(chromosome), ((Cost) chromosome.getFitness()).value, 0.0);
+            }
+        } finally {
+            farm.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testDropsWorkerWithMismatchedPrototype() throws Exception
+    {
+        RemoteDecoderFarm<Integer, Object> farm = new RemoteDecoderFarm<Integer, Object>(new Codec()).setBatchSize(4).start(0);
+        try {
+            Thread mismatched = startWorker(farm.getPort(), false, LENGTH - 1);
+            awaitWorkers(farm, 1);
+            startWorker(farm.getPort(), false);
+            awaitWorkers(farm, 2);
+
+            Chromosome<Integer>[] chromosomes = new Chromosome[20];
+            for (int c = 0; c < chromosomes.length; c++) {
+                IntArrayChromosome chromosome = new IntArrayChromosome();
+                chromosome.initializeChromosome(LENGTH, 3);
+                chromosome.setInt(LENGTH - 1, c % 3);
+                chromosomes[c] = chromosome;
+            }
+
+            farm.decode(chromosomes, 0, chromosomes.length, null);
+
+            mismatched.join(10000l);
+            assertFalse(mismatched.isAlive());
+            assertEquals(1, farm.getNumOfWorkers());
+            for (Chromosome<Integer> chromosome : chromosomes)
+                assertEquals(costOf(chromosome), ((Cost) chromosome.getFitness()).value, 0.0);
+        } finally {
+            farm.close();
+        }
+    }
+
+    public void testDecodesSingleChromosome() throws Exception
+    {
+        RemoteDecoderFarm<Integer, Object> farm = new RemoteDecoderFarm<Integer, Object>(new Codec()).start(0);
+        try {
+            startWorker(farm.getPort(), false);
+            awaitWorkers(farm, 1);
+
+            IntArrayChromosome chromosome = new IntArrayChromosome();
+            chromosome.initializeChromosome(LENGTH, 3);
+            chromosome.setInt(7, 2);
+            farm.decode(chromosome, null);
+
+            assertEquals(16.0, ((Cost) chromosome.getFitness()).value, 0.0);
+        } finally {
+            farm.close();
+        }
+    }
+}
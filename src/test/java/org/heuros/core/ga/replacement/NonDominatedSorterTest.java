@@ -0,0 +1,270 @@
+package org.heuros.core.ga.replacement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.MultiObjectiveCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.IntArrayChromosome;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Compares front assignment of NonDominatedSorter, sequential and block parallel, with a brute force dominance count
+ * and checks the survivors of NsgaReplacer truncation against the fronts and crowding distances calculated from scratch.
+ */
+public class NonDominatedSorterTest
+    extends TestCase
+{
+    /*
+     * More than one block of the parallel sort.
+     */
+    private static final int NUM_OF_POINTS = 1200;
+
+    public NonDominatedSorterTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( NonDominatedSorterTest.class );
+    }
+
+    private static class Cost implements MultiObjectiveCost {
+        private double[] objectives = null;
+
+        private Cost(double[] objectives) {
+            this.objectives = objectives;
+        }
+
+        @Override
+        public int getNumOfObjectives() {
+            return objectives.length;
+        }
+
+        @Override
+        public double getObjective(int index) {
+            return objectives[index];
+        }
+
+        @Override
+        public boolean doesPerformBetterThan(ISolutionCost c) {
+            return objectives[0] < ((Cost) c).objectives[0];
+        }
+
+        @Override
+        public double getDistance(ISolutionCost worst) {
+            return ((Cost) worst).objectives[0] - objectives[0];
+        }
+    }
+
+    private static boolean dominates(double[] q, double[] p) {
+        boolean better = false;
+        for (int k = 0; k < q.length; k++) {
+            if (q[k] > p[k])
+                return false;
+            if (q[k] < p[k])
+                better = true;
+        }
+        return better;
+    }
+
+    /**
+     * Fronts by peeling the points which are dominated by no remaining point, using O(n^2) dominance counts.
+     */
+    private static int[] bruteForceRanks(double[][] points, int numOfPoints) {
+        int[] numOfDominators = new int[numOfPoints];
+        List<List<Integer>> dominated = new ArrayList<List<Integer>>();
+        for (int i = 0; i < numOfPoints; i++) {
+            dominated.add(new ArrayList<Integer>());
+            for (int j = 0; j < numOfPoints; j++)
+                if (dominates(points[j], points[i]))
+                    numOfDominators[i]++;
+        }
+        for (int i = 0; i < numOfPoints; i++)
+            for (int j = 0; j < numOfPoints; j++)
+                if (dominates(points[i], points[j]))
+                    dominated.get(i).add(j);
+
+        int[] ranks = new int[numOfPoints];
+        List<Integer> front = new ArrayList<Integer>();
+        for (int i = 0; i < numOfPoints; i++)
+            if (numOfDominators[i] == 0)
+                front.add(i);
+        for (int rank = 0; !front.isEmpty(); rank++) {
+            List<Integer> next = new ArrayList<Integer>();
+            for (int p : front) {
+                ranks[p] = rank;
+                for (int q : dominated.get(p))
+                    if (--numOfDominators[q] == 0)
+                        next.add(q);
+            }
+            front = next;
+        }
+        return ranks;
+    }
+
+    /**
+     * Crowding distances of the members of a front from scratch, points must have distinct objective values.
+     */
+    private static double[] bruteForceDistances(double[][] points, List<Integer> front) {
+        double[] distances = new double[points.length];
+        if (front.size() <= 2) {
+            for (int p : front)
+                distances[p] = Double.POSITIVE_INFINITY;
+            return distances;
+        }
+        for (int m = 0; m < points[front.get(0)].length; m++) {
+            final int objective = m;
+            List<Integer> sorted = new ArrayList<Integer>(front);
+            sorted.sort((a, b) -> Double.compare(points[a][objective], points[b][objective]));
+            double min = points[sorted.get(0)][m];
+            double max = points[sorted.get(sorted.size() - 1)][m];
+            distances[sorted.get(0)] = Double.POSITIVE_INFINITY;
+            distances[sorted.get(sorted.size() - 1)] = Double.POSITIVE_INFINITY;
+            for (int i = 1; i < sorted.size() - 1; i++)
+                distances[sorted.get(i)] += (points[sorted.get(i + 1)][m] - points[sorted.get(i - 1)][m]) / (max - min);
+        }
+        return distances;
+    }
+
+    /**
+     * Integer coordinates in a small range and copied points, so there are many duplicates and equal objective values.
+     */
+    private static double[][] pointsWithDuplicates(SplittableRandom random, int numOfObjectives) {
+        double[][] points = new double[NUM_OF_POINTS][numOfObjectives];
+        for (int i = 0; i < NUM_OF_POINTS; i++) {
+            if ((i > 0) && (random.nextInt(10) == 0))
+                points[i] = points[random.nextInt(i)].clone();
+            else
+                for (int m = 0; m < numOfObjectives; m++)
+                    points[i][m] = random.nextInt(12);
+        }
+        return points;
+    }
+
+    private void checkFronts(int numOfObjectives, int parallelThreshold) {
+        SplittableRandom random = new SplittableRandom(31l * numOfObjectives + parallelThreshold);
+        NonDominatedSorter sorter = new NonDominatedSorter().setParallelThreshold(parallelThreshold);
+        for (int run = 0; run < 3; run++) {
+            double[][] points = pointsWithDuplicates(random, numOfObjectives);
+            int[] expected = bruteForceRanks(points, NUM_OF_POINTS);
+
+            int numOfFronts = sorter.sort(points, NUM_OF_POINTS);
+
+            int[] ranks = new int[NUM_OF_POINTS];
+            Arrays.fill(ranks, -1);
+            int numOfAssigned = 0;
+            for (int f = 0; f < numOfFronts; f++) {
+                assertTrue(sorter.getFrontSize(f) > 0);
+                for (int i = 0; i < sorter.getFrontSize(f); i++) {
+                    int p = sorter.getFrontMembers(f)[i];
+                    assertEquals("Point " + p + " is assigned twice", -1, ranks[p]);
+                    ranks[p] = f;
+                    numOfAssigned++;
+                }
+            }
+            assertEquals(NUM_OF_POINTS, numOfAssigned);
+            assertTrue("objectives " + numOfObjectives + ", parallel threshold " + parallelThreshold, Arrays.equals(expected, ranks));
+        }
+    }
+
+    public void testTwoObjectiveFronts()
+    {
+        this.checkFronts(2, 0);
+        this.checkFronts(2, 1);
+    }
+
+    public void testThreeObjectiveFronts()
+    {
+        this.checkFronts(3, 0);
+        this.checkFronts(3, NUM_OF_POINTS + 1);
+    }
+
+    public void testThreeObjectiveFrontsInParallelBlocks()
+    {
+        this.checkFronts(3, 1);
+        this.checkFronts(3, NUM_OF_POINTS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void checkTruncation(int numOfObjectives, int populationSize, int extendedPopSize) {
+        SplittableRandom random = new SplittableRandom(17l * numOfObjectives + extendedPopSize);
+        double[][] points = new double[extendedPopSize][numOfObjectives];
+        Chromosome<Integer>[] population = new Chromosome[extendedPopSize];
+        for (int i = 0; i < extendedPopSize; i++) {
+            for (int m = 0; m < numOfObjectives; m++)
+                points[i][m] = random.nextDouble();
+            IntArrayChromosome chromosome = new IntArrayChromosome();
+            chromosome.initializeChromosome(1, 2);
+            chromosome.setInt(0, i);
+            chromosome.setFitness(new Cost(points[i]));
+            population[i] = chromosome;
+        }
+
+        int[] ranks = bruteForceRanks(points, extendedPopSize);
+        List<List<Integer>> fronts = new ArrayList<List<Integer>>();
+        for (int p = 0; p < extendedPopSize; p++) {
+            while (fronts.size() <= ranks[p])
+                fronts.add(new ArrayList<Integer>());
+            fronts.get(ranks[p]).add(p);
+        }
+        double[][] distances = new double[fronts.size()][];
+        int lastFront = 0;
+        for (int f = 0, numOfMembers = 0; f < fronts.size(); f++) {
+            distances[f] = bruteForceDistances(points, fronts.get(f));
+            if (numOfMembers < populationSize)
+                lastFront = f;
+            numOfMembers += fronts.get(f).size();
+        }
+
+        NsgaReplacer<Integer> replacer = new NsgaReplacer<Integer>();
+        replacer.replace(population, populationSize, extendedPopSize);
+
+        assertEquals(Math.min(fronts.get(0).size(), populationSize), replacer.getFirstFrontSize());
+
+        boolean[] survived = new boolean[extendedPopSize];
+        for (int i = 0; i < populationSize; i++) {
+            int p = population[i].getGeneValue(0);
+            assertFalse(survived[p]);
+            survived[p] = true;
+            if (i > 0) {
+                int previous = population[i - 1].getGeneValue(0);
+                assertTrue("Survivors must be ordered by front", ranks[previous] <= ranks[p]);
+                if (ranks[previous] == ranks[p])
+                    assertTrue("Front members must be ordered by descending crowding distance",
+                                distances[ranks[p]][previous] >= distances[ranks[p]][p] - 1e-12);
+            }
+        }
+
+        double minSurvivorDistance = Double.POSITIVE_INFINITY;
+        double maxEliminatedDistance = Double.NEGATIVE_INFINITY;
+        for (int p = 0; p < extendedPopSize; p++) {
+            if (ranks[p] < lastFront)
+                assertTrue("Fronts before the truncated front must survive", survived[p]);
+            else
+                if (ranks[p] > lastFront)
+                    assertFalse("Fronts after the truncated front must be eliminated", survived[p]);
+                else
+                    if (survived[p])
+                        minSurvivorDistance = Math.min(minSurvivorDistance, distances[lastFront][p]);
+                    else
+                        maxEliminatedDistance = Math.max(maxEliminatedDistance, distances[lastFront][p]);
+        }
+        assertTrue("Truncated front must keep the most isolated members", minSurvivorDistance >= maxEliminatedDistance - 1e-12);
+    }
+
+    public void testTruncationKeepsFrontsAndMostIsolatedMembers()
+    {
+        this.checkTruncation(2, 60, 100);
+        this.checkTruncation(2, 100, 160);
+        this.checkTruncation(3, 60, 100);
+        this.checkTruncation(3, 200, 300);
+    }
+}
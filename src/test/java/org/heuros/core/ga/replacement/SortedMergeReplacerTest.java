@@ -0,0 +1,162 @@
+package org.heuros.core.ga.replacement;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.heuros.core.ga.GeneticRandom;
+import org.heuros.core.ga.ISolutionCost;
+import org.heuros.core.ga.chromosome.Chromosome;
+import org.heuros.core.ga.chromosome.IntArrayChromosome;
+import org.heuros.core.ga.selection.BinaryTournamentSelector;
+import org.heuros.core.ga.selection.Selector;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Replaces generations of a population both with the exchange sort of the extended population which was used before SortedMergeReplacer
+ * and with SortedMergeReplacer, and checks that the same seeded selector keeps the same survivors.
+ */
+public class SortedMergeReplacerTest
+    extends TestCase
+{
+    private static final int POPULATION_SIZE = 60;
+    private static final int NUM_OF_CHILDREN = 40;
+    private static final int NUM_OF_ELITES = 3;
+    private static final int NUM_OF_GENERATIONS = 50;
+
+    public SortedMergeReplacerTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( SortedMergeReplacerTest.class );
+    }
+
+    private static class Cost implements ISolutionCost {
+        private double value = 0.0;
+
+        private Cost(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean doesPerformBetterThan(ISolutionCost c) {
+            return value < ((Cost) c).value;
+        }
+
+        @Override
+        public double getDistance(ISolutionCost worst) {
+            return ((Cost) worst).value - value;
+        }
+    }
+
+    private static Chromosome<Integer> chromosomeOf(double cost) {
+        IntArrayChromosome chromosome = new IntArrayChromosome();
+        chromosome.initializeChromosome(1, 2);
+        chromosome.setFitness(new Cost(cost));
+        return chromosome;
+    }
+
+    /**
+     * Ordering of the extended population before SortedMergeReplacer.
+     */
+    private static void exchangeSort(Chromosome<Integer>[] population, int extendedPopSize) {
+        for (int i = 0; i < extendedPopSize - 1; i++) {
+            for (int j = extendedPopSize - 1; j > i; j--) {
+                Chromosome<Integer> chromosome = population[i];
+                Chromosome<Integer> iChromosome = population[j];
+                if (iChromosome.getFitness().doesPerformBetterThan(chromosome.getFitness())) {
+                    population[i] = iChromosome;
+                    population[j] = chromosome;
+                }
+            }
+        }
+    }
+
+    private static void selectSurvivors(Chromosome<Integer>[] population, int extendedPopSize, long seed) {
+        Selector<Integer> selector = new BinaryTournamentSelector<Integer>();
+        SplittableRandom callerRandom = GeneticRandom.set(new SplittableRandom(seed));
+        try {
+            for (int i = NUM_OF_ELITES; i < POPULATION_SIZE; i++)
+                selector.replaceChromosomeForSurvival(population, i, extendedPopSize);
+        } finally {
+            GeneticRandom.set(callerRandom);
+        }
+    }
+
+    private static double[] costsOf(Chromosome<Integer>[] population) {
+        double[] costs = new double[POPULATION_SIZE];
+        for (int i = 0; i < POPULATION_SIZE; i++)
+            costs[i] = ((Cost) population[i].getFitness()).value;
+        Arrays.sort(costs);
+        return costs;
+    }
+
+    /**
+     * @param numOfCosts number of distinct costs, ties are generated if it is less than the number of chromosomes.
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceGenerations(int numOfCosts, boolean distinctCosts) {
+        SplittableRandom random = new SplittableRandom(7l);
+        SortedMergeReplacer<Integer> replacer = new SortedMergeReplacer<Integer>();
+
+        Chromosome<Integer>[] oldPopulation = new Chromosome[POPULATION_SIZE + NUM_OF_CHILDREN];
+        Chromosome<Integer>[] newPopulation = new Chromosome[POPULATION_SIZE + NUM_OF_CHILDREN];
+        Set<Double> usedCosts = new HashSet<Double>();
+        for (int i = 0; i < POPULATION_SIZE; i++) {
+            oldPopulation[i] = chromosomeOf(this.nextCost(random, numOfCosts, distinctCosts, usedCosts));
+            newPopulation[i] = oldPopulation[i];
+        }
+        exchangeSort(oldPopulation, POPULATION_SIZE);
+        replacer.sort(newPopulation, 0, POPULATION_SIZE);
+
+        int extendedPopSize = POPULATION_SIZE + NUM_OF_CHILDREN;
+        for (int g = 0; g < NUM_OF_GENERATIONS; g++) {
+            for (int i = POPULATION_SIZE; i < extendedPopSize; i++) {
+                oldPopulation[i] = chromosomeOf(this.nextCost(random, numOfCosts, distinctCosts, usedCosts));
+                newPopulation[i] = oldPopulation[i];
+            }
+            long seed = random.nextLong();
+
+            exchangeSort(oldPopulation, extendedPopSize);
+            selectSurvivors(oldPopulation, extendedPopSize, seed);
+
+            replacer.merge(newPopulation, POPULATION_SIZE, extendedPopSize);
+            selectSurvivors(newPopulation, extendedPopSize, seed);
+            replacer.sort(newPopulation, NUM_OF_ELITES, POPULATION_SIZE);
+
+            if (distinctCosts)
+                assertEquals("Generation " + g,
+                                new HashSet<Chromosome<Integer>>(Arrays.asList(oldPopulation).subList(0, POPULATION_SIZE)),
+                                new HashSet<Chromosome<Integer>>(Arrays.asList(newPopulation).subList(0, POPULATION_SIZE)));
+            else
+                assertTrue("Generation " + g, Arrays.equals(costsOf(oldPopulation), costsOf(newPopulation)));
+
+            for (int i = 1; i < POPULATION_SIZE; i++)
+                assertFalse(newPopulation[i].getFitness().doesPerformBetterThan(newPopulation[i - 1].getFitness()));
+        }
+    }
+
+    private double nextCost(SplittableRandom random, int numOfCosts, boolean distinctCosts, Set<Double> usedCosts) {
+        double cost = random.nextInt(numOfCosts);
+        while (distinctCosts && !usedCosts.add(cost))
+            cost = random.nextInt(numOfCosts);
+        return cost;
+    }
+
+    public void testSameSurvivorsAsExchangeSort()
+    {
+        this.replaceGenerations(1 << 20, true);
+    }
+
+    public void testSameSurvivorCostsAsExchangeSortWithTies()
+    {
+        this.replaceGenerations(10, false);
+    }
+}